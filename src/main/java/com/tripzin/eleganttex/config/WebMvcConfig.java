@@ -1,12 +1,16 @@
 package com.tripzin.eleganttex.config;
 
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.lang.NonNull;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
 
 @Configuration
 public class WebMvcConfig implements WebMvcConfigurer {
@@ -14,6 +18,22 @@ public class WebMvcConfig implements WebMvcConfigurer {
     @Value("${app.file-storage.upload-dir:uploads}")
     private String uploadDir;
     
+    @Value("${app.async.request-timeout:PT30M}")
+    private Duration asyncRequestTimeout;
+    
+    private final ThreadPoolTaskExecutor mvcAsyncExecutor;
+    
+    public WebMvcConfig(@Qualifier("mvcAsyncExecutor") ThreadPoolTaskExecutor mvcAsyncExecutor) {
+        this.mvcAsyncExecutor = mvcAsyncExecutor;
+    }
+    
+    @Override
+    public void configureAsyncSupport(@NonNull AsyncSupportConfigurer configurer) {
+        // Streamed exports run far longer than the container's default async timeout
+        configurer.setTaskExecutor(mvcAsyncExecutor);
+        configurer.setDefaultTimeout(asyncRequestTimeout.toMillis());
+    }
+    
     @Override
     public void addResourceHandlers(@NonNull ResourceHandlerRegistry registry) {
         // Add static resource handlers
@@ -1,7 +1,28 @@
 package com.tripzin.eleganttex.controller;
 
+import com.tripzin.eleganttex.dto.request.BulkOrderStatusRequest;
+import com.tripzin.eleganttex.dto.request.OrderFilterRequest;
 import com.tripzin.eleganttex.dto.request.OrderRequest;
+import com.tripzin.eleganttex.dto.response.BulkOrderStatusResponse;
+import com.tripzin.eleganttex.dto.response.CursorPageResponse;
+import com.tripzin.eleganttex.dto.response.DailyOrderCountAmountResponse;
+import com.tripzin.eleganttex.dto.response.DailyOrderCountResponse;
+import com.tripzin.eleganttex.dto.response.DashboardStatisticsResponse;
+import com.tripzin.eleganttex.dto.response.DeliveryCalendarResponse;
+import com.tripzin.eleganttex.dto.response.FacetedPageResponse;
+import com.tripzin.eleganttex.dto.response.MarketplaceOrderStatisticsResponse;
+import com.tripzin.eleganttex.dto.response.MessageResponse;
+import com.tripzin.eleganttex.dto.response.OrderFacetsResponse;
+import com.tripzin.eleganttex.dto.response.OrderFunnelResponse;
+import com.tripzin.eleganttex.dto.response.OrderImportResponse;
 import com.tripzin.eleganttex.dto.response.OrderResponse;
+import com.tripzin.eleganttex.dto.response.OrderStatisticsSummaryResponse;
+import com.tripzin.eleganttex.dto.response.OrderSummaryResponse;
+import com.tripzin.eleganttex.dto.response.OrderStatusCountResponse;
+import com.tripzin.eleganttex.dto.response.OrderValueDistributionResponse;
+import com.tripzin.eleganttex.dto.response.ProductDemandResponse;
+import com.tripzin.eleganttex.dto.response.SalesDataResponse;
+import com.tripzin.eleganttex.dto.response.UserOrderStatisticsResponse;
 import com.tripzin.eleganttex.entity.OrderStatus;
 import com.tripzin.eleganttex.entity.OrderType;
 import com.tripzin.eleganttex.security.UserSecurity;
@@ -22,10 +43,11 @@ import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Map;
 
 @RestController
 @RequestMapping("/orders")
@@ -47,6 +69,15 @@ public class OrderController {
         return ResponseEntity.ok(order);
     }
 
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @PreAuthorize("hasAuthority('ORDER_CREATE')")
+    public ResponseEntity<OrderImportResponse> importOrders(
+            @RequestPart("file") MultipartFile file,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        Long userId = userSecurity.getUserIdFromUserDetails(userDetails);
+        return ResponseEntity.ok(orderService.importOrders(file, userId));
+    }
+
     @PutMapping(value = "/{id}", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     @PreAuthorize("hasAuthority('ORDER_UPDATE')")
     public ResponseEntity<OrderResponse> updateOrder(
@@ -72,9 +103,13 @@ public class OrderController {
 
     @GetMapping
     @PreAuthorize("hasAuthority('ORDER_READ')")
-    public ResponseEntity<Page<OrderResponse>> getAllOrders(
+    public ResponseEntity<Page<?>> getAllOrders(
+            @RequestParam(required = false) String view,
             @PageableDefault(size = 10) Pageable pageable,
             @AuthenticationPrincipal UserDetails userDetails) {
+        if (isSummaryView(view)) {
+            return ResponseEntity.ok(orderService.getOrderSummariesByFilters(new OrderFilterRequest(), pageable));
+        }
         // The user ID will be extracted in the service layer from the security context
         Page<OrderResponse> orders = orderService.getAllOrders(pageable);
         return ResponseEntity.ok(orders);
@@ -82,10 +117,15 @@ public class OrderController {
 
     @GetMapping("/marketplace/{marketplaceId}")
     @PreAuthorize("hasAuthority('ORDER_READ')")
-    public ResponseEntity<Page<OrderResponse>> getOrdersByMarketplaceId(
+    public ResponseEntity<Page<?>> getOrdersByMarketplaceId(
             @PathVariable Long marketplaceId,
+            @RequestParam(required = false) String view,
             @PageableDefault(size = 10) Pageable pageable,
             @AuthenticationPrincipal UserDetails userDetails) {
+        if (isSummaryView(view)) {
+            OrderFilterRequest filter = OrderFilterRequest.builder().marketplaceId(marketplaceId).build();
+            return ResponseEntity.ok(orderService.getOrderSummariesByFilters(filter, pageable));
+        }
         // The user ID will be extracted in the service layer from the security context
         Page<OrderResponse> orders = orderService.getOrdersByMarketplaceId(marketplaceId, pageable);
         return ResponseEntity.ok(orders);
@@ -93,10 +133,15 @@ public class OrderController {
 
     @GetMapping("/status/{status}")
     @PreAuthorize("hasAuthority('ORDER_READ')")
-    public ResponseEntity<Page<OrderResponse>> getOrdersByStatus(
+    public ResponseEntity<Page<?>> getOrdersByStatus(
             @PathVariable String status,
+            @RequestParam(required = false) String view,
             @PageableDefault(size = 10) Pageable pageable,
             @AuthenticationPrincipal UserDetails userDetails) {
+        if (isSummaryView(view)) {
+            OrderFilterRequest filter = OrderFilterRequest.builder().status(status).build();
+            return ResponseEntity.ok(orderService.getOrderSummariesByFilters(filter, pageable));
+        }
         // The user ID will be extracted in the service layer from the security context
         Page<OrderResponse> orders = orderService.getOrdersByStatus(status, pageable);
         return ResponseEntity.ok(orders);
@@ -104,39 +149,123 @@ public class OrderController {
 
     @GetMapping("/delivery-date")
     @PreAuthorize("hasAuthority('ORDER_READ')")
-    public ResponseEntity<Page<OrderResponse>> getOrdersByDeliveryDateBetween(
+    public ResponseEntity<Page<?>> getOrdersByDeliveryDateBetween(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) String view,
             @PageableDefault(size = 10) Pageable pageable,
             @AuthenticationPrincipal UserDetails userDetails) {
+        if (isSummaryView(view)) {
+            OrderFilterRequest filter = OrderFilterRequest.builder().startDate(startDate).endDate(endDate).build();
+            return ResponseEntity.ok(orderService.getOrderSummariesByFilters(filter, pageable));
+        }
         // The user ID will be extracted in the service layer from the security context
         Page<OrderResponse> orders = orderService.getOrdersByDeliveryDateBetween(startDate, endDate, pageable);
         return ResponseEntity.ok(orders);
     }
 
+    /**
+     * Get per-day counts and product quantities by status of open orders due in the coming weeks
+     * @param weeks number of weeks ahead starting today, defaults to 4
+     * @return delivery calendar
+     */
+    @GetMapping("/delivery-calendar")
+    @PreAuthorize("hasAuthority('ORDER_READ')")
+    public ResponseEntity<DeliveryCalendarResponse> getDeliveryCalendar(
+            @RequestParam(required = false, defaultValue = "4") int weeks) {
+        return ResponseEntity.ok(orderService.getDeliveryCalendar(weeks));
+    }
+
+    /**
+     * Get a page of filtered orders
+     * @param filter filters bound from the query parameters (orderType, status, startDate, endDate, createdStartDate,
+     *               createdEndDate, marketplaceId, isDirectMerchant, customerName, orderNumber, deliveryChannel,
+     *               minAmount, maxAmount)
+     * @param view "summary" for flat order summaries instead of full orders
+     * @param facets optional comma separated facets (status, marketplace, orderType) to count the whole
+     *               filtered result by; the page then comes with a facets object next to its content
+     * @return page of orders, with facet counts when requested
+     */
     @GetMapping("/filter")
     @PreAuthorize("hasAuthority('ORDER_READ')")
-    public ResponseEntity<Page<OrderResponse>> getOrdersByFilters(
-            @RequestParam(required = false) String orderType,
-            @RequestParam(required = false) String status,
-            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
-            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
-            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate createdStartDate,
-            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate createdEndDate,
-            @RequestParam(required = false) Long marketplaceId,
-            @RequestParam(required = false) Boolean isDirectMerchant,
-            @RequestParam(required = false) String customerName,
-            @RequestParam(required = false) String orderNumber,
-            @RequestParam(required = false) String deliveryChannel,
-            @RequestParam(required = false) Double minAmount,
-            @RequestParam(required = false) Double maxAmount,
+    public ResponseEntity<?> getOrdersByFilters(
+            @ModelAttribute OrderFilterRequest filter,
+            @RequestParam(required = false) String view,
+            @RequestParam(required = false) String facets,
             @PageableDefault(size = 10) Pageable pageable,
             @AuthenticationPrincipal UserDetails userDetails) {
         // The user ID will be extracted in the service layer from the security context
-        Page<OrderResponse> orders = orderService.getOrdersByFilters(orderType, status, startDate, endDate, 
-                createdStartDate, createdEndDate, marketplaceId, isDirectMerchant, customerName, orderNumber, 
-                deliveryChannel, minAmount, maxAmount, pageable);
-        return ResponseEntity.ok(orders);
+        Page<?> orders = isSummaryView(view)
+                ? orderService.getOrderSummariesByFilters(filter, pageable)
+                : orderService.getOrdersByFilters(filter, pageable);
+        if (facets == null || facets.isBlank()) {
+            return ResponseEntity.ok(orders);
+        }
+        OrderFacetsResponse facetCounts = orderService.getOrderFacetsByFilters(filter, facets);
+        return ResponseEntity.ok(new FacetedPageResponse<>(orders, facetCounts));
+    }
+
+    /**
+     * Scroll through filtered orders newest first without counting them; latency stays flat at any depth.
+     * Takes the same filters as /orders/filter.
+     * @param cursor nextCursor of the previous response, omitted for the first slice
+     * @param size maximum number of orders per slice, defaults to 10
+     * @param view "summary" for flat order summaries instead of full orders
+     * @return slice of orders with the cursor of the next slice
+     */
+    @GetMapping("/scroll")
+    @PreAuthorize("hasAuthority('ORDER_READ')")
+    public ResponseEntity<CursorPageResponse<?>> scrollOrders(
+            @ModelAttribute OrderFilterRequest filter,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false, defaultValue = "10") int size,
+            @RequestParam(required = false) String view) {
+        if (isSummaryView(view)) {
+            return ResponseEntity.ok(orderService.scrollOrderSummariesByFilters(filter, cursor, size));
+        }
+        return ResponseEntity.ok(orderService.scrollOrdersByFilters(filter, cursor, size));
+    }
+
+    /**
+     * Stream every order matching the filters as newline-delimited JSON, one order per line, oldest change first.
+     * Takes the same filters as /orders/filter; memory use is constant regardless of the number of orders.
+     * @param updatedSince optional, only orders changed at or after this time, for incremental sync
+     * @return NDJSON stream of orders
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasAuthority('ORDER_READ')")
+    public ResponseEntity<StreamingResponseBody> exportOrders(
+            @ModelAttribute OrderFilterRequest filter,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime updatedSince) {
+        StreamingResponseBody body = orderService.exportOrdersByFilters(filter, updatedSince);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    /**
+     * Search orders by order number, customer name or phone, delivery channel, product description,
+     * fabric name or style code through one indexed full-text query
+     * @param q search words, each matched as a prefix
+     * @return page of order summaries, best match first
+     */
+    @GetMapping("/search")
+    @PreAuthorize("hasAuthority('ORDER_READ')")
+    public ResponseEntity<Page<OrderSummaryResponse>> searchOrders(
+            @RequestParam String q,
+            @PageableDefault(size = 10) Pageable pageable) {
+        return ResponseEntity.ok(orderService.searchOrders(q, pageable));
+    }
+
+    @PatchMapping("/status")
+    @PreAuthorize("hasAuthority('ORDER_UPDATE')")
+    public ResponseEntity<BulkOrderStatusResponse> updateOrderStatuses(
+            @Valid @RequestBody BulkOrderStatusRequest request,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        Long userId = userSecurity.getUserIdFromUserDetails(userDetails);
+        BulkOrderStatusResponse response = orderService.updateOrderStatuses(
+                request.getOrderIds(), request.getStatus(), request.getNotes(), userId);
+        return ResponseEntity.ok(response);
     }
 
     @PatchMapping("/{id}/status")
@@ -189,7 +318,7 @@ public class OrderController {
 
     @GetMapping("/status-counts")
     @PreAuthorize("hasAuthority('ORDER_READ')")
-    public ResponseEntity<List<Map<String, Object>>> getOrderStatusCounts(
+    public ResponseEntity<List<OrderStatusCountResponse>> getOrderStatusCounts(
             @RequestParam(required = false) Integer month,
             @RequestParam(required = false) Integer year,
             @RequestParam(required = false, defaultValue = "true") boolean currentMonth,
@@ -199,22 +328,22 @@ public class OrderController {
         
         // If startDate and endDate are provided, use date range filtering
         if (startDate != null && endDate != null) {
-            List<Map<String, Object>> statusCounts = orderService.getOrderStatusCountsByDateRange(startDate, endDate, orderType);
+            List<OrderStatusCountResponse> statusCounts = orderService.getOrderStatusCountsByDateRange(startDate, endDate, orderType);
             return ResponseEntity.ok(statusCounts);
         }
         // If month and year are provided, use them
         else if (month != null && year != null) {
-            List<Map<String, Object>> statusCounts = orderService.getOrderStatusCountsByMonth(month, year, orderType);
+            List<OrderStatusCountResponse> statusCounts = orderService.getOrderStatusCountsByMonth(month, year, orderType);
             return ResponseEntity.ok(statusCounts);
         }
         // Otherwise, fall back to the existing method
-        List<Map<String, Object>> statusCounts = orderService.getOrderStatusCounts(currentMonth, orderType);
+        List<OrderStatusCountResponse> statusCounts = orderService.getOrderStatusCounts(currentMonth, orderType);
         return ResponseEntity.ok(statusCounts);
     }
     
     @GetMapping("/user-statistics")
     @PreAuthorize("hasAuthority('ORDER_READ')")
-    public ResponseEntity<List<Map<String, Object>>> getUserOrderStatistics(
+    public ResponseEntity<List<UserOrderStatisticsResponse>> getUserOrderStatistics(
             @RequestParam(required = false) Integer month,
             @RequestParam(required = false) Integer year,
             @RequestParam(required = false, defaultValue = "true") boolean currentMonth,
@@ -224,22 +353,22 @@ public class OrderController {
         
         // If startDate and endDate are provided, use date range filtering
         if (startDate != null && endDate != null) {
-            List<Map<String, Object>> userStats = orderService.getUserOrderStatisticsByDateRange(startDate, endDate, orderType);
+            List<UserOrderStatisticsResponse> userStats = orderService.getUserOrderStatisticsByDateRange(startDate, endDate, orderType);
             return ResponseEntity.ok(userStats);
         }
         // If month and year are provided, use them
         else if (month != null && year != null) {
-            List<Map<String, Object>> userStats = orderService.getUserOrderStatisticsByMonth(month, year, orderType);
+            List<UserOrderStatisticsResponse> userStats = orderService.getUserOrderStatisticsByMonth(month, year, orderType);
             return ResponseEntity.ok(userStats);
         }
         // Otherwise, fall back to the existing method
-        List<Map<String, Object>> userStats = orderService.getUserOrderStatistics(currentMonth, orderType);
+        List<UserOrderStatisticsResponse> userStats = orderService.getUserOrderStatistics(currentMonth, orderType);
         return ResponseEntity.ok(userStats);
     }
     
     @GetMapping("/marketplace-statistics")
     @PreAuthorize("hasAuthority('ORDER_READ')")
-    public ResponseEntity<List<Map<String, Object>>> getMarketplaceOrderStatistics(
+    public ResponseEntity<List<MarketplaceOrderStatisticsResponse>> getMarketplaceOrderStatistics(
             @RequestParam(required = false) Integer month,
             @RequestParam(required = false) Integer year,
             @RequestParam(required = false, defaultValue = "true") boolean currentMonth,
@@ -249,16 +378,16 @@ public class OrderController {
         
         // If startDate and endDate are provided, use date range filtering
         if (startDate != null && endDate != null) {
-            List<Map<String, Object>> marketplaceStats = orderService.getMarketplaceOrderStatisticsByDateRange(startDate, endDate, orderType);
+            List<MarketplaceOrderStatisticsResponse> marketplaceStats = orderService.getMarketplaceOrderStatisticsByDateRange(startDate, endDate, orderType);
             return ResponseEntity.ok(marketplaceStats);
         }
         // If month and year are provided, use them
         else if (month != null && year != null) {
-            List<Map<String, Object>> marketplaceStats = orderService.getMarketplaceOrderStatisticsByMonth(month, year, orderType);
+            List<MarketplaceOrderStatisticsResponse> marketplaceStats = orderService.getMarketplaceOrderStatisticsByMonth(month, year, orderType);
             return ResponseEntity.ok(marketplaceStats);
         }
         // Otherwise, fall back to the existing method
-        List<Map<String, Object>> marketplaceStats = orderService.getMarketplaceOrderStatistics(currentMonth, orderType);
+        List<MarketplaceOrderStatisticsResponse> marketplaceStats = orderService.getMarketplaceOrderStatistics(currentMonth, orderType);
         return ResponseEntity.ok(marketplaceStats);
     }
     
@@ -287,7 +416,7 @@ public class OrderController {
      */
     @GetMapping("/monthly-data")
     @PreAuthorize("hasAuthority('ORDER_READ')")
-    public ResponseEntity<List<Map<String, Object>>> getMonthlyOrderData(
+    public ResponseEntity<List<DailyOrderCountResponse>> getMonthlyOrderData(
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
         
@@ -298,7 +427,7 @@ public class OrderController {
             startDate = now.minusMonths(1);
         }
         
-        List<Map<String, Object>> monthlyData = orderService.getMonthlyOrderData(startDate, endDate);
+        List<DailyOrderCountResponse> monthlyData = orderService.getMonthlyOrderData(startDate, endDate);
         return ResponseEntity.ok(monthlyData);
     }
     
@@ -311,7 +440,7 @@ public class OrderController {
      */
     @GetMapping("/monthly-count-amount")
     @PreAuthorize("hasAuthority('ORDER_READ')")
-    public ResponseEntity<List<Map<String, Object>>> getMonthlyOrderCountAndAmount(
+    public ResponseEntity<List<DailyOrderCountAmountResponse>> getMonthlyOrderCountAndAmount(
             @RequestParam(required = false) Integer month,
             @RequestParam(required = false) Integer year,
             @RequestParam(required = false, defaultValue = "true") boolean currentMonth,
@@ -321,11 +450,11 @@ public class OrderController {
         
         // If startDate and endDate are provided, use date range filtering
         if (startDate != null && endDate != null) {
-            List<Map<String, Object>> data = orderService.getMonthlyOrderCountAndAmountByDateRange(startDate, endDate, orderType);
+            List<DailyOrderCountAmountResponse> data = orderService.getMonthlyOrderCountAndAmountByDateRange(startDate, endDate, orderType);
             return ResponseEntity.ok(data);
         }
         
-        List<Map<String, Object>> data = orderService.getMonthlyOrderCountAndAmount(month, year, currentMonth, orderType);
+        List<DailyOrderCountAmountResponse> data = orderService.getMonthlyOrderCountAndAmount(month, year, currentMonth, orderType);
         return ResponseEntity.ok(data);
     }
     
@@ -338,12 +467,12 @@ public class OrderController {
      */
     @GetMapping("/sales")
     @PreAuthorize("hasAuthority('ORDER_READ')")
-    public ResponseEntity<Map<String, Object>> getSalesData(
+    public ResponseEntity<SalesDataResponse> getSalesData(
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
             @RequestParam(required = false) String orderType) {
         
-        Map<String, Object> salesData = orderService.getSalesData(startDate, endDate, orderType);
+        SalesDataResponse salesData = orderService.getSalesData(startDate, endDate, orderType);
         return ResponseEntity.ok(salesData);
     }
     
@@ -356,15 +485,110 @@ public class OrderController {
      */
     @GetMapping("/statistics-summary")
     @PreAuthorize("hasAuthority('ORDER_READ')")
-    public ResponseEntity<Map<String, Object>> getOrderStatisticsSummary(
+    public ResponseEntity<OrderStatisticsSummaryResponse> getOrderStatisticsSummary(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
             @RequestParam(required = false) String orderType) {
         
-        Map<String, Object> summary = orderService.getOrderStatisticsSummary(startDate, endDate, orderType);
+        OrderStatisticsSummaryResponse summary = orderService.getOrderStatisticsSummary(startDate, endDate, orderType);
         return ResponseEntity.ok(summary);
     }
     
+    /**
+     * Get every dashboard statistic in a single response
+     * @param startDate optional start date, defaults to the first day of the current month
+     * @param endDate optional end date, defaults to today
+     * @param orderType order type filter (marketplace/merchant/all)
+     * @return status counts, user, marketplace and daily statistics, sales and summary
+     */
+    @GetMapping("/dashboard")
+    @PreAuthorize("hasAuthority('ORDER_READ')")
+    public ResponseEntity<DashboardStatisticsResponse> getDashboardStatistics(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) String orderType) {
+        
+        DashboardStatisticsResponse dashboard = orderService.getDashboardStatistics(startDate, endDate, orderType);
+        return ResponseEntity.ok(dashboard);
+    }
+    
+    /**
+     * Get the status funnel (ORDER_CREATED through DELIVERED) and dwell-time percentiles per status
+     * @param startDate order creation start date
+     * @param endDate order creation end date
+     * @param marketplaceId optional marketplace filter
+     * @param period grouping period (day/week/month), defaults to month
+     * @return funnel conversion and dwell times per period and marketplace
+     */
+    @GetMapping("/analytics/funnel")
+    @PreAuthorize("hasAuthority('ORDER_READ')")
+    public ResponseEntity<OrderFunnelResponse> getStatusFunnel(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) Long marketplaceId,
+            @RequestParam(required = false, defaultValue = "month") String period) {
+        
+        return ResponseEntity.ok(orderService.getStatusFunnel(startDate, endDate, marketplaceId, period));
+    }
+    
+    /**
+     * Get the top fabrics, product types or style codes by quantity and revenue per period
+     * @param startDate order creation start date
+     * @param endDate order creation end date
+     * @param dimension fabric, productType or styleCode
+     * @param period grouping period (day/week/month), defaults to month
+     * @param limit number of entries per ranking, defaults to 10
+     * @param approximate true to answer from in-memory sketches covering only recent days
+     * @return top demand per period
+     */
+    @GetMapping("/analytics/demand")
+    @PreAuthorize("hasAuthority('ORDER_READ')")
+    public ResponseEntity<ProductDemandResponse> getProductDemand(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false, defaultValue = "fabric") String dimension,
+            @RequestParam(required = false, defaultValue = "month") String period,
+            @RequestParam(required = false, defaultValue = "10") int limit,
+            @RequestParam(required = false, defaultValue = "false") boolean approximate) {
+        
+        return ResponseEntity.ok(orderService.getProductDemand(startDate, endDate, dimension, period, limit, approximate));
+    }
+    
+    /**
+     * Get order value percentiles (p50/p90/p99) and histogram per marketplace and order type
+     * @param startDate order creation start date
+     * @param endDate order creation end date
+     * @param marketplaceId optional marketplace filter
+     * @param buckets number of histogram buckets, defaults to 10
+     * @return overall and per-group order value distribution
+     */
+    @GetMapping("/analytics/order-value")
+    @PreAuthorize("hasAuthority('ORDER_READ')")
+    public ResponseEntity<OrderValueDistributionResponse> getOrderValueDistribution(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) Long marketplaceId,
+            @RequestParam(required = false, defaultValue = "10") int buckets) {
+        
+        return ResponseEntity.ok(orderService.getOrderValueDistribution(startDate, endDate, marketplaceId, buckets));
+    }
+    
+    /**
+     * Rebuild the daily statistics rollup from the orders table, for backfill or drift repair
+     * @param startDate optional first day to rebuild, defaults to the earliest order
+     * @param endDate optional last day to rebuild, defaults to today
+     * @return message with the number of rollup rows written
+     */
+    @PostMapping("/statistics/rollup/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<MessageResponse> rebuildStatisticsRollup(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        
+        int rows = orderService.rebuildStatisticsRollup(startDate, endDate);
+        return ResponseEntity.ok(MessageResponse.success("Order statistics rollup rebuilt: " + rows + " rows written"));
+    }
+    
     /**
      * Reuse a cancelled or returned order to create a new order
      * @param id the order ID to reuse
@@ -379,4 +603,11 @@ public class OrderController {
         OrderResponse newOrder = orderService.reuseOrder(id, userId);
         return ResponseEntity.ok(newOrder);
     }
+
+    /**
+     * List endpoints return flat order summaries from a single projection query for view=summary
+     */
+    private boolean isSummaryView(String view) {
+        return "summary".equalsIgnoreCase(view);
+    }
 }
@@ -0,0 +1,29 @@
+package com.tripzin.eleganttex.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkOrderStatusRequest {
+
+    @NotEmpty(message = "At least one order ID is required")
+    @Size(max = 1000, message = "At most 1000 orders can be updated at once")
+    @Builder.Default
+    private List<Long> orderIds = new ArrayList<>();
+
+    @NotBlank(message = "Status is required")
+    private String status;
+
+    private String notes;
+}
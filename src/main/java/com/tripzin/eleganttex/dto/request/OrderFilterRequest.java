@@ -0,0 +1,62 @@
+package com.tripzin.eleganttex.dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+
+/**
+ * Order list filters, bound from the query parameters of the order list, scroll, facet and export
+ * endpoints; every criterion left null is not filtered on
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderFilterRequest {
+
+    /**
+     * MARKETPLACE or MERCHANT
+     */
+    private String orderType;
+
+    private String status;
+
+    /**
+     * First delivery date (inclusive)
+     */
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate startDate;
+
+    /**
+     * Last delivery date (inclusive)
+     */
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate endDate;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate createdStartDate;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate createdEndDate;
+
+    private Long marketplaceId;
+
+    /**
+     * True for orders without a marketplace only; takes precedence over marketplaceId
+     */
+    private Boolean isDirectMerchant;
+
+    private String customerName;
+
+    private String orderNumber;
+
+    private String deliveryChannel;
+
+    private Double minAmount;
+
+    private Double maxAmount;
+}
@@ -0,0 +1,13 @@
+package com.tripzin.eleganttex.dto.response;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk status change, with one result per requested order in request order
+ */
+public record BulkOrderStatusResponse(
+    String status,
+    int updatedCount,
+    int failedCount,
+    List<OrderStatusUpdateResultResponse> results
+) {}
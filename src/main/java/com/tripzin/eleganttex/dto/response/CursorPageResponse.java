@@ -0,0 +1,13 @@
+package com.tripzin.eleganttex.dto.response;
+
+import java.util.List;
+
+/**
+ * A slice of results with an opaque cursor for the next slice; null when there is none
+ */
+public record CursorPageResponse<T>(
+    List<T> content,
+    int size,
+    String nextCursor,
+    boolean hasNext
+) {}
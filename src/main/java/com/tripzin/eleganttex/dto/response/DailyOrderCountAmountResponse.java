@@ -0,0 +1,9 @@
+package com.tripzin.eleganttex.dto.response;
+
+import java.math.BigDecimal;
+
+public record DailyOrderCountAmountResponse(
+    String date,
+    long count,
+    BigDecimal amount
+) {}
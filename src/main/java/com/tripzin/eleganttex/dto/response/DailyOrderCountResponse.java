@@ -0,0 +1,6 @@
+package com.tripzin.eleganttex.dto.response;
+
+public record DailyOrderCountResponse(
+    String date,
+    long count
+) {}
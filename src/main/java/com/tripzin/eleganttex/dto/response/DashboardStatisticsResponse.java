@@ -0,0 +1,15 @@
+package com.tripzin.eleganttex.dto.response;
+
+import java.util.List;
+
+/**
+ * Every dashboard statistic for one date range, each shaped like its individual endpoint
+ */
+public record DashboardStatisticsResponse(
+    List<OrderStatusCountResponse> statusCounts,
+    List<UserOrderStatisticsResponse> userStatistics,
+    List<MarketplaceOrderStatisticsResponse> marketplaceStatistics,
+    List<DailyOrderCountAmountResponse> monthlyCountAmount,
+    SalesDataResponse sales,
+    OrderStatisticsSummaryResponse summary
+) {}
@@ -0,0 +1,46 @@
+package com.tripzin.eleganttex.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeliveryCalendarResponse {
+
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private long totalOrders;
+    private long totalQuantity;
+    private List<DeliveryDay> days;
+
+    /**
+     * Open orders and product quantity due for delivery on one day
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class DeliveryDay {
+        private LocalDate date;
+        private long orderCount;
+        private long quantity;
+        private List<StatusWorkload> statuses;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class StatusWorkload {
+        private String status;
+        private long orderCount;
+        private long quantity;
+    }
+}
@@ -0,0 +1,12 @@
+package com.tripzin.eleganttex.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import org.springframework.data.domain.Page;
+
+/**
+ * A page of results serialized as usual with the facet counts of the whole result alongside
+ */
+public record FacetedPageResponse<T>(
+    @JsonUnwrapped Page<T> page,
+    OrderFacetsResponse facets
+) {}
@@ -0,0 +1,12 @@
+package com.tripzin.eleganttex.dto.response;
+
+import java.math.BigDecimal;
+
+/**
+ * Order total of one marketplace; orders without a marketplace have a null ID and the name "Direct Merchant"
+ */
+public record MarketplaceOrderStatisticsResponse(
+    Long marketplaceId,
+    String name,
+    BigDecimal totalAmount
+) {}
@@ -0,0 +1,12 @@
+package com.tripzin.eleganttex.dto.response;
+
+/**
+ * Number of matching orders with one facet value
+ * @param value filter value, e.g. the status name or marketplace ID; null for direct merchant orders
+ * @param label display name of the value
+ */
+public record OrderFacetCountResponse(
+    String value,
+    String label,
+    long count
+) {}
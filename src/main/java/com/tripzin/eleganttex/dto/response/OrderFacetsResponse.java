@@ -0,0 +1,15 @@
+package com.tripzin.eleganttex.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * Order counts per facet value for the current filter; facets that were not requested are left out
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record OrderFacetsResponse(
+    List<OrderFacetCountResponse> status,
+    List<OrderFacetCountResponse> marketplace,
+    List<OrderFacetCountResponse> orderType
+) {}
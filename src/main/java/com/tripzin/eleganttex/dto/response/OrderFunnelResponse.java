@@ -0,0 +1,62 @@
+package com.tripzin.eleganttex.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderFunnelResponse {
+
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private String period;
+    private List<FunnelGroup> groups;
+
+    /**
+     * Funnel for the orders created in one period through one marketplace
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class FunnelGroup {
+        private LocalDate periodStart;
+        private Long marketplaceId;
+        private String marketplaceName;
+        private long orderCount;
+        private List<StageConversion> stages;
+        private List<StageDwell> dwellTimes;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class StageConversion {
+        private String status;
+        private long orders;
+        /** Share of orders that entered the first stage and reached this one */
+        private double conversionRate;
+        /** Share of orders from the previous stage that reached this one */
+        private double stepConversionRate;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class StageDwell {
+        private String status;
+        private long samples;
+        private long p50Seconds;
+        private long p90Seconds;
+        private long p99Seconds;
+    }
+}
@@ -0,0 +1,10 @@
+package com.tripzin.eleganttex.dto.response;
+
+/**
+ * Why a row of an import file was not imported; row is the spreadsheet row number, the header being row 1
+ */
+public record OrderImportErrorResponse(
+    int row,
+    String orderRef,
+    String message
+) {}
@@ -0,0 +1,15 @@
+package com.tripzin.eleganttex.dto.response;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk order import: counts plus one entry per rejected row. fileError is set when
+ * the file could not be read to the end; the counts then cover the rows read before the error.
+ */
+public record OrderImportResponse(
+    int totalRows,
+    int importedOrders,
+    int rejectedOrders,
+    List<OrderImportErrorResponse> errors,
+    String fileError
+) {}
@@ -0,0 +1,9 @@
+package com.tripzin.eleganttex.dto.response;
+
+import java.math.BigDecimal;
+
+public record OrderStatisticsSummaryResponse(
+    long totalOrders,
+    BigDecimal totalSales,
+    long deliveredOrders
+) {}
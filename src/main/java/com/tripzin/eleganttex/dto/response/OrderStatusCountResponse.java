@@ -0,0 +1,6 @@
+package com.tripzin.eleganttex.dto.response;
+
+public record OrderStatusCountResponse(
+    String status,
+    long count
+) {}
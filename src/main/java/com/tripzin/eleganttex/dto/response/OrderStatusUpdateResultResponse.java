@@ -0,0 +1,11 @@
+package com.tripzin.eleganttex.dto.response;
+
+/**
+ * Outcome of a bulk status change for one order; message says why it was not updated
+ */
+public record OrderStatusUpdateResultResponse(
+    Long orderId,
+    boolean updated,
+    String previousStatus,
+    String message
+) {}
@@ -0,0 +1,43 @@
+package com.tripzin.eleganttex.dto.response;
+
+import com.tripzin.eleganttex.entity.OrderStatus;
+import com.tripzin.eleganttex.entity.OrderType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Flat order row for list views, selected directly by query without loading the order entity
+ */
+public record OrderSummaryResponse(
+    Long id,
+    String orderNumber,
+    String orderType,
+    String status,
+    Long customerId,
+    String customerName,
+    String customerPhone,
+    Long marketplaceId,
+    String marketplaceName,
+    String deliveryChannel,
+    BigDecimal deliveryCharge,
+    BigDecimal totalAmount,
+    LocalDate deliveryDate,
+    LocalDateTime createdAt,
+    LocalDateTime updatedAt
+) {
+
+    /**
+     * Constructor used by the projection query; enums are exposed by display name like OrderResponse
+     */
+    public OrderSummaryResponse(Long id, String orderNumber, OrderType orderType, OrderStatus status,
+                                Long customerId, String customerName, String customerPhone,
+                                Long marketplaceId, String marketplaceName, String deliveryChannel,
+                                BigDecimal deliveryCharge, BigDecimal totalAmount, LocalDate deliveryDate,
+                                LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this(id, orderNumber, orderType.getDisplayName(), status.getDisplayName(), customerId, customerName,
+                customerPhone, marketplaceId, marketplaceName, deliveryChannel, deliveryCharge, totalAmount,
+                deliveryDate, createdAt, updatedAt);
+    }
+}
@@ -0,0 +1,57 @@
+package com.tripzin.eleganttex.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderValueDistributionResponse {
+
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private BigDecimal bucketWidth;
+    private ValueDistribution overall;
+    private List<ValueDistribution> groups;
+
+    /**
+     * Order value distribution of one marketplace and order type, or of all orders
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ValueDistribution {
+        private Long marketplaceId;
+        private String marketplaceName;
+        private String orderType;
+        private long orderCount;
+        private BigDecimal minValue;
+        private BigDecimal maxValue;
+        private BigDecimal averageValue;
+        private BigDecimal p50;
+        private BigDecimal p90;
+        private BigDecimal p99;
+        private List<ValueBucket> buckets;
+    }
+
+    /**
+     * Orders with a value in [lowerBound, upperBound); the last bucket includes its upper bound
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ValueBucket {
+        private BigDecimal lowerBound;
+        private BigDecimal upperBound;
+        private long orderCount;
+    }
+}
@@ -0,0 +1,49 @@
+package com.tripzin.eleganttex.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductDemandResponse {
+
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private String period;
+    private String dimension;
+    private boolean approximate;
+    private List<PeriodDemand> periods;
+
+    /**
+     * Top keys by quantity and by revenue for the orders created in one period
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PeriodDemand {
+        private LocalDate periodStart;
+        private List<DemandItem> topByQuantity;
+        private List<DemandItem> topByRevenue;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class DemandItem {
+        private Long id;
+        private String code;
+        private String name;
+        private long quantity;
+        private BigDecimal revenue;
+    }
+}
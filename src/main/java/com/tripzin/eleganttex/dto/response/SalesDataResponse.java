@@ -0,0 +1,14 @@
+package com.tripzin.eleganttex.dto.response;
+
+import java.math.BigDecimal;
+
+public record SalesDataResponse(
+    BigDecimal totalRevenue,
+    long totalOrders,
+    long completedOrders,
+    long pendingOrders,
+    BigDecimal averageOrderValue,
+    String startDate,
+    String endDate,
+    String orderType
+) {}
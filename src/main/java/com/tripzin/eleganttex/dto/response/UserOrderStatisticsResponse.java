@@ -0,0 +1,12 @@
+package com.tripzin.eleganttex.dto.response;
+
+import java.math.BigDecimal;
+
+public record UserOrderStatisticsResponse(
+    Long userId,
+    String firstName,
+    String lastName,
+    String email,
+    long orderCount,
+    BigDecimal totalAmount
+) {}
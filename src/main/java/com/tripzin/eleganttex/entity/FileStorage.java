@@ -19,7 +19,8 @@ import java.time.LocalDateTime;
 public class FileStorage {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "file_storage_id_seq")
+    @SequenceGenerator(name = "file_storage_id_seq", sequenceName = "file_storage_id_seq", allocationSize = 50)
     private Long id;
     
     @NotBlank
@@ -1,11 +1,16 @@
 package com.tripzin.eleganttex.entity;
 
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
+import org.springframework.data.domain.Persistable;
 
 import jakarta.persistence.*;
 import java.math.BigDecimal;
@@ -20,10 +25,13 @@ import java.util.List;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class Order {
+public class Order implements Persistable<Long> {
 
+    /**
+     * Assigned by OrderNumberAllocator before the first save, so the order number that contains it
+     * is part of the single INSERT
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     
     @Column(name = "order_number", unique = true)
@@ -77,6 +85,27 @@ public class Order {
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
 
+    /**
+     * Whether the order has not been inserted yet; the ID is assigned, so it cannot tell
+     */
+    @Transient
+    @Builder.Default
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private boolean isNew = true;
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostPersist
+    @PostLoad
+    void markNotNew() {
+        isNew = false;
+    }
+
     // Helper methods
     public void addProduct(OrderProduct product) {
         products.add(product);
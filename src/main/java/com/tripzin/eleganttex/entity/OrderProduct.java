@@ -1,11 +1,14 @@
 package com.tripzin.eleganttex.entity;
 
+import com.tripzin.eleganttex.util.DescriptionTokens;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.annotations.UpdateTimestamp;
+import org.hibernate.type.SqlTypes;
 
 import jakarta.persistence.*;
 import java.math.BigDecimal;
@@ -22,7 +25,8 @@ import java.util.List;
 public class OrderProduct {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_products_id_seq")
+    @SequenceGenerator(name = "order_products_id_seq", sequenceName = "order_products_id_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -46,6 +50,13 @@ public class OrderProduct {
     @Column(name = "description")
     private String description;
 
+    /**
+     * Token signature of the description, derived on save
+     */
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(name = "description_tokens")
+    private long[] descriptionTokens;
+
     @Column(name = "style_code")
     private String styleCode;
 
@@ -75,12 +86,13 @@ public class OrderProduct {
         image.setOrderProduct(null);
     }
 
-    // Calculate subtotal
+    // Calculate subtotal and description tokens
     @PrePersist
     @PreUpdate
     public void calculateSubtotal() {
         if (price != null && quantity != null) {
             this.subtotal = price.multiply(BigDecimal.valueOf(quantity));
         }
+        this.descriptionTokens = DescriptionTokens.of(description);
     }
 }
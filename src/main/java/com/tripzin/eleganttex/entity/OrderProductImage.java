@@ -19,7 +19,8 @@ import java.time.LocalDateTime;
 public class OrderProductImage {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_product_images_id_seq")
+    @SequenceGenerator(name = "order_product_images_id_seq", sequenceName = "order_product_images_id_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
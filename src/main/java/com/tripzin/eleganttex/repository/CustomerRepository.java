@@ -9,6 +9,8 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -21,6 +23,13 @@ public interface CustomerRepository extends JpaRepository<Customer, Long> {
      */
     Optional<Customer> findByPhone(String phone);
     
+    /**
+     * Find the customers with any of the given phone numbers
+     * @param phones The phone numbers to search for
+     * @return List of the customers found, in no particular order
+     */
+    List<Customer> findByPhoneIn(Collection<String> phones);
+    
     /**
      * Find customers by name containing the given string (case insensitive)
      * @param name The name to search for
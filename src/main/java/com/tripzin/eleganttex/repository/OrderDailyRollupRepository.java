@@ -0,0 +1,135 @@
+package com.tripzin.eleganttex.repository;
+
+import com.tripzin.eleganttex.entity.OrderDailyRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface OrderDailyRollupRepository extends JpaRepository<OrderDailyRollup, Long> {
+
+    /**
+     * Common WHERE clause for the statistics aggregates: day range (inclusive) plus optional
+     * marketplace (true) / merchant (false) filter
+     */
+    String STATISTICS_FILTER =
+           "WHERE r.day BETWEEN :startDate AND :endDate " +
+           "AND (:withMarketplace IS NULL " +
+           "     OR (:withMarketplace = true AND r.marketplaceId IS NOT NULL) " +
+           "     OR (:withMarketplace = false AND r.marketplaceId IS NULL)) ";
+
+    /**
+     * Add a count and amount delta to a rollup bucket, creating the bucket if it does not exist yet
+     */
+    @Modifying
+    @Query(value = "INSERT INTO order_daily_rollup (day, order_type, marketplace_id, created_by, status, order_count, total_amount) " +
+           "VALUES (:day, :orderType, :marketplaceId, :createdById, :status, :countDelta, :amountDelta) " +
+           "ON CONFLICT (day, order_type, marketplace_id, created_by, status) DO UPDATE SET " +
+           "order_count = order_daily_rollup.order_count + EXCLUDED.order_count, " +
+           "total_amount = order_daily_rollup.total_amount + EXCLUDED.total_amount",
+           nativeQuery = true)
+    void upsert(
+            @Param("day") LocalDate day,
+            @Param("orderType") String orderType,
+            @Param("marketplaceId") Long marketplaceId,
+            @Param("createdById") Long createdById,
+            @Param("status") String status,
+            @Param("countDelta") long countDelta,
+            @Param("amountDelta") BigDecimal amountDelta);
+
+    @Modifying
+    @Query("DELETE FROM OrderDailyRollup r WHERE r.day BETWEEN :startDate AND :endDate")
+    int deleteByDayBetween(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    /**
+     * Recompute rollup rows from the orders created in the given window
+     * @param startDateTime start date-time (inclusive)
+     * @param endDateTime end date-time (exclusive)
+     * @return number of rollup rows inserted
+     */
+    @Modifying
+    @Query(value = "INSERT INTO order_daily_rollup (day, order_type, marketplace_id, created_by, status, order_count, total_amount) " +
+           "SELECT CAST(o.created_at AS DATE), o.order_type, o.marketplace_id, o.created_by, o.status, COUNT(*), SUM(o.total_amount) " +
+           "FROM orders o WHERE o.created_at >= :startDateTime AND o.created_at < :endDateTime " +
+           "GROUP BY CAST(o.created_at AS DATE), o.order_type, o.marketplace_id, o.created_by, o.status",
+           nativeQuery = true)
+    int insertFromOrders(@Param("startDateTime") LocalDateTime startDateTime, @Param("endDateTime") LocalDateTime endDateTime);
+
+    @Query("SELECT MIN(CAST(o.createdAt AS LocalDate)) FROM Order o")
+    LocalDate findEarliestOrderDate();
+
+    /**
+     * Aggregate order count and total amount per status
+     * @return list of arrays containing [status, count, totalAmount]
+     */
+    @Query("SELECT r.status, SUM(r.orderCount), SUM(r.totalAmount) FROM OrderDailyRollup r " +
+           STATISTICS_FILTER +
+           "GROUP BY r.status HAVING SUM(r.orderCount) > 0")
+    List<Object[]> aggregateByStatus(
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate,
+            @Param("withMarketplace") Boolean withMarketplace);
+
+    /**
+     * Aggregate order count and total amount per creating user, largest order count first
+     * @return list of arrays containing [userId, firstName, lastName, email, count, totalAmount]
+     */
+    @Query("SELECT u.id, u.firstName, u.lastName, u.email, SUM(r.orderCount), SUM(r.totalAmount) " +
+           "FROM OrderDailyRollup r JOIN User u ON u.id = r.createdById " +
+           STATISTICS_FILTER +
+           "GROUP BY u.id, u.firstName, u.lastName, u.email HAVING SUM(r.orderCount) > 0 " +
+           "ORDER BY SUM(r.orderCount) DESC")
+    List<Object[]> aggregateByCreatedBy(
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate,
+            @Param("withMarketplace") Boolean withMarketplace);
+
+    /**
+     * Aggregate total amount per marketplace, largest amount first.
+     * Merchant orders without a marketplace are grouped under a null marketplace ID.
+     * @return list of arrays containing [marketplaceId, name, totalAmount]
+     */
+    @Query("SELECT m.id, m.name, SUM(r.totalAmount) " +
+           "FROM OrderDailyRollup r LEFT JOIN Marketplace m ON m.id = r.marketplaceId " +
+           STATISTICS_FILTER +
+           "GROUP BY m.id, m.name HAVING SUM(r.orderCount) > 0 " +
+           "ORDER BY SUM(r.totalAmount) DESC")
+    List<Object[]> aggregateByMarketplace(
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate,
+            @Param("withMarketplace") Boolean withMarketplace);
+
+    /**
+     * Aggregate order count and total amount per day
+     * @return list of arrays containing [date, count, totalAmount]
+     */
+    @Query("SELECT r.day, SUM(r.orderCount), SUM(r.totalAmount) FROM OrderDailyRollup r " +
+           STATISTICS_FILTER +
+           "GROUP BY r.day HAVING SUM(r.orderCount) > 0")
+    List<Object[]> aggregateByDay(
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate,
+            @Param("withMarketplace") Boolean withMarketplace);
+
+    /**
+     * Non-empty rollup rows with creator and marketplace names resolved, so several
+     * statistics can be folded out of a single scan
+     * @return list of arrays containing [day, status, userId, firstName, lastName, email,
+     *         marketplaceId, marketplaceName, count, totalAmount]
+     */
+    @Query("SELECT r.day, r.status, u.id, u.firstName, u.lastName, u.email, r.marketplaceId, m.name, r.orderCount, r.totalAmount " +
+           "FROM OrderDailyRollup r JOIN User u ON u.id = r.createdById LEFT JOIN Marketplace m ON m.id = r.marketplaceId " +
+           STATISTICS_FILTER +
+           "AND r.orderCount > 0")
+    List<Object[]> findRowsWithNames(
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate,
+            @Param("withMarketplace") Boolean withMarketplace);
+}
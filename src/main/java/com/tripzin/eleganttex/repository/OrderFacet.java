@@ -0,0 +1,54 @@
+package com.tripzin.eleganttex.repository;
+
+import com.tripzin.eleganttex.exception.BadRequestException;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Order fields that search results can be counted by, named as in the facets request parameter
+ */
+public enum OrderFacet {
+    STATUS("status"),
+    MARKETPLACE("marketplace"),
+    ORDER_TYPE("orderType");
+
+    private final String parameterName;
+
+    OrderFacet(String parameterName) {
+        this.parameterName = parameterName;
+    }
+
+    public String getParameterName() {
+        return parameterName;
+    }
+
+    /**
+     * Parse a comma separated list of facet names, e.g. "status,marketplace"
+     * @param names facet names, null or blank for none
+     * @return requested facets
+     * @throws BadRequestException if a name is unknown
+     */
+    public static Set<OrderFacet> parseList(String names) {
+        Set<OrderFacet> facets = EnumSet.noneOf(OrderFacet.class);
+        if (names == null || names.isBlank()) {
+            return facets;
+        }
+        for (String name : names.split(",")) {
+            if (name.isBlank()) {
+                continue;
+            }
+            facets.add(fromParameterName(name.trim()));
+        }
+        return facets;
+    }
+
+    private static OrderFacet fromParameterName(String name) {
+        for (OrderFacet facet : values()) {
+            if (facet.parameterName.equalsIgnoreCase(name)) {
+                return facet;
+            }
+        }
+        throw new BadRequestException("Unknown facet: " + name);
+    }
+}
@@ -0,0 +1,19 @@
+package com.tripzin.eleganttex.repository;
+
+import com.tripzin.eleganttex.dto.response.OrderFacetsResponse;
+
+import java.util.Set;
+
+/**
+ * Grouped order counts for the facets of a filtered order list
+ */
+public interface OrderFacetRepository {
+
+    /**
+     * Count the orders matching a filter per value of each requested facet in one GROUPING SETS query
+     * @param filter order filter; only the criteria that are set become predicates
+     * @param facets facets to count, at least one
+     * @return counts per facet value, largest first; facets that were not requested are null
+     */
+    OrderFacetsResponse countFacets(OrderFilter filter, Set<OrderFacet> facets);
+}
@@ -0,0 +1,181 @@
+package com.tripzin.eleganttex.repository;
+
+import com.tripzin.eleganttex.dto.response.OrderFacetCountResponse;
+import com.tripzin.eleganttex.dto.response.OrderFacetsResponse;
+import com.tripzin.eleganttex.entity.OrderStatus;
+import com.tripzin.eleganttex.entity.OrderType;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+
+public class OrderFacetRepositoryImpl implements OrderFacetRepository {
+
+    private static final String LIKE_ESCAPE_CLAUSE = " ESCAPE '" + OrderSpecifications.LIKE_ESCAPE + "'";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public OrderFacetsResponse countFacets(OrderFilter filter, Set<OrderFacet> facets) {
+        if (facets.isEmpty()) {
+            throw new IllegalArgumentException("At least one facet is required");
+        }
+        List<OrderFacet> requested = new ArrayList<>(facets);
+        Map<String, Object> parameters = new HashMap<>();
+
+        // Per facet: GROUPING(key) telling which grouping set a row belongs to, then the grouped columns
+        StringJoiner select = new StringJoiner(", ", "SELECT ", ", COUNT(*) ");
+        StringJoiner groupingSets = new StringJoiner(", ", "GROUP BY GROUPING SETS (", ")");
+        for (OrderFacet facet : requested) {
+            String columns = groupedColumns(facet);
+            select.add("GROUPING(" + keyColumn(facet) + ")").add(columns);
+            groupingSets.add("(" + columns + ")");
+        }
+
+        StringBuilder sql = new StringBuilder(select.toString()).append("FROM orders o ");
+        if (facets.contains(OrderFacet.MARKETPLACE)) {
+            sql.append("LEFT JOIN marketplaces m ON m.id = o.marketplace_id ");
+        }
+        if (OrderSpecifications.hasText(filter.customerName())) {
+            sql.append("JOIN customers c ON c.id = o.customer_id ");
+        }
+        sql.append(whereClause(filter, parameters)).append(groupingSets);
+
+        Query query = entityManager.createNativeQuery(sql.toString());
+        parameters.forEach(query::setParameter);
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = query.getResultList();
+
+        Map<OrderFacet, List<OrderFacetCountResponse>> counts = new EnumMap<>(OrderFacet.class);
+        for (OrderFacet facet : requested) {
+            counts.put(facet, new ArrayList<>());
+        }
+        for (Object[] row : rows) {
+            long count = ((Number) row[row.length - 1]).longValue();
+            int column = 0;
+            for (OrderFacet facet : requested) {
+                boolean grouped = ((Number) row[column]).intValue() == 0;
+                if (grouped) {
+                    counts.get(facet).add(toCount(facet, row, column + 1, count));
+                    break;
+                }
+                column += 1 + columnCount(facet);
+            }
+        }
+        counts.values().forEach(list -> list.sort(Comparator.comparingLong(OrderFacetCountResponse::count).reversed()));
+
+        return new OrderFacetsResponse(
+                counts.get(OrderFacet.STATUS),
+                counts.get(OrderFacet.MARKETPLACE),
+                counts.get(OrderFacet.ORDER_TYPE));
+    }
+
+    /**
+     * WHERE clause with the predicates of the criteria that are set, matching OrderSpecifications.matching
+     */
+    private String whereClause(OrderFilter filter, Map<String, Object> parameters) {
+        List<String> predicates = new ArrayList<>();
+
+        if (filter.orderType() != null) {
+            predicates.add("o.order_type = :orderType");
+            parameters.put("orderType", filter.orderType().name());
+        }
+        if (filter.status() != null) {
+            predicates.add("o.status = :status");
+            parameters.put("status", filter.status().name());
+        }
+        if (filter.deliveryStartDate() != null) {
+            predicates.add("o.delivery_date >= :deliveryStartDate");
+            parameters.put("deliveryStartDate", filter.deliveryStartDate());
+        }
+        if (filter.deliveryEndDate() != null) {
+            predicates.add("o.delivery_date <= :deliveryEndDate");
+            parameters.put("deliveryEndDate", filter.deliveryEndDate());
+        }
+        if (filter.createdStartDate() != null) {
+            predicates.add("o.created_at >= :createdStart");
+            parameters.put("createdStart", filter.createdStartDate().atStartOfDay());
+        }
+        if (filter.createdEndDate() != null) {
+            predicates.add("o.created_at < :createdEnd");
+            parameters.put("createdEnd", filter.createdEndDate().plusDays(1).atStartOfDay());
+        }
+        if (filter.directMerchant()) {
+            predicates.add("o.marketplace_id IS NULL");
+        } else if (filter.marketplaceId() != null) {
+            predicates.add("o.marketplace_id = :marketplaceId");
+            parameters.put("marketplaceId", filter.marketplaceId());
+        }
+        if (filter.createdById() != null) {
+            predicates.add("o.created_by = :createdById");
+            parameters.put("createdById", filter.createdById());
+        }
+        if (filter.updatedSince() != null) {
+            predicates.add("o.updated_at >= :updatedSince");
+            parameters.put("updatedSince", filter.updatedSince());
+        }
+        if (filter.minAmount() != null) {
+            predicates.add("o.total_amount >= :minAmount");
+            parameters.put("minAmount", filter.minAmount());
+        }
+        if (filter.maxAmount() != null) {
+            predicates.add("o.total_amount <= :maxAmount");
+            parameters.put("maxAmount", filter.maxAmount());
+        }
+        if (OrderSpecifications.hasText(filter.orderNumber())) {
+            predicates.add("LOWER(o.order_number) LIKE :orderNumber" + LIKE_ESCAPE_CLAUSE);
+            parameters.put("orderNumber", OrderSpecifications.containsPattern(filter.orderNumber()));
+        }
+        if (OrderSpecifications.hasText(filter.deliveryChannel())) {
+            predicates.add("LOWER(o.delivery_channel) LIKE :deliveryChannel" + LIKE_ESCAPE_CLAUSE);
+            parameters.put("deliveryChannel", OrderSpecifications.containsPattern(filter.deliveryChannel()));
+        }
+        if (OrderSpecifications.hasText(filter.customerName())) {
+            predicates.add("LOWER(c.name) LIKE :customerName" + LIKE_ESCAPE_CLAUSE);
+            parameters.put("customerName", OrderSpecifications.containsPattern(filter.customerName()));
+        }
+
+        return predicates.isEmpty() ? "" : "WHERE " + String.join(" AND ", predicates) + " ";
+    }
+
+    private static String keyColumn(OrderFacet facet) {
+        return switch (facet) {
+            case STATUS -> "o.status";
+            case MARKETPLACE -> "o.marketplace_id";
+            case ORDER_TYPE -> "o.order_type";
+        };
+    }
+
+    private static String groupedColumns(OrderFacet facet) {
+        return facet == OrderFacet.MARKETPLACE ? "o.marketplace_id, m.name" : keyColumn(facet);
+    }
+
+    private static int columnCount(OrderFacet facet) {
+        return facet == OrderFacet.MARKETPLACE ? 2 : 1;
+    }
+
+    private static OrderFacetCountResponse toCount(OrderFacet facet, Object[] row, int column, long count) {
+        return switch (facet) {
+            case STATUS -> {
+                OrderStatus status = OrderStatus.valueOf((String) row[column]);
+                yield new OrderFacetCountResponse(status.name(), status.getDisplayName(), count);
+            }
+            case MARKETPLACE -> row[column] != null
+                    ? new OrderFacetCountResponse(String.valueOf(((Number) row[column]).longValue()), (String) row[column + 1], count)
+                    : new OrderFacetCountResponse(null, "Direct Merchant", count);
+            case ORDER_TYPE -> {
+                OrderType orderType = OrderType.valueOf((String) row[column]);
+                yield new OrderFacetCountResponse(orderType.name(), orderType.getDisplayName(), count);
+            }
+        };
+    }
+}
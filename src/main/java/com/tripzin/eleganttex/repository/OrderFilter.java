@@ -0,0 +1,33 @@
+package com.tripzin.eleganttex.repository;
+
+import com.tripzin.eleganttex.entity.OrderStatus;
+import com.tripzin.eleganttex.entity.OrderType;
+import lombok.Builder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Criteria for searching orders; every null (or blank text) criterion is left out of the query.
+ * Date ranges are inclusive, text criteria match case-insensitive substrings.
+ * updatedSince matches orders last changed at or after the given time.
+ */
+@Builder(toBuilder = true)
+public record OrderFilter(
+    OrderType orderType,
+    OrderStatus status,
+    LocalDate deliveryStartDate,
+    LocalDate deliveryEndDate,
+    LocalDate createdStartDate,
+    LocalDate createdEndDate,
+    Long marketplaceId,
+    boolean directMerchant,
+    String customerName,
+    String orderNumber,
+    String deliveryChannel,
+    BigDecimal minAmount,
+    BigDecimal maxAmount,
+    Long createdById,
+    LocalDateTime updatedSince
+) {}
@@ -4,6 +4,7 @@ import com.tripzin.eleganttex.entity.OrderProductImage;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -11,6 +12,8 @@ public interface OrderProductImageRepository extends JpaRepository<OrderProductI
 
     List<OrderProductImage> findByOrderProductId(Long orderProductId);
     
+    List<OrderProductImage> findByOrderProductIdIn(Collection<Long> orderProductIds);
+    
     void deleteByOrderProductId(Long orderProductId);
     
     void deleteByImageId(Long imageId);
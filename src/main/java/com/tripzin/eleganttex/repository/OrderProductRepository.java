@@ -1,11 +1,14 @@
 package com.tripzin.eleganttex.repository;
 
 import com.tripzin.eleganttex.entity.OrderProduct;
+import com.tripzin.eleganttex.entity.OrderStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -27,4 +30,63 @@ public interface OrderProductRepository extends JpaRepository<OrderProduct, Long
     boolean existsByFabricId(@Param("fabricId") Long fabricId);
     
     void deleteByOrderId(Long orderId);
+    
+    /**
+     * Product lines of the orders in the given statuses, as scalar rows for the similar order index.
+     * Rows are [orderId, orderCreatedAt, createdById, productTypeId, fabricId, descriptionTokens].
+     */
+    @Query("SELECT o.id, o.createdAt, o.createdBy.id, op.productType.id, op.fabric.id, op.descriptionTokens " +
+           "FROM OrderProduct op JOIN op.order o WHERE o.status IN :statuses")
+    List<Object[]> findSimilarityRowsByOrderStatusIn(@Param("statuses") Collection<OrderStatus> statuses);
+    
+    /**
+     * Product lines of one order if it is in the given statuses, rows as in findSimilarityRowsByOrderStatusIn
+     */
+    @Query("SELECT o.id, o.createdAt, o.createdBy.id, op.productType.id, op.fabric.id, op.descriptionTokens " +
+           "FROM OrderProduct op JOIN op.order o WHERE o.id = :orderId AND o.status IN :statuses")
+    List<Object[]> findSimilarityRowsByOrderIdAndOrderStatusIn(
+            @Param("orderId") Long orderId,
+            @Param("statuses") Collection<OrderStatus> statuses);
+    
+    /**
+     * Quantity and revenue per period and fabric for orders created in [startDateTime, endDateTime).
+     * Rows are [periodStart, fabricId, fabricCode, fabricName, quantity, revenue].
+     */
+    @Query(value = "SELECT CAST(date_trunc(:period, o.created_at) AS DATE), f.id, f.fabric_code, f.name, " +
+           "SUM(op.quantity), SUM(op.subtotal) " +
+           "FROM order_products op JOIN orders o ON o.id = op.order_id JOIN fabrics f ON f.id = op.fabric_id " +
+           "WHERE o.created_at >= :startDateTime AND o.created_at < :endDateTime " +
+           "GROUP BY 1, 2, 3, 4", nativeQuery = true)
+    List<Object[]> sumDemandByFabric(
+            @Param("period") String period,
+            @Param("startDateTime") LocalDateTime startDateTime,
+            @Param("endDateTime") LocalDateTime endDateTime);
+    
+    /**
+     * Quantity and revenue per period and product type for orders created in [startDateTime, endDateTime).
+     * Rows are [periodStart, productTypeId, productTypeName, productTypeName, quantity, revenue].
+     */
+    @Query(value = "SELECT CAST(date_trunc(:period, o.created_at) AS DATE), pt.id, pt.name, pt.name, " +
+           "SUM(op.quantity), SUM(op.subtotal) " +
+           "FROM order_products op JOIN orders o ON o.id = op.order_id JOIN product_types pt ON pt.id = op.product_type_id " +
+           "WHERE o.created_at >= :startDateTime AND o.created_at < :endDateTime " +
+           "GROUP BY 1, 2, 3", nativeQuery = true)
+    List<Object[]> sumDemandByProductType(
+            @Param("period") String period,
+            @Param("startDateTime") LocalDateTime startDateTime,
+            @Param("endDateTime") LocalDateTime endDateTime);
+    
+    /**
+     * Quantity and revenue per period and style code for orders created in [startDateTime, endDateTime).
+     * Rows are [periodStart, null, styleCode, styleCode, quantity, revenue].
+     */
+    @Query(value = "SELECT CAST(date_trunc(:period, o.created_at) AS DATE), CAST(NULL AS BIGINT), op.style_code, op.style_code, " +
+           "SUM(op.quantity), SUM(op.subtotal) " +
+           "FROM order_products op JOIN orders o ON o.id = op.order_id " +
+           "WHERE o.created_at >= :startDateTime AND o.created_at < :endDateTime AND op.style_code IS NOT NULL " +
+           "GROUP BY 1, 3", nativeQuery = true)
+    List<Object[]> sumDemandByStyleCode(
+            @Param("period") String period,
+            @Param("startDateTime") LocalDateTime startDateTime,
+            @Param("endDateTime") LocalDateTime endDateTime);
 }
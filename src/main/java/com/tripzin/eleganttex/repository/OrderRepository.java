@@ -3,24 +3,34 @@ package com.tripzin.eleganttex.repository;
 import com.tripzin.eleganttex.entity.Order;
 import com.tripzin.eleganttex.entity.OrderStatus;
 import com.tripzin.eleganttex.entity.OrderType;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
 @Repository
-public interface OrderRepository extends JpaRepository<Order, Long>, JpaSpecificationExecutor<Order> {
+public interface OrderRepository extends JpaRepository<Order, Long>, JpaSpecificationExecutor<Order>, OrderSummaryRepository, OrderFacetRepository, OrderStreamRepository {
 
+    /**
+     * Reserve the next block of order IDs; the returned value is the highest ID of the block
+     */
+    @Query(value = "SELECT nextval('orders_id_seq')", nativeQuery = true)
+    long reserveIdBlock();
+    
     @Query("SELECT o FROM Order o LEFT JOIN FETCH o.marketplace LEFT JOIN FETCH o.customer WHERE o.id = :id")
     Optional<Order> findByIdWithMarketplace(@Param("id") Long id);
     
@@ -37,86 +47,6 @@ public interface OrderRepository extends JpaRepository<Order, Long>, JpaSpecific
     
     Page<Order> findByCreatedById(Long userId, Pageable pageable);
     
-    @Query("SELECT o FROM Order o JOIN o.customer c WHERE " +
-           "(:#{#status == null} = true OR o.status = :status) AND " +
-           "(:#{#startDate == null} = true OR o.deliveryDate >= :startDate) AND " +
-           "(:#{#endDate == null} = true OR o.deliveryDate <= :endDate) AND " +
-           "(:#{#marketplaceId == null} = true OR o.marketplace.id = :marketplaceId) AND " +
-           "(:#{#customerName == null or #customerName == ''} = true OR LOWER(c.name) LIKE LOWER(CONCAT('%', :customerName, '%'))) AND " +
-           "(:#{#orderNumber == null or #orderNumber == ''} = true OR LOWER(o.orderNumber) LIKE LOWER(CONCAT('%', :orderNumber, '%'))) AND " +
-           "(:#{#deliveryChannel == null or #deliveryChannel == ''} = true OR LOWER(o.deliveryChannel) LIKE LOWER(CONCAT('%', :deliveryChannel, '%'))) AND " +
-           "(:#{#minAmount == null} = true OR o.totalAmount >= :minAmount) AND " +
-           "(:#{#maxAmount == null} = true OR o.totalAmount <= :maxAmount)")
-    Page<Order> findByFilters(
-            @Param("status") OrderStatus status,
-            @Param("startDate") LocalDate startDate,
-            @Param("endDate") LocalDate endDate,
-            @Param("marketplaceId") Long marketplaceId,
-            @Param("customerName") String customerName,
-            @Param("orderNumber") String orderNumber,
-            @Param("deliveryChannel") String deliveryChannel,
-            @Param("minAmount") Double minAmount,
-            @Param("maxAmount") Double maxAmount,
-            Pageable pageable);
-            
-    @Query("SELECT o FROM Order o JOIN o.customer c WHERE " +
-           "o.orderType = :orderType AND " +
-           "(:#{#status == null} = true OR o.status = :status) AND " +
-           "(:#{#startDate == null} = true OR o.deliveryDate >= :startDate) AND " +
-           "(:#{#endDate == null} = true OR o.deliveryDate <= :endDate) AND " +
-           "(:#{#marketplaceId == null} = true OR o.marketplace.id = :marketplaceId) AND " +
-           "(:#{#customerName == null or #customerName == ''} = true OR LOWER(c.name) LIKE LOWER(CONCAT('%', :customerName, '%'))) AND " +
-           "(:#{#orderNumber == null or #orderNumber == ''} = true OR LOWER(o.orderNumber) LIKE LOWER(CONCAT('%', :orderNumber, '%'))) AND " +
-           "(:#{#deliveryChannel == null or #deliveryChannel == ''} = true OR LOWER(o.deliveryChannel) LIKE LOWER(CONCAT('%', :deliveryChannel, '%'))) AND " +
-           "(:#{#minAmount == null} = true OR o.totalAmount >= :minAmount) AND " +
-           "(:#{#maxAmount == null} = true OR o.totalAmount <= :maxAmount)")
-    Page<Order> findByOrderTypeAndFilters(
-            @Param("orderType") OrderType orderType,
-            @Param("status") OrderStatus status,
-            @Param("startDate") LocalDate startDate,
-            @Param("endDate") LocalDate endDate,
-            @Param("marketplaceId") Long marketplaceId,
-            @Param("customerName") String customerName,
-            @Param("orderNumber") String orderNumber,
-            @Param("deliveryChannel") String deliveryChannel,
-            @Param("minAmount") Double minAmount,
-            @Param("maxAmount") Double maxAmount,
-            Pageable pageable);
-            
-    @Query("SELECT o FROM Order o JOIN o.customer c WHERE " +
-           "(:#{#status == null} = true OR o.status = :status) AND " +
-           "(:#{#startDate == null} = true OR o.deliveryDate >= :startDate) AND " +
-           "(:#{#endDate == null} = true OR o.deliveryDate <= :endDate) AND " +
-           "(:#{#marketplaceId == null} = true OR o.marketplace.id = :marketplaceId) AND " +
-           "(:#{#createdById == null} = true OR o.createdBy.id = :createdById) AND " +
-           "(:#{#orderNumber == null or #orderNumber == ''} = true OR LOWER(o.orderNumber) LIKE LOWER(CONCAT('%', :orderNumber, '%'))) AND " +
-           "(:#{#minAmount == null} = true OR o.totalAmount >= :minAmount) AND " +
-           "(:#{#maxAmount == null} = true OR o.totalAmount <= :maxAmount)")
-    Page<Order> findByFiltersWithCreatedBy(
-            @Param("status") OrderStatus status,
-            @Param("startDate") LocalDate startDate,
-            @Param("endDate") LocalDate endDate,
-            @Param("marketplaceId") Long marketplaceId,
-            @Param("createdById") Long createdById,
-            @Param("orderNumber") String orderNumber,
-            @Param("minAmount") Double minAmount,
-            @Param("maxAmount") Double maxAmount,
-            Pageable pageable);
-            
-    @Query("SELECT o FROM Order o JOIN o.customer c WHERE " +
-           "(:#{#status == null} = true OR o.status = :status) AND " +
-           "(:#{#startDate == null} = true OR CAST(o.createdAt AS LocalDate) >= :startDate) AND " +
-           "(:#{#endDate == null} = true OR CAST(o.createdAt AS LocalDate) <= :endDate) AND " +
-           "(:#{#marketplaceId == null} = true OR o.marketplace.id = :marketplaceId) AND " +
-           "(:#{#customerName == null or #customerName == ''} = true OR LOWER(c.name) LIKE LOWER(CONCAT('%', :customerName, '%')))")
-    Page<Order> findByFiltersWithCreatedAt(
-            @Param("status") OrderStatus status,
-            @Param("startDate") LocalDate startDate,
-            @Param("endDate") LocalDate endDate,
-            @Param("marketplaceId") Long marketplaceId,
-            @Param("customerName") String customerName,
-            Pageable pageable);
-            
     /**
      * Find orders with filters including order type for Excel export
      * @param status optional status filter
@@ -126,27 +56,12 @@ public interface OrderRepository extends JpaRepository<Order, Long>, JpaSpecific
      * @return list of orders matching the filters
      */
     default List<Order> findByFiltersForExcel(OrderStatus status, OrderType orderType, LocalDate startDate, LocalDate endDate) {
-        return findAll((root, query, cb) -> {
-            var predicates = cb.conjunction();
-
-            if (status != null) {
-                predicates = cb.and(predicates, cb.equal(root.get("status"), status));
-            }
-
-            if (orderType != null) {
-                predicates = cb.and(predicates, cb.equal(root.get("orderType"), orderType));
-            }
-
-            if (startDate != null) {
-                predicates = cb.and(predicates, cb.greaterThanOrEqualTo(root.get("createdAt"), startDate.atStartOfDay()));
-            }
-
-            if (endDate != null) {
-                predicates = cb.and(predicates, cb.lessThanOrEqualTo(root.get("createdAt"), endDate.atTime(23, 59, 59)));
-            }
-
-            return predicates;
-        });
+        return findAll(OrderSpecifications.matching(OrderFilter.builder()
+                .status(status)
+                .orderType(orderType)
+                .createdStartDate(startDate)
+                .createdEndDate(endDate)
+                .build()));
     }
     
     @Query(value = "SELECT o.status as status, COUNT(o.id) as count FROM orders o GROUP BY o.status", nativeQuery = true)
@@ -180,44 +95,31 @@ public interface OrderRepository extends JpaRepository<Order, Long>, JpaSpecific
             @Param("endDateTime") LocalDateTime endDateTime);
             
     /**
-     * Find similar orders based on product type AND fabric
-     * Limited to returned or cancelled orders
-     * @param orderId the order ID to exclude from results
-     * @param productTypes list of product types to match
-     * @param fabricIds list of fabric IDs to match
-     * @param pageable pagination information
-     * @return list of similar orders
-     */
-    @Query("SELECT DISTINCT o FROM Order o " +
-           "JOIN o.products p " +
-           "WHERE o.id <> :orderId " +
-           "AND (o.status = 'RETURNED' OR o.status = 'CANCELLED') " +
-           "AND EXISTS (SELECT 1 FROM OrderProduct op WHERE op.order = o " +
-           "            AND op.productType.name IN :productTypes " +
-           "            AND op.fabric.id IN :fabricIds) " +
-           "ORDER BY o.createdAt DESC")
-    List<Order> findSimilarOrders(
-            @Param("orderId") Long orderId,
-            @Param("productTypes") List<String> productTypes,
-            @Param("fabricIds") List<Long> fabricIds,
-            Pageable pageable);
-            
+     * Shared WHERE fragment for the statistics aggregates below. A null
+     * withMarketplace includes every order, true keeps marketplace orders and
+     * false keeps direct merchant orders (no marketplace).
+     */
+    String STATISTICS_FILTER =
+           "WHERE o.createdAt >= :startDateTime AND o.createdAt < :endDateTime " +
+           "AND (:withMarketplace IS NULL " +
+           "     OR (:withMarketplace = true AND o.marketplace IS NOT NULL) " +
+           "     OR (:withMarketplace = false AND o.marketplace IS NULL)) ";
+
     /**
-     * Find similar orders with a limit
-     * @param orderId the order ID to exclude from results
-     * @param productTypes list of product types to match
-     * @param fabricIds list of fabric IDs to match
-     * @param limit maximum number of results to return
-     * @return list of similar orders
-     */
-    default List<Order> findSimilarOrders(
-            Long orderId,
-            List<String> productTypes,
-            List<Long> fabricIds,
-            int limit) {
-        return findSimilarOrders(orderId, productTypes, fabricIds, PageRequest.of(0, limit));
-    }
-    
+     * Aggregate order count and total amount per status
+     * @param startDateTime start date-time (inclusive)
+     * @param endDateTime end date-time (exclusive)
+     * @param withMarketplace optional marketplace/merchant filter
+     * @return list of arrays containing [status, count, totalAmount]
+     */
+    @Query("SELECT o.status, COUNT(o), COALESCE(SUM(o.totalAmount), 0) FROM Order o " +
+           STATISTICS_FILTER +
+           "GROUP BY o.status")
+    List<Object[]> aggregateByStatus(
+            @Param("startDateTime") LocalDateTime startDateTime,
+            @Param("endDateTime") LocalDateTime endDateTime,
+            @Param("withMarketplace") Boolean withMarketplace);
+
     /**
      * Count orders by date between a given date range
      * @param startDate start date (inclusive)
@@ -232,4 +134,140 @@ public interface OrderRepository extends JpaRepository<Order, Long>, JpaSpecific
     List<Object[]> countOrdersByDateBetween(
         @Param("startDate") LocalDate startDate, 
         @Param("endDate") LocalDate endDate);
+
+    /**
+     * Aggregate orders by delivery day and status, excluding the given statuses
+     * @param startDate first delivery date (inclusive)
+     * @param endDate last delivery date (inclusive)
+     * @param excludedStatuses statuses to leave out, e.g. terminal ones
+     * @return list of arrays containing [deliveryDate, status, orderCount, productQuantity]
+     */
+    @Query("SELECT o.deliveryDate, o.status, COUNT(DISTINCT o.id), COALESCE(SUM(op.quantity), 0) " +
+           "FROM Order o LEFT JOIN o.products op " +
+           "WHERE o.deliveryDate BETWEEN :startDate AND :endDate AND o.status NOT IN :excludedStatuses " +
+           "GROUP BY o.deliveryDate, o.status")
+    List<Object[]> aggregateByDeliveryDateAndStatus(
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate,
+        @Param("excludedStatuses") Collection<OrderStatus> excludedStatuses);
+
+    /**
+     * Order value percentiles per marketplace and order type plus an overall row, for orders created in [startDateTime, endDateTime)
+     * @return list of arrays containing [isOverall, marketplaceId, marketplaceName, orderType, count, min, max, average, p50, p90, p99]
+     */
+    @Query(value = "SELECT GROUPING(o.marketplace_id, m.name, o.order_type) = 7, o.marketplace_id, m.name, o.order_type, " +
+           "COUNT(*), MIN(o.total_amount), MAX(o.total_amount), AVG(o.total_amount), " +
+           "percentile_cont(0.5) WITHIN GROUP (ORDER BY o.total_amount), " +
+           "percentile_cont(0.9) WITHIN GROUP (ORDER BY o.total_amount), " +
+           "percentile_cont(0.99) WITHIN GROUP (ORDER BY o.total_amount) " +
+           "FROM orders o LEFT JOIN marketplaces m ON m.id = o.marketplace_id " +
+           "WHERE o.created_at >= :startDateTime AND o.created_at < :endDateTime " +
+           "AND (CAST(:marketplaceId AS BIGINT) IS NULL OR o.marketplace_id = :marketplaceId) " +
+           "GROUP BY GROUPING SETS ((), (o.marketplace_id, m.name, o.order_type))", nativeQuery = true)
+    List<Object[]> orderValuePercentiles(
+        @Param("startDateTime") LocalDateTime startDateTime,
+        @Param("endDateTime") LocalDateTime endDateTime,
+        @Param("marketplaceId") Long marketplaceId);
+
+    /**
+     * Order counts per equal-width value bucket in [0, upperBound] per marketplace and order type plus overall.
+     * Buckets are numbered 1 to bucketCount; the upper bound itself falls into the last bucket.
+     * @return list of arrays containing [isOverall, marketplaceId, orderType, bucket, count]
+     */
+    @Query(value = "SELECT GROUPING(b.marketplace_id, b.order_type) = 3, b.marketplace_id, b.order_type, b.bucket, COUNT(*) " +
+           "FROM (SELECT o.marketplace_id, o.order_type, " +
+           "      LEAST(width_bucket(o.total_amount, 0, :upperBound, :bucketCount), :bucketCount) AS bucket " +
+           "      FROM orders o " +
+           "      WHERE o.created_at >= :startDateTime AND o.created_at < :endDateTime " +
+           "      AND (CAST(:marketplaceId AS BIGINT) IS NULL OR o.marketplace_id = :marketplaceId)) b " +
+           "GROUP BY GROUPING SETS ((b.bucket), (b.marketplace_id, b.order_type, b.bucket))", nativeQuery = true)
+    List<Object[]> orderValueHistogram(
+        @Param("startDateTime") LocalDateTime startDateTime,
+        @Param("endDateTime") LocalDateTime endDateTime,
+        @Param("marketplaceId") Long marketplaceId,
+        @Param("upperBound") BigDecimal upperBound,
+        @Param("bucketCount") int bucketCount);
+
+    /**
+     * Weighted full-text vector of an order aliased o: order number and customer name (A),
+     * customer phones and style codes (B), delivery channel and fabric names (C), product descriptions (D).
+     * Must match the backfill in V21__add_order_search_vector.sql.
+     */
+    String SEARCH_VECTOR =
+           "setweight(to_tsvector('simple', COALESCE(o.order_number, '')), 'A') || " +
+           "COALESCE((SELECT setweight(to_tsvector('simple', COALESCE(c.name, '')), 'A') || " +
+           "                 setweight(to_tsvector('simple', COALESCE(c.phone, '') || ' ' || COALESCE(c.alternative_phone, '')), 'B') " +
+           "          FROM customers c WHERE c.id = o.customer_id), '') || " +
+           "setweight(to_tsvector('simple', COALESCE(o.delivery_channel, '')), 'C') || " +
+           "(SELECT setweight(to_tsvector('simple', COALESCE(string_agg(DISTINCT op.style_code, ' '), '')), 'B') || " +
+           "        setweight(to_tsvector('simple', COALESCE(string_agg(DISTINCT f.name, ' '), '')), 'C') || " +
+           "        setweight(to_tsvector('simple', COALESCE(string_agg(op.description, ' '), '')), 'D') " +
+           " FROM order_products op LEFT JOIN fabrics f ON f.id = op.fabric_id " +
+           " WHERE op.order_id = o.id) ";
+
+    /**
+     * Recompute the search vector of an order after it or its products changed
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE orders o SET search_vector = " + SEARCH_VECTOR + "WHERE o.id = :orderId", nativeQuery = true)
+    int refreshSearchVector(@Param("orderId") Long orderId);
+
+    /**
+     * Recompute the search vectors of a batch of orders with one statement, e.g. after a bulk import
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE orders o SET search_vector = " + SEARCH_VECTOR + "WHERE o.id IN (:orderIds)", nativeQuery = true)
+    int refreshSearchVectors(@Param("orderIds") Collection<Long> orderIds);
+
+    /**
+     * Status and rollup bucket of a batch of orders, locked until the end of the transaction so they
+     * cannot change between validating a bulk status change and applying it
+     * @return arrays containing [id, status, orderType, marketplaceId, createdById, createdAt, totalAmount]
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o.id, o.status, o.orderType, o.marketplace.id, o.createdBy.id, o.createdAt, o.totalAmount " +
+           "FROM Order o WHERE o.id IN :orderIds")
+    List<Object[]> findStatusStatesForUpdate(@Param("orderIds") Collection<Long> orderIds);
+
+    /**
+     * Set the status of a batch of orders with one statement
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Order o SET o.status = :status, o.updatedAt = :updatedAt WHERE o.id IN :orderIds")
+    int updateStatus(@Param("orderIds") Collection<Long> orderIds, @Param("status") OrderStatus status,
+                     @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * Recompute the search vectors of a customer's orders after the customer's name or phones changed
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE orders o SET search_vector = " + SEARCH_VECTOR + "WHERE o.customer_id = :customerId", nativeQuery = true)
+    int refreshSearchVectorsByCustomerId(@Param("customerId") Long customerId);
+
+    /**
+     * Recompute the search vectors of the orders containing a fabric after the fabric's name changed
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE orders o SET search_vector = " + SEARCH_VECTOR +
+           "WHERE o.id IN (SELECT op.order_id FROM order_products op WHERE op.fabric_id = :fabricId)", nativeQuery = true)
+    int refreshSearchVectorsByFabricId(@Param("fabricId") Long fabricId);
+
+    /**
+     * IDs of the orders matching a full-text query through the GIN index, best match first
+     * @param tsQuery query in to_tsquery('simple') syntax
+     * @param createdById optional creator restriction
+     * @return page of order IDs ordered by rank, then newest first
+     */
+    @Query(value = "SELECT o.id FROM orders o " +
+           "WHERE o.search_vector @@ to_tsquery('simple', :tsQuery) " +
+           "AND (CAST(:createdById AS BIGINT) IS NULL OR o.created_by = :createdById) " +
+           "ORDER BY ts_rank(o.search_vector, to_tsquery('simple', :tsQuery)) DESC, o.created_at DESC, o.id DESC",
+           countQuery = "SELECT COUNT(*) FROM orders o " +
+           "WHERE o.search_vector @@ to_tsquery('simple', :tsQuery) " +
+           "AND (CAST(:createdById AS BIGINT) IS NULL OR o.created_by = :createdById)",
+           nativeQuery = true)
+    Page<Long> searchOrderIds(
+        @Param("tsQuery") String tsQuery,
+        @Param("createdById") Long createdById,
+        Pageable pageable);
 }
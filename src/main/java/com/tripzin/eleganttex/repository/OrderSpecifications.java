@@ -0,0 +1,131 @@
+package com.tripzin.eleganttex.repository;
+
+import com.tripzin.eleganttex.entity.Order;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds order queries from an OrderFilter, emitting only the predicates of the criteria that are set,
+ * so each filter combination gets its own selective, index-friendly plan.
+ */
+public final class OrderSpecifications {
+
+    /**
+     * Escape character of the patterns built by containsPattern
+     */
+    static final char LIKE_ESCAPE = '\\';
+
+    private OrderSpecifications() {
+    }
+
+    /**
+     * Specification matching every criterion set in the filter
+     */
+    public static Specification<Order> matching(OrderFilter filter) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+
+            if (filter.orderType() != null) {
+                predicates.add(cb.equal(root.get("orderType"), filter.orderType()));
+            }
+            if (filter.status() != null) {
+                predicates.add(cb.equal(root.get("status"), filter.status()));
+            }
+            if (filter.deliveryStartDate() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("deliveryDate"), filter.deliveryStartDate()));
+            }
+            if (filter.deliveryEndDate() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("deliveryDate"), filter.deliveryEndDate()));
+            }
+            if (filter.createdStartDate() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("createdAt"), filter.createdStartDate().atStartOfDay()));
+            }
+            if (filter.createdEndDate() != null) {
+                predicates.add(cb.lessThan(root.get("createdAt"), filter.createdEndDate().plusDays(1).atStartOfDay()));
+            }
+            if (filter.directMerchant()) {
+                predicates.add(cb.isNull(root.get("marketplace")));
+            } else if (filter.marketplaceId() != null) {
+                predicates.add(cb.equal(root.get("marketplace").get("id"), filter.marketplaceId()));
+            }
+            if (filter.createdById() != null) {
+                predicates.add(cb.equal(root.get("createdBy").get("id"), filter.createdById()));
+            }
+            if (filter.updatedSince() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("updatedAt"), filter.updatedSince()));
+            }
+            if (filter.minAmount() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("totalAmount"), filter.minAmount()));
+            }
+            if (filter.maxAmount() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("totalAmount"), filter.maxAmount()));
+            }
+            if (hasText(filter.orderNumber())) {
+                predicates.add(containsIgnoreCase(cb, root.get("orderNumber"), filter.orderNumber()));
+            }
+            if (hasText(filter.deliveryChannel())) {
+                predicates.add(containsIgnoreCase(cb, root.get("deliveryChannel"), filter.deliveryChannel()));
+            }
+            if (hasText(filter.customerName())) {
+                predicates.add(containsIgnoreCase(cb, customerJoin(root).get("name"), filter.customerName()));
+            }
+
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    /**
+     * Orders after a keyset position in newest-first (createdAt, id) order.
+     * The redundant createdAt bound lets the (created_at, id) index start the scan at the position.
+     */
+    public static Specification<Order> createdBefore(LocalDateTime createdAt, Long id) {
+        return (root, query, cb) -> cb.and(
+                cb.lessThanOrEqualTo(root.get("createdAt"), createdAt),
+                cb.or(
+                        cb.lessThan(root.get("createdAt"), createdAt),
+                        cb.lessThan(root.get("id"), id)));
+    }
+
+    /**
+     * LOWER(expression) LIKE %value%, with LIKE wildcards in the value matched literally
+     */
+    private static Predicate containsIgnoreCase(CriteriaBuilder cb, Expression<String> expression, String value) {
+        return cb.like(cb.lower(expression), containsPattern(value), LIKE_ESCAPE);
+    }
+
+    /**
+     * %value% lower-cased, with LIKE wildcards in the value escaped by LIKE_ESCAPE so they match literally;
+     * shared with the native facet query so both count the same orders
+     */
+    static String containsPattern(String value) {
+        String escaped = value.trim().toLowerCase()
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+
+    /**
+     * The customer join already made by the enclosing query, or a new one
+     */
+    private static Join<Order, ?> customerJoin(Root<Order> root) {
+        for (Join<Order, ?> join : root.getJoins()) {
+            if (join.getAttribute().getName().equals("customer")) {
+                return join;
+            }
+        }
+        return root.join("customer");
+    }
+
+    static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+}
@@ -3,10 +3,17 @@ package com.tripzin.eleganttex.repository;
 import com.tripzin.eleganttex.entity.OrderStatusHistory;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface OrderStatusHistoryRepository extends JpaRepository<OrderStatusHistory, Long> {
@@ -16,5 +23,27 @@ public interface OrderStatusHistoryRepository extends JpaRepository<OrderStatusH
     @Query("SELECT osh FROM OrderStatusHistory osh LEFT JOIN FETCH osh.updatedBy WHERE osh.order.id = :orderId ORDER BY osh.timestamp DESC")
     List<OrderStatusHistory> findByOrderIdWithUserOrderByTimestampDesc(@Param("orderId") Long orderId);
     
+    @Query("SELECT osh FROM OrderStatusHistory osh LEFT JOIN FETCH osh.updatedBy WHERE osh.order.id IN :orderIds ORDER BY osh.timestamp DESC")
+    List<OrderStatusHistory> findByOrderIdInWithUserOrderByTimestampDesc(@Param("orderIds") Collection<Long> orderIds);
+    
     void deleteByOrderId(Long orderId);
+    
+    /**
+     * Stream status transitions of the orders created in a range, ordered by order and time,
+     * as scalar rows so no entities are loaded. Must be consumed inside a transaction and closed.
+     * @param startDateTime order creation start (inclusive)
+     * @param endDateTime order creation end (exclusive)
+     * @param marketplaceId optional marketplace filter
+     * @return stream of arrays containing [orderId, status, timestamp, marketplaceId, orderCreatedAt]
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT o.id, osh.status, osh.timestamp, m.id, o.createdAt " +
+           "FROM OrderStatusHistory osh JOIN osh.order o LEFT JOIN o.marketplace m " +
+           "WHERE o.createdAt >= :startDateTime AND o.createdAt < :endDateTime " +
+           "AND (:marketplaceId IS NULL OR m.id = :marketplaceId) " +
+           "ORDER BY o.id, osh.timestamp, osh.id")
+    Stream<Object[]> streamTransitions(
+            @Param("startDateTime") LocalDateTime startDateTime,
+            @Param("endDateTime") LocalDateTime endDateTime,
+            @Param("marketplaceId") Long marketplaceId);
 }
@@ -0,0 +1,19 @@
+package com.tripzin.eleganttex.repository;
+
+import com.tripzin.eleganttex.entity.Order;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.stream.Stream;
+
+/**
+ * Order queries read through a database cursor instead of being materialized as a list
+ */
+public interface OrderStreamRepository {
+
+    /**
+     * Stream the orders matching a specification, fetching fetchSize rows per round trip.
+     * Must be called and consumed inside a transaction, and the stream closed afterwards.
+     */
+    Stream<Order> streamAll(Specification<Order> specification, Sort sort, int fetchSize);
+}
@@ -0,0 +1,26 @@
+package com.tripzin.eleganttex.repository;
+
+import com.tripzin.eleganttex.dto.response.OrderSummaryResponse;
+import com.tripzin.eleganttex.entity.Order;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Order list queries projecting straight into OrderSummaryResponse, one query per page
+ */
+public interface OrderSummaryRepository {
+
+    /**
+     * Find a page of order summaries; the count query only runs when the page size does not settle the total
+     */
+    Page<OrderSummaryResponse> findSummaries(Specification<Order> specification, Pageable pageable);
+
+    /**
+     * Find the first order summaries in the given order
+     */
+    List<OrderSummaryResponse> findSummaries(Specification<Order> specification, Sort sort, int limit);
+}
@@ -0,0 +1,92 @@
+package com.tripzin.eleganttex.repository;
+
+import com.tripzin.eleganttex.dto.response.OrderSummaryResponse;
+import com.tripzin.eleganttex.entity.Customer;
+import com.tripzin.eleganttex.entity.Marketplace;
+import com.tripzin.eleganttex.entity.Order;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.List;
+
+public class OrderSummaryRepositoryImpl implements OrderSummaryRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<OrderSummaryResponse> findSummaries(Specification<Order> specification, Pageable pageable) {
+        TypedQuery<OrderSummaryResponse> query = createSummaryQuery(specification, pageable.getSort());
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        return PageableExecutionUtils.getPage(query.getResultList(), pageable, () -> count(specification));
+    }
+
+    @Override
+    public List<OrderSummaryResponse> findSummaries(Specification<Order> specification, Sort sort, int limit) {
+        return createSummaryQuery(specification, sort)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    private TypedQuery<OrderSummaryResponse> createSummaryQuery(Specification<Order> specification, Sort sort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<OrderSummaryResponse> query = cb.createQuery(OrderSummaryResponse.class);
+        Root<Order> root = query.from(Order.class);
+        // Joined before applying the specification so its customer name filter reuses the join
+        Join<Order, Customer> customer = root.join("customer");
+        Join<Order, Marketplace> marketplace = root.join("marketplace", JoinType.LEFT);
+
+        query.select(cb.construct(OrderSummaryResponse.class,
+                root.get("id"),
+                root.get("orderNumber"),
+                root.get("orderType"),
+                root.get("status"),
+                customer.get("id"),
+                customer.get("name"),
+                customer.get("phone"),
+                marketplace.get("id"),
+                marketplace.get("name"),
+                root.get("deliveryChannel"),
+                root.get("deliveryCharge"),
+                root.get("totalAmount"),
+                root.get("deliveryDate"),
+                root.get("createdAt"),
+                root.get("updatedAt")));
+        Predicate predicate = specification.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        if (sort.isSorted()) {
+            query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        }
+        return entityManager.createQuery(query);
+    }
+
+    private long count(Specification<Order> specification) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Order> root = query.from(Order.class);
+        query.select(cb.count(root));
+        Predicate predicate = specification.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return entityManager.createQuery(query).getSingleResult();
+    }
+}
@@ -15,6 +15,7 @@ import com.tripzin.eleganttex.repository.AddressRepository;
 import com.tripzin.eleganttex.repository.CustomerRepository;
 import com.tripzin.eleganttex.repository.DivisionRepository;
 import com.tripzin.eleganttex.repository.DistrictRepository;
+import com.tripzin.eleganttex.repository.OrderRepository;
 import com.tripzin.eleganttex.repository.UpazilaRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -23,6 +24,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Objects;
 import java.util.Optional;
 
 @Service
@@ -31,6 +33,7 @@ import java.util.Optional;
 public class CustomerServiceImpl implements CustomerService {
 
     private final CustomerRepository customerRepository;
+    private final OrderRepository orderRepository;
     private final AddressRepository addressRepository;
     private final DivisionRepository divisionRepository;
     private final DistrictRepository districtRepository;
@@ -91,6 +94,11 @@ public class CustomerServiceImpl implements CustomerService {
         // Update or create address
         Address address = createAddressFromRequest(customerRequest);
         
+        // Orders are searched by customer name and phones
+        boolean searchFieldsChanged = !Objects.equals(customer.getName(), customerRequest.getName())
+                || !Objects.equals(customer.getPhone(), customerRequest.getPhone())
+                || !Objects.equals(customer.getAlternativePhone(), customerRequest.getAlternativePhone());
+        
         // Update customer fields
         customer.setName(customerRequest.getName());
         customer.setPhone(customerRequest.getPhone());
@@ -99,6 +107,9 @@ public class CustomerServiceImpl implements CustomerService {
         customer.setFacebookId(customerRequest.getFacebookId());
         
         Customer updatedCustomer = customerRepository.save(customer);
+        if (searchFieldsChanged) {
+            orderRepository.refreshSearchVectorsByCustomerId(updatedCustomer.getId());
+        }
         log.info("Updated customer with ID: {}", updatedCustomer.getId());
         
         return mapCustomerToResponse(updatedCustomer);
@@ -9,14 +9,17 @@ import com.tripzin.eleganttex.exception.BadRequestException;
 import com.tripzin.eleganttex.exception.ResourceNotFoundException;
 import com.tripzin.eleganttex.repository.FabricRepository;
 import com.tripzin.eleganttex.repository.OrderProductRepository;
+import com.tripzin.eleganttex.repository.OrderRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
+import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -27,8 +30,10 @@ public class FabricService {
     
     private final FabricRepository fabricRepository;
     private final OrderProductRepository orderProductRepository;
+    private final OrderRepository orderRepository;
     private final TagService tagService;
     private final FileStorageService fileStorageService;
+    private final ApplicationEventPublisher eventPublisher;
     
     public Page<FabricResponse> getAllFabrics(Pageable pageable) {
         return fabricRepository.findAll(pageable)
@@ -118,6 +123,7 @@ public class FabricService {
         Long newImageId = request.getImageId();
         boolean imageChanged = (oldImageId != null && !oldImageId.equals(newImageId)) || 
                               (oldImageId == null && newImageId != null);
+        boolean nameChanged = !Objects.equals(fabric.getName(), request.getName());
         
         fabric.setName(request.getName());
         fabric.setFabricCode(request.getFabricCode());
@@ -133,6 +139,12 @@ public class FabricService {
         }
         
         Fabric updatedFabric = fabricRepository.save(fabric);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(Fabric.class));
+        
+        // Orders are searched by fabric name
+        if (nameChanged) {
+            orderRepository.refreshSearchVectorsByFabricId(updatedFabric.getId());
+        }
         
         // Try to delete the old image if it was changed and is not referenced elsewhere
         if (imageChanged && oldImageId != null) {
@@ -163,6 +175,7 @@ public class FabricService {
         
         // First delete the fabric to remove the reference to the image
         fabricRepository.delete(fabric);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(Fabric.class));
         
         // Then try to delete the associated image if it exists
         if (imageId != null) {
@@ -201,6 +214,7 @@ public class FabricService {
         Fabric fabric = findFabricById(id);
         fabric.setActive(!fabric.getActive());
         Fabric updatedFabric = fabricRepository.save(fabric);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(Fabric.class));
         return FabricResponse.fromEntity(updatedFabric);
     }
     
@@ -0,0 +1,8 @@
+package com.tripzin.eleganttex.service;
+
+/**
+ * Published inside the writing transaction whenever an existing order's status or product lines
+ * change or the order is deleted, for in-memory views that are rebuilt per order after commit.
+ */
+public record OrderChangedEvent(Long orderId) {
+}
@@ -0,0 +1,51 @@
+package com.tripzin.eleganttex.service;
+
+import com.tripzin.eleganttex.entity.Order;
+import com.tripzin.eleganttex.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Keyset position in the newest-first (createdAt, id) order of orders, exchanged with clients
+ * as an opaque URL-safe token
+ */
+public record OrderCursor(LocalDateTime createdAt, Long id) {
+
+    private static final String SEPARATOR = "|";
+
+    public static OrderCursor of(Order order) {
+        return new OrderCursor(order.getCreatedAt(), order.getId());
+    }
+
+    /**
+     * Decode a cursor token
+     * @param token token from a previous response
+     * @return decoded cursor
+     * @throws BadRequestException if the token is malformed
+     */
+    public static OrderCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            throw new BadRequestException("Invalid cursor");
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = value.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new BadRequestException("Invalid cursor");
+            }
+            return new OrderCursor(
+                    LocalDateTime.parse(value.substring(0, separator)),
+                    Long.valueOf(value.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+
+    public String encode() {
+        String value = createdAt + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,52 @@
+package com.tripzin.eleganttex.service;
+
+import com.tripzin.eleganttex.entity.Order;
+import com.tripzin.eleganttex.repository.OrderRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Assigns new orders their ID and final order number before they are first saved, so an order
+ * is written with one INSERT instead of an INSERT followed by order number UPDATEs.
+ * IDs are reserved from orders_id_seq in blocks, the way Hibernate's pooled optimizer does:
+ * each nextval is the highest ID of a block of ALLOCATION_SIZE IDs, so most orders need no
+ * round trip and blocks never overlap across instances.
+ */
+@Component
+@RequiredArgsConstructor
+public class OrderNumberAllocator {
+
+    /**
+     * Must match the INCREMENT BY of orders_id_seq, see V23__pooled_order_id_sequences.sql
+     */
+    private static final int ALLOCATION_SIZE = 50;
+
+    private final OrderRepository orderRepository;
+
+    private long nextId;
+    private long highId = -1;
+
+    /**
+     * Give a new order its ID and its ET-&lt;fabric code&gt;-&lt;style code&gt;-&lt;id&gt; number
+     * @param order the unsaved order
+     * @param fabricCode fabric code of the order's first product
+     * @param styleCode style code of the order's first product
+     * @throws IllegalArgumentException if either code is missing
+     */
+    public void assign(Order order, String fabricCode, String styleCode) {
+        if (fabricCode == null || fabricCode.isEmpty() || styleCode == null || styleCode.isEmpty()) {
+            throw new IllegalArgumentException("Fabric code and style code are mandatory for order number generation");
+        }
+        long id = reserveId();
+        order.setId(id);
+        order.setOrderNumber(String.format("ET-%s-%s-%d", fabricCode, styleCode, id));
+    }
+
+    private synchronized long reserveId() {
+        if (nextId > highId) {
+            highId = orderRepository.reserveIdBlock();
+            nextId = highId - ALLOCATION_SIZE + 1;
+        }
+        return nextId++;
+    }
+}
@@ -0,0 +1,40 @@
+package com.tripzin.eleganttex.service;
+
+import com.tripzin.eleganttex.entity.OrderProduct;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Published inside the writing transaction whenever an order product line is added (+quantity)
+ * or removed (-quantity), carrying what demand analytics group by.
+ */
+public record OrderProductDemandEvent(LocalDate day,
+                                      Long fabricId, String fabricCode, String fabricName,
+                                      Long productTypeId, String productTypeName,
+                                      String styleCode,
+                                      long quantity, BigDecimal revenue) {
+
+    /**
+     * Capture a product line, signed +1 when added and -1 when removed
+     */
+    public static OrderProductDemandEvent of(OrderProduct product, int sign) {
+        LocalDate day = product.getOrder().getCreatedAt() != null
+                ? product.getOrder().getCreatedAt().toLocalDate()
+                : LocalDate.now();
+        long quantity = product.getQuantity() != null ? product.getQuantity() : 0;
+        BigDecimal revenue = product.getPrice() != null
+                ? product.getPrice().multiply(BigDecimal.valueOf(quantity))
+                : BigDecimal.ZERO;
+        return new OrderProductDemandEvent(
+                day,
+                product.getFabric().getId(),
+                product.getFabric().getFabricCode(),
+                product.getFabric().getName(),
+                product.getProductType().getId(),
+                product.getProductType().getName(),
+                product.getStyleCode(),
+                sign * quantity,
+                sign < 0 ? revenue.negate() : revenue);
+    }
+}
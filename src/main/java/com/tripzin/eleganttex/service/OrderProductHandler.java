@@ -8,16 +8,16 @@ import com.tripzin.eleganttex.entity.OrderProduct;
 import com.tripzin.eleganttex.entity.OrderProductImage;
 import com.tripzin.eleganttex.entity.ProductType;
 import com.tripzin.eleganttex.exception.ResourceNotFoundException;
-import com.tripzin.eleganttex.repository.FabricRepository;
 import com.tripzin.eleganttex.repository.FileStorageRepository;
 import com.tripzin.eleganttex.repository.OrderProductImageRepository;
 import com.tripzin.eleganttex.repository.OrderProductRepository;
-import com.tripzin.eleganttex.repository.ProductTypeRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -34,10 +34,10 @@ public class OrderProductHandler {
 
     private final OrderProductRepository orderProductRepository;
     private final OrderProductImageRepository orderProductImageRepository;
-    private final FabricRepository fabricRepository;
-    private final ProductTypeRepository productTypeRepository;
+    private final ReferenceDataCache referenceDataCache;
     private final FileStorageRepository fileStorageRepository;
     private final FileStorageService fileStorageService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Create a new order product from a request
@@ -47,11 +47,8 @@ public class OrderProductHandler {
      * @return The created order product
      */
     public OrderProduct createOrderProduct(OrderProductRequest productRequest, Order order, List<MultipartFile> files) {
-        Fabric fabric = fabricRepository.findById(productRequest.getFabricId())
-                .orElseThrow(() -> new ResourceNotFoundException("Fabric not found with ID: " + productRequest.getFabricId()));
-        
-        ProductType productType = productTypeRepository.findById(productRequest.getProductTypeId())
-                .orElseThrow(() -> new ResourceNotFoundException("Product type not found with ID: " + productRequest.getProductTypeId()));
+        Fabric fabric = referenceDataCache.getFabric(productRequest.getFabricId());
+        ProductType productType = referenceDataCache.getProductType(productRequest.getProductTypeId());
         
         OrderProduct product = OrderProduct.builder()
                 .order(order)
@@ -64,6 +61,7 @@ public class OrderProductHandler {
                 .build();
         
         OrderProduct savedProduct = orderProductRepository.save(product);
+        publishDemandChange(savedProduct, 1);
         
         // Handle existing images
         handleExistingImages(savedProduct, productRequest.getImageIds());
@@ -82,12 +80,10 @@ public class OrderProductHandler {
      * @return The updated order product
      */
     public OrderProduct updateOrderProduct(OrderProduct existingProduct, OrderProductRequest productRequest, List<MultipartFile> files) {
-        Fabric fabric = fabricRepository.findById(productRequest.getFabricId())
-                .orElseThrow(() -> new ResourceNotFoundException("Fabric not found with ID: " + productRequest.getFabricId()));
-        
-        ProductType productType = productTypeRepository.findById(productRequest.getProductTypeId())
-                .orElseThrow(() -> new ResourceNotFoundException("Product type not found with ID: " + productRequest.getProductTypeId()));
+        Fabric fabric = referenceDataCache.getFabric(productRequest.getFabricId());
+        ProductType productType = referenceDataCache.getProductType(productRequest.getProductTypeId());
         
+        OrderProductDemandEvent removed = OrderProductDemandEvent.of(existingProduct, -1);
         existingProduct.setProductType(productType);
         existingProduct.setFabric(fabric);
         existingProduct.setQuantity(productRequest.getQuantity());
@@ -96,6 +92,8 @@ public class OrderProductHandler {
         existingProduct.setStyleCode(productRequest.getStyleCode());
         
         OrderProduct savedProduct = orderProductRepository.save(existingProduct);
+        eventPublisher.publishEvent(removed);
+        publishDemandChange(savedProduct, 1);
         
         // Get existing images
         List<OrderProductImage> existingImages = orderProductImageRepository.findByOrderProductId(savedProduct.getId());
@@ -107,30 +105,16 @@ public class OrderProductHandler {
         // Track images to keep
         Set<Long> imagesToKeep = new HashSet<>();
         
-        // Handle existing images
-        if (productRequest.getImageIds() != null && !productRequest.getImageIds().isEmpty()) {
+        // Keep images already attached to this product, attach the others
+        List<Long> addedImageIds = new ArrayList<>();
+        if (productRequest.getImageIds() != null) {
             for (Long imageId : productRequest.getImageIds()) {
-                // Check if image already exists for this product
-                if (existingImageMap.containsKey(imageId)) {
-                    // Keep existing image
-                    imagesToKeep.add(imageId);
-                } else {
-                    // Verify image exists
-                    fileStorageRepository.findById(imageId)
-                            .orElseThrow(() -> new ResourceNotFoundException("Image not found with ID: " + imageId));
-                    
-                    // Create new image reference
-                    OrderProductImage image = OrderProductImage.builder()
-                            .orderProduct(savedProduct)
-                            .imageId(imageId)
-                            .imageUrl("/files/" + imageId)
-                            .build();
-                    
-                    orderProductImageRepository.save(image);
-                    imagesToKeep.add(imageId);
+                if (imagesToKeep.add(imageId) && !existingImageMap.containsKey(imageId)) {
+                    addedImageIds.add(imageId);
                 }
             }
         }
+        handleExistingImages(savedProduct, addedImageIds);
         
         // Remove images that are no longer needed
         for (OrderProductImage existingImage : existingImages) {
@@ -158,10 +142,20 @@ public class OrderProductHandler {
         
         // Then delete the product
         orderProductRepository.delete(product);
+        publishDemandChange(product, -1);
         
         log.info("Deleted product with ID: {}", product.getId());
     }
     
+    /**
+     * Publish a product line being added to (+1) or removed from (-1) demand analytics
+     * @param product The product
+     * @param sign 1 when added, -1 when removed
+     */
+    public void publishDemandChange(OrderProduct product, int sign) {
+        eventPublisher.publishEvent(OrderProductDemandEvent.of(product, sign));
+    }
+    
     /**
      * Handle existing images for a product
      * @param product The product
@@ -169,19 +163,24 @@ public class OrderProductHandler {
      */
     private void handleExistingImages(OrderProduct product, List<Long> imageIds) {
         if (imageIds != null && !imageIds.isEmpty()) {
+            // Verify all images exist with one query
+            Set<Long> foundIds = new HashSet<>();
+            fileStorageRepository.findAllById(imageIds).forEach(file -> foundIds.add(file.getId()));
             for (Long imageId : imageIds) {
-                // Verify image exists
-                fileStorageRepository.findById(imageId)
-                        .orElseThrow(() -> new ResourceNotFoundException("Image not found with ID: " + imageId));
-                
-                OrderProductImage image = OrderProductImage.builder()
+                if (!foundIds.contains(imageId)) {
+                    throw new ResourceNotFoundException("Image not found with ID: " + imageId);
+                }
+            }
+            
+            List<OrderProductImage> images = new ArrayList<>(imageIds.size());
+            for (Long imageId : imageIds) {
+                images.add(OrderProductImage.builder()
                         .orderProduct(product)
                         .imageId(imageId)
                         .imageUrl("/files/" + imageId)
-                        .build();
-                
-                orderProductImageRepository.save(image);
+                        .build());
             }
+            orderProductImageRepository.saveAll(images);
         }
     }
     
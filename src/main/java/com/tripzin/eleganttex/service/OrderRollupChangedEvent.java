@@ -0,0 +1,24 @@
+package com.tripzin.eleganttex.service;
+
+import java.time.LocalDate;
+
+/**
+ * Published inside the writing transaction whenever daily rollup buckets change.
+ * A write delta carries the affected bucket and the count change (+1 or -1);
+ * a rebuild carries only the recomputed day range.
+ */
+public record OrderRollupChangedEvent(LocalDate startDay, LocalDate endDay,
+                                      OrderRollupService.OrderSnapshot snapshot, int countDelta) {
+
+    public static OrderRollupChangedEvent delta(OrderRollupService.OrderSnapshot snapshot, int countDelta) {
+        return new OrderRollupChangedEvent(snapshot.day(), snapshot.day(), snapshot, countDelta);
+    }
+
+    public static OrderRollupChangedEvent rebuilt(LocalDate startDay, LocalDate endDay) {
+        return new OrderRollupChangedEvent(startDay, endDay, null, 0);
+    }
+
+    public boolean isRebuild() {
+        return snapshot == null;
+    }
+}
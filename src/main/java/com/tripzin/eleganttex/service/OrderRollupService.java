@@ -0,0 +1,198 @@
+package com.tripzin.eleganttex.service;
+
+import com.tripzin.eleganttex.entity.Order;
+import com.tripzin.eleganttex.entity.OrderStatus;
+import com.tripzin.eleganttex.entity.OrderType;
+import com.tripzin.eleganttex.repository.OrderDailyRollupRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service for maintaining the daily order rollup used by the statistics endpoints.
+ * Write hooks must be called inside the transaction that changes the order so the
+ * rollup commits (or rolls back) together with it. Every change is also published as an
+ * {@link OrderRollupChangedEvent} for listeners that act after commit.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OrderRollupService {
+
+    /**
+     * Number of days recomputed per transaction when rebuilding
+     */
+    private static final int REBUILD_BATCH_DAYS = 31;
+
+    private final OrderDailyRollupRepository rollupRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * The rollup bucket an order contributes to, together with its amount
+     */
+    public record OrderSnapshot(LocalDate day, OrderType orderType, Long marketplaceId, Long createdById,
+                                OrderStatus status, BigDecimal totalAmount) {
+    }
+
+    /**
+     * Capture the rollup-relevant state of an order, e.g. before it is modified
+     */
+    public OrderSnapshot snapshot(Order order) {
+        return snapshot(
+                order.getCreatedAt(),
+                order.getOrderType(),
+                order.getMarketplace() != null ? order.getMarketplace().getId() : null,
+                order.getCreatedBy().getId(),
+                order.getStatus(),
+                order.getTotalAmount());
+    }
+
+    /**
+     * Capture the rollup-relevant state of an order from its column values, e.g. read by a scalar query
+     */
+    public OrderSnapshot snapshot(LocalDateTime createdAt, OrderType orderType, Long marketplaceId, Long createdById,
+                                  OrderStatus status, BigDecimal totalAmount) {
+        return new OrderSnapshot(
+                createdAt != null ? createdAt.toLocalDate() : LocalDate.now(),
+                orderType,
+                marketplaceId,
+                createdById,
+                status,
+                totalAmount.setScale(2, RoundingMode.HALF_UP));
+    }
+
+    /**
+     * Add a newly created order to the rollup
+     */
+    public void recordCreated(Order order) {
+        apply(snapshot(order), 1);
+    }
+
+    /**
+     * Add a batch of newly created orders to the rollup with one upsert per bucket instead of one per order
+     */
+    public void recordCreated(Collection<Order> orders) {
+        applyAll(orders.stream().map(this::snapshot).toList(), 1);
+    }
+
+    /**
+     * Move an order from its previous bucket to its current one, if anything relevant changed
+     */
+    public void recordChanged(OrderSnapshot before, Order after) {
+        OrderSnapshot current = snapshot(after);
+        if (current.equals(before)) {
+            return;
+        }
+        apply(before, -1);
+        apply(current, 1);
+    }
+
+    /**
+     * Move a batch of orders to a new status with one upsert per bucket instead of two per order
+     * @param before snapshots of the orders taken before their status was changed
+     * @param status the status all of them now have
+     */
+    public void recordStatusChanged(Collection<OrderSnapshot> before, OrderStatus status) {
+        List<OrderSnapshot> moved = before.stream()
+                .filter(snapshot -> snapshot.status() != status)
+                .toList();
+        applyAll(moved, -1);
+        applyAll(moved.stream()
+                .map(snapshot -> new OrderSnapshot(snapshot.day(), snapshot.orderType(), snapshot.marketplaceId(),
+                        snapshot.createdById(), status, snapshot.totalAmount()))
+                .toList(), 1);
+    }
+
+    /**
+     * Remove a deleted order from the rollup
+     */
+    public void recordDeleted(OrderSnapshot before) {
+        apply(before, -1);
+    }
+
+    /**
+     * Recompute the rollup from the orders table for the given creation date range.
+     * Each batch of days is replaced in its own transaction so large backfills do not
+     * hold locks on the whole table.
+     * @param startDate first day to rebuild, defaults to the day of the earliest order
+     * @param endDate last day to rebuild (inclusive), defaults to today
+     * @return number of rollup rows written
+     */
+    public int rebuild(LocalDate startDate, LocalDate endDate) {
+        LocalDate from = startDate != null ? startDate : rollupRepository.findEarliestOrderDate();
+        LocalDate to = endDate != null ? endDate : LocalDate.now();
+        if (from == null) {
+            log.info("No orders found, nothing to rebuild");
+            return 0;
+        }
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("Start date must not be after end date");
+        }
+
+        log.info("Rebuilding order rollup from {} to {}", from, to);
+        int rowsWritten = 0;
+        LocalDate batchStart = from;
+        while (!batchStart.isAfter(to)) {
+            LocalDate batchEnd = batchStart.plusDays(REBUILD_BATCH_DAYS - 1L);
+            if (batchEnd.isAfter(to)) {
+                batchEnd = to;
+            }
+            LocalDate start = batchStart;
+            LocalDate end = batchEnd;
+            Integer rows = transactionTemplate.execute(status -> {
+                rollupRepository.deleteByDayBetween(start, end);
+                eventPublisher.publishEvent(OrderRollupChangedEvent.rebuilt(start, end));
+                return rollupRepository.insertFromOrders(start.atStartOfDay(), end.plusDays(1).atStartOfDay());
+            });
+            rowsWritten += rows != null ? rows : 0;
+            log.debug("Rebuilt order rollup from {} to {}: {} rows", start, end, rows);
+            batchStart = batchEnd.plusDays(1);
+        }
+        log.info("Rebuilt order rollup from {} to {}: {} rows", from, to, rowsWritten);
+        return rowsWritten;
+    }
+
+    /**
+     * Add (sign 1) or remove (sign -1) a batch of orders, summed per bucket
+     */
+    private void applyAll(Collection<OrderSnapshot> snapshots, int sign) {
+        Map<OrderSnapshot, Integer> counts = new LinkedHashMap<>();
+        Map<OrderSnapshot, BigDecimal> amounts = new HashMap<>();
+        for (OrderSnapshot snapshot : snapshots) {
+            OrderSnapshot bucket = new OrderSnapshot(snapshot.day(), snapshot.orderType(), snapshot.marketplaceId(),
+                    snapshot.createdById(), snapshot.status(), BigDecimal.ZERO);
+            counts.merge(bucket, 1, Integer::sum);
+            amounts.merge(bucket, snapshot.totalAmount(), BigDecimal::add);
+        }
+        counts.forEach((bucket, count) -> apply(new OrderSnapshot(bucket.day(), bucket.orderType(),
+                bucket.marketplaceId(), bucket.createdById(), bucket.status(), amounts.get(bucket)), sign * count));
+    }
+
+    /**
+     * Add countDelta orders with the snapshot's total amount to its bucket, or remove them if negative
+     */
+    private void apply(OrderSnapshot snapshot, int countDelta) {
+        rollupRepository.upsert(
+                snapshot.day(),
+                snapshot.orderType().name(),
+                snapshot.marketplaceId(),
+                snapshot.createdById(),
+                snapshot.status().name(),
+                countDelta,
+                countDelta < 0 ? snapshot.totalAmount().negate() : snapshot.totalAmount());
+        eventPublisher.publishEvent(OrderRollupChangedEvent.delta(snapshot, countDelta));
+    }
+}
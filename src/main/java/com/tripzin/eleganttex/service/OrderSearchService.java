@@ -1,10 +1,16 @@
 package com.tripzin.eleganttex.service;
 
+import com.tripzin.eleganttex.dto.request.OrderFilterRequest;
+import com.tripzin.eleganttex.dto.response.CursorPageResponse;
+import com.tripzin.eleganttex.dto.response.OrderFacetsResponse;
 import com.tripzin.eleganttex.dto.response.OrderResponse;
+import com.tripzin.eleganttex.dto.response.OrderSummaryResponse;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -61,41 +67,63 @@ public interface OrderSearchService {
     
     /**
      * Get orders by multiple filters
-     * @param orderType order type (MARKETPLACE or MERCHANT)
-     * @param status order status
-     * @param startDate delivery start date (inclusive)
-     * @param endDate delivery end date (inclusive)
-     * @param createdStartDate created start date (inclusive)
-     * @param createdEndDate created end date (inclusive)
-     * @param marketplaceId marketplace ID
-     * @param isDirectMerchant filter for direct merchant orders
-     * @param customerName customer name
-     * @param orderNumber order number
-     * @param deliveryChannel delivery channel
-     * @param minAmount minimum total amount
-     * @param maxAmount maximum total amount
+     * @param filter filter criteria; criteria left null are not filtered on
      * @param currentUserId ID of the current user
      * @param hasReadAllPermission whether the user has permission to view all orders
      * @param pageable pagination information
      * @return page of order responses
      */
-    Page<OrderResponse> getOrdersByFilters(
-            String orderType,
-            String status, 
-            LocalDate startDate, 
-            LocalDate endDate, 
-            LocalDate createdStartDate,
-            LocalDate createdEndDate,
-            Long marketplaceId, 
-            Boolean isDirectMerchant,
-            String customerName,
-            String orderNumber,
-            String deliveryChannel,
-            Double minAmount,
-            Double maxAmount,
-            Long currentUserId,
-            boolean hasReadAllPermission,
-            Pageable pageable);
+    Page<OrderResponse> getOrdersByFilters(OrderFilterRequest filter, Long currentUserId, boolean hasReadAllPermission, Pageable pageable);
+    
+    /**
+     * Scroll through orders matching multiple filters, newest first, using keyset pagination.
+     * Takes the same filters as getOrdersByFilters; no total count is computed.
+     * @param cursor cursor returned with the previous slice, null for the first slice
+     * @param size maximum number of orders in the slice
+     * @return slice of order responses with the cursor of the next slice
+     */
+    CursorPageResponse<OrderResponse> scrollOrdersByFilters(OrderFilterRequest filter, Long currentUserId, boolean hasReadAllPermission, String cursor, int size);
+    
+    /**
+     * Get order summaries by multiple filters, projected by query without loading the orders.
+     * Takes the same filters as getOrdersByFilters.
+     * @return page of order summaries
+     */
+    Page<OrderSummaryResponse> getOrderSummariesByFilters(OrderFilterRequest filter, Long currentUserId, boolean hasReadAllPermission, Pageable pageable);
+    
+    /**
+     * Scroll through order summaries by multiple filters, newest first, using keyset pagination.
+     * Takes the same filters as getOrdersByFilters.
+     * @return slice of order summaries with the cursor of the next slice
+     */
+    CursorPageResponse<OrderSummaryResponse> scrollOrderSummariesByFilters(OrderFilterRequest filter, Long currentUserId, boolean hasReadAllPermission, String cursor, int size);
+    
+    /**
+     * Count the orders matching multiple filters per status, marketplace and/or order type in one query.
+     * Takes the same filters as getOrdersByFilters.
+     * @param facets comma separated facet names: status, marketplace, orderType
+     * @return counts per facet value; facets that were not requested are null
+     */
+    OrderFacetsResponse getOrderFacetsByFilters(OrderFilterRequest filter, String facets, Long currentUserId, boolean hasReadAllPermission);
+    
+    /**
+     * Stream every order matching multiple filters as newline-delimited JSON, oldest change first.
+     * Takes the same filters as getOrdersByFilters; the query runs when the body is written.
+     * @param updatedSince optional lower bound (inclusive) on the last change of the orders, for incremental sync
+     * @return response body writing one order response per line
+     */
+    StreamingResponseBody exportOrdersByFilters(OrderFilterRequest filter, LocalDateTime updatedSince, Long currentUserId, boolean hasReadAllPermission);
+    
+    /**
+     * Full-text search over order number, customer name and phones, delivery channel, product
+     * descriptions, fabric names and style codes; every word matches as a prefix.
+     * @param query search words
+     * @param currentUserId ID of the current user
+     * @param hasReadAllPermission whether the user has permission to view all orders
+     * @param pageable pagination information, its sort is ignored in favour of relevance
+     * @return page of order summaries, best match first
+     */
+    Page<OrderSummaryResponse> searchOrders(String query, Long currentUserId, boolean hasReadAllPermission, Pageable pageable);
     
     /**
      * Find orders with similar products based on product type, fabric, and description
@@ -1,7 +1,25 @@
 package com.tripzin.eleganttex.service;
 
+import com.tripzin.eleganttex.dto.request.OrderFilterRequest;
 import com.tripzin.eleganttex.dto.request.OrderRequest;
+import com.tripzin.eleganttex.dto.response.BulkOrderStatusResponse;
+import com.tripzin.eleganttex.dto.response.CursorPageResponse;
+import com.tripzin.eleganttex.dto.response.DailyOrderCountAmountResponse;
+import com.tripzin.eleganttex.dto.response.DailyOrderCountResponse;
+import com.tripzin.eleganttex.dto.response.DashboardStatisticsResponse;
+import com.tripzin.eleganttex.dto.response.DeliveryCalendarResponse;
+import com.tripzin.eleganttex.dto.response.MarketplaceOrderStatisticsResponse;
+import com.tripzin.eleganttex.dto.response.OrderFacetsResponse;
+import com.tripzin.eleganttex.dto.response.OrderFunnelResponse;
+import com.tripzin.eleganttex.dto.response.OrderImportResponse;
 import com.tripzin.eleganttex.dto.response.OrderResponse;
+import com.tripzin.eleganttex.dto.response.OrderStatisticsSummaryResponse;
+import com.tripzin.eleganttex.dto.response.OrderStatusCountResponse;
+import com.tripzin.eleganttex.dto.response.OrderSummaryResponse;
+import com.tripzin.eleganttex.dto.response.OrderValueDistributionResponse;
+import com.tripzin.eleganttex.dto.response.ProductDemandResponse;
+import com.tripzin.eleganttex.dto.response.SalesDataResponse;
+import com.tripzin.eleganttex.dto.response.UserOrderStatisticsResponse;
 import com.tripzin.eleganttex.entity.OrderStatus;
 import com.tripzin.eleganttex.entity.OrderType;
 
@@ -10,16 +28,19 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import jakarta.servlet.http.HttpServletRequest;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Map;
 
 public interface OrderService {
 
     OrderResponse createOrder(OrderRequest orderRequest, Long userId, List<MultipartFile> files, HttpServletRequest request);
     
+    OrderImportResponse importOrders(MultipartFile file, Long userId);
+    
     OrderResponse updateOrder(Long id, OrderRequest orderRequest, Long userId, List<MultipartFile> files, HttpServletRequest request);
     
     OrderResponse getOrderById(Long id);
@@ -34,10 +55,22 @@ public interface OrderService {
     
     Page<OrderResponse> getOrdersByCreatedById(Long userId, Pageable pageable);
     
-    Page<OrderResponse> getOrdersByFilters(String orderType, String status, LocalDate startDate, LocalDate endDate, LocalDate createdStartDate, LocalDate createdEndDate, Long marketplaceId, Boolean isDirectMerchant, String customerName, String orderNumber, String deliveryChannel, Double minAmount, Double maxAmount, Pageable pageable);
+    Page<OrderResponse> getOrdersByFilters(OrderFilterRequest filter, Pageable pageable);
+    
+    CursorPageResponse<OrderResponse> scrollOrdersByFilters(OrderFilterRequest filter, String cursor, int size);
+    
+    Page<OrderSummaryResponse> getOrderSummariesByFilters(OrderFilterRequest filter, Pageable pageable);
+    
+    CursorPageResponse<OrderSummaryResponse> scrollOrderSummariesByFilters(OrderFilterRequest filter, String cursor, int size);
+    
+    OrderFacetsResponse getOrderFacetsByFilters(OrderFilterRequest filter, String facets);
+    
+    StreamingResponseBody exportOrdersByFilters(OrderFilterRequest filter, LocalDateTime updatedSince);
     
     OrderResponse updateOrderStatus(Long id, String status, String notes, Long userId);
     
+    BulkOrderStatusResponse updateOrderStatuses(List<Long> orderIds, String status, String notes, Long userId);
+    
     void deleteOrder(Long id);
     
     ResponseEntity<Resource> generateOrderPdf(Long id);
@@ -50,7 +83,7 @@ public interface OrderService {
      * @param orderType optional order type filter (marketplace/merchant)
      * @return List of maps containing status and count
      */
-    List<Map<String, Object>> getOrderStatusCounts(boolean currentMonth, String orderType);
+    List<OrderStatusCountResponse> getOrderStatusCounts(boolean currentMonth, String orderType);
     
     /**
      * Get order counts by status for a specific month and year
@@ -59,7 +92,7 @@ public interface OrderService {
      * @param orderType optional order type filter (marketplace/merchant)
      * @return List of maps containing status and count
      */
-    List<Map<String, Object>> getOrderStatusCountsByMonth(int month, int year, String orderType);
+    List<OrderStatusCountResponse> getOrderStatusCountsByMonth(int month, int year, String orderType);
     
     /**
      * Get order counts by status for a specific date range
@@ -68,7 +101,7 @@ public interface OrderService {
      * @param orderType optional order type filter (marketplace/merchant)
      * @return List of maps containing status and count
      */
-    List<Map<String, Object>> getOrderStatusCountsByDateRange(LocalDate startDate, LocalDate endDate, String orderType);
+    List<OrderStatusCountResponse> getOrderStatusCountsByDateRange(LocalDate startDate, LocalDate endDate, String orderType);
     
     /**
      * Get order statistics by user for the current month or year
@@ -76,7 +109,7 @@ public interface OrderService {
      * @param orderType optional order type filter (marketplace/merchant)
      * @return List of maps containing user information, order count, and total amount
      */
-    List<Map<String, Object>> getUserOrderStatistics(boolean currentMonth, String orderType);
+    List<UserOrderStatisticsResponse> getUserOrderStatistics(boolean currentMonth, String orderType);
     
     /**
      * Get order statistics by user for a specific month and year
@@ -85,7 +118,7 @@ public interface OrderService {
      * @param orderType optional order type filter (marketplace/merchant)
      * @return List of maps containing user information, order count, and total amount
      */
-    List<Map<String, Object>> getUserOrderStatisticsByMonth(int month, int year, String orderType);
+    List<UserOrderStatisticsResponse> getUserOrderStatisticsByMonth(int month, int year, String orderType);
     
     /**
      * Get order statistics by user for a specific date range
@@ -94,7 +127,7 @@ public interface OrderService {
      * @param orderType optional order type filter (marketplace/merchant)
      * @return List of maps containing user information, order count, and total amount
      */
-    List<Map<String, Object>> getUserOrderStatisticsByDateRange(LocalDate startDate, LocalDate endDate, String orderType);
+    List<UserOrderStatisticsResponse> getUserOrderStatisticsByDateRange(LocalDate startDate, LocalDate endDate, String orderType);
     
     /**
      * Get order statistics by marketplace for the current month or year
@@ -102,7 +135,7 @@ public interface OrderService {
      * @param orderType optional order type filter (marketplace/merchant)
      * @return List of maps containing marketplace information and total amount
      */
-    List<Map<String, Object>> getMarketplaceOrderStatistics(boolean currentMonth, String orderType);
+    List<MarketplaceOrderStatisticsResponse> getMarketplaceOrderStatistics(boolean currentMonth, String orderType);
     
     /**
      * Get order statistics by marketplace for a specific month and year
@@ -111,7 +144,7 @@ public interface OrderService {
      * @param orderType optional order type filter (marketplace/merchant)
      * @return List of maps containing marketplace information and total amount
      */
-    List<Map<String, Object>> getMarketplaceOrderStatisticsByMonth(int month, int year, String orderType);
+    List<MarketplaceOrderStatisticsResponse> getMarketplaceOrderStatisticsByMonth(int month, int year, String orderType);
     
     /**
      * Get order statistics by marketplace for a specific date range
@@ -120,7 +153,16 @@ public interface OrderService {
      * @param orderType optional order type filter (marketplace/merchant)
      * @return List of maps containing marketplace information and total amount
      */
-    List<Map<String, Object>> getMarketplaceOrderStatisticsByDateRange(LocalDate startDate, LocalDate endDate, String orderType);
+    List<MarketplaceOrderStatisticsResponse> getMarketplaceOrderStatisticsByDateRange(LocalDate startDate, LocalDate endDate, String orderType);
+    
+    /**
+     * Full-text search over order number, customer name and phones, delivery channel, product
+     * descriptions, fabric names and style codes
+     * @param query search words, each matched as a prefix
+     * @param pageable pagination information
+     * @return page of order summaries, best match first
+     */
+    Page<OrderSummaryResponse> searchOrders(String query, Pageable pageable);
     
     /**
      * Find orders with similar products based on product type, fabric, and description
@@ -137,7 +179,7 @@ public interface OrderService {
      * @param endDate end date (inclusive)
      * @return List of maps containing date and count
      */
-    List<Map<String, Object>> getMonthlyOrderData(LocalDate startDate, LocalDate endDate);
+    List<DailyOrderCountResponse> getMonthlyOrderData(LocalDate startDate, LocalDate endDate);
     
     /**
      * Get monthly order count and amount statistics
@@ -147,7 +189,7 @@ public interface OrderService {
      * @param orderType optional order type filter (marketplace/merchant)
      * @return List of maps containing date, count, and amount
      */
-    List<Map<String, Object>> getMonthlyOrderCountAndAmount(Integer month, Integer year, boolean currentMonth, String orderType);
+    List<DailyOrderCountAmountResponse> getMonthlyOrderCountAndAmount(Integer month, Integer year, boolean currentMonth, String orderType);
     
     /**
      * Get monthly order count and amount statistics for a specific date range
@@ -156,7 +198,7 @@ public interface OrderService {
      * @param orderType optional order type filter (marketplace/merchant)
      * @return List of maps containing date, count, and amount
      */
-    List<Map<String, Object>> getMonthlyOrderCountAndAmountByDateRange(LocalDate startDate, LocalDate endDate, String orderType);
+    List<DailyOrderCountAmountResponse> getMonthlyOrderCountAndAmountByDateRange(LocalDate startDate, LocalDate endDate, String orderType);
     
     /**
      * Get sales data (revenue) for dashboard
@@ -165,9 +207,66 @@ public interface OrderService {
      * @param orderType optional order type filter (marketplace/merchant)
      * @return Map containing total revenue, order count, and other sales metrics
      */
-    Map<String, Object> getSalesData(LocalDate startDate, LocalDate endDate, String orderType);
+    SalesDataResponse getSalesData(LocalDate startDate, LocalDate endDate, String orderType);
     
-    Map<String, Object> getOrderStatisticsSummary(LocalDate startDate, LocalDate endDate, String orderType);
+    OrderStatisticsSummaryResponse getOrderStatisticsSummary(LocalDate startDate, LocalDate endDate, String orderType);
+    
+    /**
+     * Get all dashboard statistics for a date range in one call
+     * @param startDate optional start date
+     * @param endDate optional end date
+     * @param orderType optional order type filter (marketplace/merchant)
+     * @return Map containing every dashboard statistic keyed by name
+     */
+    DashboardStatisticsResponse getDashboardStatistics(LocalDate startDate, LocalDate endDate, String orderType);
+    
+    /**
+     * Get the status funnel and per-status dwell times for orders created in a date range
+     * @param startDate order creation start date
+     * @param endDate order creation end date
+     * @param marketplaceId optional marketplace filter
+     * @param period grouping period (day/week/month)
+     * @return funnel conversion and dwell-time percentiles per period and marketplace
+     */
+    OrderFunnelResponse getStatusFunnel(LocalDate startDate, LocalDate endDate, Long marketplaceId, String period);
+    
+    /**
+     * Get the top fabrics, product types or style codes by quantity and revenue for orders created in a date range
+     * @param startDate order creation start date
+     * @param endDate order creation end date
+     * @param dimension fabric, productType or styleCode
+     * @param period grouping period (day/week/month)
+     * @param limit number of entries per ranking
+     * @param approximate true to answer from the in-memory rolling-window sketches
+     * @return top demand per period
+     */
+    ProductDemandResponse getProductDemand(LocalDate startDate, LocalDate endDate, String dimension,
+                                           String period, int limit, boolean approximate);
+    
+    /**
+     * Get per-day counts and product quantities by status of open orders due in the coming weeks
+     * @param weeks number of weeks ahead, starting today
+     * @return delivery calendar
+     */
+    DeliveryCalendarResponse getDeliveryCalendar(int weeks);
+    
+    /**
+     * Get order value percentiles and histogram per marketplace and order type for orders created in a date range
+     * @param startDate order creation start date
+     * @param endDate order creation end date
+     * @param marketplaceId optional marketplace filter
+     * @param buckets number of histogram buckets
+     * @return overall and per-group order value distribution
+     */
+    OrderValueDistributionResponse getOrderValueDistribution(LocalDate startDate, LocalDate endDate, Long marketplaceId, int buckets);
+    
+    /**
+     * Recompute the daily statistics rollup from the orders table
+     * @param startDate optional first day to rebuild, defaults to the earliest order
+     * @param endDate optional last day to rebuild, defaults to today
+     * @return number of rollup rows written
+     */
+    int rebuildStatisticsRollup(LocalDate startDate, LocalDate endDate);
     
     /**
      * Reuse a cancelled or returned order to create a new order
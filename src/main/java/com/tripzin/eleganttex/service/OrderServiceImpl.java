@@ -1,10 +1,33 @@
 package com.tripzin.eleganttex.service;
 
+import com.tripzin.eleganttex.dto.request.OrderFilterRequest;
 import com.tripzin.eleganttex.dto.request.OrderRequest;
+import com.tripzin.eleganttex.dto.response.BulkOrderStatusResponse;
+import com.tripzin.eleganttex.dto.response.CursorPageResponse;
+import com.tripzin.eleganttex.dto.response.DailyOrderCountAmountResponse;
+import com.tripzin.eleganttex.dto.response.DailyOrderCountResponse;
+import com.tripzin.eleganttex.dto.response.DashboardStatisticsResponse;
+import com.tripzin.eleganttex.dto.response.DeliveryCalendarResponse;
+import com.tripzin.eleganttex.dto.response.MarketplaceOrderStatisticsResponse;
+import com.tripzin.eleganttex.dto.response.OrderFacetsResponse;
+import com.tripzin.eleganttex.dto.response.OrderFunnelResponse;
+import com.tripzin.eleganttex.dto.response.OrderImportResponse;
 import com.tripzin.eleganttex.dto.response.OrderResponse;
+import com.tripzin.eleganttex.dto.response.OrderStatisticsSummaryResponse;
+import com.tripzin.eleganttex.dto.response.OrderStatusCountResponse;
+import com.tripzin.eleganttex.dto.response.OrderSummaryResponse;
+import com.tripzin.eleganttex.dto.response.OrderValueDistributionResponse;
+import com.tripzin.eleganttex.dto.response.ProductDemandResponse;
+import com.tripzin.eleganttex.dto.response.SalesDataResponse;
+import com.tripzin.eleganttex.dto.response.UserOrderStatisticsResponse;
 import com.tripzin.eleganttex.entity.OrderStatus;
 import com.tripzin.eleganttex.entity.OrderType;
 import com.tripzin.eleganttex.security.services.UserDetailsImpl;
+import com.tripzin.eleganttex.service.analytics.DeliveryCalendarService;
+import com.tripzin.eleganttex.service.analytics.OrderFunnelAnalyticsService;
+import com.tripzin.eleganttex.service.analytics.OrderValueDistributionService;
+import com.tripzin.eleganttex.service.analytics.ProductDemandAnalyticsService;
+import com.tripzin.eleganttex.service.importer.OrderImporter;
 
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
@@ -18,10 +41,11 @@ import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Map;
 
 /**
  * Implementation of the OrderService interface using the Facade pattern
@@ -37,6 +61,12 @@ public class OrderServiceImpl implements OrderService {
     private final OrderStatusService orderStatusService;
     private final OrderStatisticsService orderStatisticsService;
     private final OrderReportService orderReportService;
+    private final OrderRollupService orderRollupService;
+    private final OrderFunnelAnalyticsService orderFunnelAnalyticsService;
+    private final ProductDemandAnalyticsService productDemandAnalyticsService;
+    private final DeliveryCalendarService deliveryCalendarService;
+    private final OrderValueDistributionService orderValueDistributionService;
+    private final OrderImporter orderImporter;
     
     /**
      * Check if the current user has permission to view all orders
@@ -79,6 +109,11 @@ public class OrderServiceImpl implements OrderService {
         return orderCoreService.createOrder(orderRequest, userId, files, request);
     }
 
+    @Override
+    public OrderImportResponse importOrders(MultipartFile file, Long userId) {
+        return orderImporter.importOrders(file, userId);
+    }
+
     @Override
     public OrderResponse getOrderById(Long id) {
         Long currentUserId = getCurrentUserId(null);
@@ -142,27 +177,52 @@ public class OrderServiceImpl implements OrderService {
     }
 
     @Override
-    public Page<OrderResponse> getOrdersByFilters(
-            String orderType,
-            String status,
-            LocalDate startDate,
-            LocalDate endDate,
-            LocalDate createdStartDate,
-            LocalDate createdEndDate,
-            Long marketplaceId,
-            Boolean isDirectMerchant,
-            String customerName,
-            String orderNumber,
-            String deliveryChannel,
-            Double minAmount,
-            Double maxAmount,
-            Pageable pageable) {
+    public Page<OrderResponse> getOrdersByFilters(OrderFilterRequest filter, Pageable pageable) {
+        Long currentUserId = getCurrentUserId(null);
+        boolean hasReadAllPermission = hasReadAllOrdersPermission();
+        
+        return orderSearchService.getOrdersByFilters(filter, currentUserId, hasReadAllPermission, pageable);
+    }
+
+    @Override
+    public CursorPageResponse<OrderResponse> scrollOrdersByFilters(OrderFilterRequest filter, String cursor, int size) {
+        Long currentUserId = getCurrentUserId(null);
+        boolean hasReadAllPermission = hasReadAllOrdersPermission();
+        
+        return orderSearchService.scrollOrdersByFilters(filter, currentUserId, hasReadAllPermission, cursor, size);
+    }
+
+    @Override
+    public Page<OrderSummaryResponse> getOrderSummariesByFilters(OrderFilterRequest filter, Pageable pageable) {
+        Long currentUserId = getCurrentUserId(null);
+        boolean hasReadAllPermission = hasReadAllOrdersPermission();
+        
+        return orderSearchService.getOrderSummariesByFilters(filter, currentUserId, hasReadAllPermission, pageable);
+    }
+
+    @Override
+    public CursorPageResponse<OrderSummaryResponse> scrollOrderSummariesByFilters(OrderFilterRequest filter, String cursor, int size) {
+        Long currentUserId = getCurrentUserId(null);
+        boolean hasReadAllPermission = hasReadAllOrdersPermission();
+        
+        return orderSearchService.scrollOrderSummariesByFilters(filter, currentUserId, hasReadAllPermission, cursor, size);
+    }
+
+    @Override
+    public OrderFacetsResponse getOrderFacetsByFilters(OrderFilterRequest filter, String facets) {
+        Long currentUserId = getCurrentUserId(null);
+        boolean hasReadAllPermission = hasReadAllOrdersPermission();
+        
+        return orderSearchService.getOrderFacetsByFilters(filter, facets, currentUserId, hasReadAllPermission);
+    }
+
+    @Override
+    public StreamingResponseBody exportOrdersByFilters(OrderFilterRequest filter, LocalDateTime updatedSince) {
+        // Resolved here, on the request thread; the returned body runs on an async thread
         Long currentUserId = getCurrentUserId(null);
         boolean hasReadAllPermission = hasReadAllOrdersPermission();
         
-        return orderSearchService.getOrdersByFilters(orderType, status, startDate, endDate, createdStartDate, 
-                createdEndDate, marketplaceId, isDirectMerchant, customerName, orderNumber, deliveryChannel, 
-                minAmount, maxAmount, currentUserId, hasReadAllPermission, pageable);
+        return orderSearchService.exportOrdersByFilters(filter, updatedSince, currentUserId, hasReadAllPermission);
     }
 
     @Override
@@ -170,6 +230,11 @@ public class OrderServiceImpl implements OrderService {
         return orderStatusService.updateOrderStatus(id, status, notes, userId);
     }
 
+    @Override
+    public BulkOrderStatusResponse updateOrderStatuses(List<Long> orderIds, String status, String notes, Long userId) {
+        return orderStatusService.updateOrderStatuses(orderIds, status, notes, userId);
+    }
+
     @Override
     public ResponseEntity<Resource> generateOrderPdf(Long id) {
         return orderReportService.generateOrderPdf(id);
@@ -181,50 +246,58 @@ public class OrderServiceImpl implements OrderService {
     }
 
     @Override
-    public List<Map<String, Object>> getOrderStatusCounts(boolean currentMonth, String orderType) {
+    public List<OrderStatusCountResponse> getOrderStatusCounts(boolean currentMonth, String orderType) {
         return orderStatisticsService.getOrderStatusCounts(currentMonth, orderType);
     }
     
     @Override
-    public List<Map<String, Object>> getOrderStatusCountsByMonth(int month, int year, String orderType) {
+    public List<OrderStatusCountResponse> getOrderStatusCountsByMonth(int month, int year, String orderType) {
         return orderStatisticsService.getOrderStatusCountsByMonth(month, year, orderType);
     }
     
     @Override
-    public List<Map<String, Object>> getOrderStatusCountsByDateRange(LocalDate startDate, LocalDate endDate, String orderType) {
+    public List<OrderStatusCountResponse> getOrderStatusCountsByDateRange(LocalDate startDate, LocalDate endDate, String orderType) {
         return orderStatisticsService.getOrderStatusCountsByDateRange(startDate, endDate, orderType);
     }
     
     @Override
-    public List<Map<String, Object>> getUserOrderStatistics(boolean currentMonth, String orderType) {
+    public List<UserOrderStatisticsResponse> getUserOrderStatistics(boolean currentMonth, String orderType) {
         return orderStatisticsService.getUserOrderStatistics(currentMonth, orderType);
     }
     
     @Override
-    public List<Map<String, Object>> getUserOrderStatisticsByMonth(int month, int year, String orderType) {
+    public List<UserOrderStatisticsResponse> getUserOrderStatisticsByMonth(int month, int year, String orderType) {
         return orderStatisticsService.getUserOrderStatisticsByMonth(month, year, orderType);
     }
     
     @Override
-    public List<Map<String, Object>> getUserOrderStatisticsByDateRange(LocalDate startDate, LocalDate endDate, String orderType) {
+    public List<UserOrderStatisticsResponse> getUserOrderStatisticsByDateRange(LocalDate startDate, LocalDate endDate, String orderType) {
         return orderStatisticsService.getUserOrderStatisticsByDateRange(startDate, endDate, orderType);
     }
     
     @Override
-    public List<Map<String, Object>> getMarketplaceOrderStatistics(boolean currentMonth, String orderType) {
+    public List<MarketplaceOrderStatisticsResponse> getMarketplaceOrderStatistics(boolean currentMonth, String orderType) {
         return orderStatisticsService.getMarketplaceOrderStatistics(currentMonth, orderType);
     }
     
     @Override
-    public List<Map<String, Object>> getMarketplaceOrderStatisticsByMonth(int month, int year, String orderType) {
+    public List<MarketplaceOrderStatisticsResponse> getMarketplaceOrderStatisticsByMonth(int month, int year, String orderType) {
         return orderStatisticsService.getMarketplaceOrderStatisticsByMonth(month, year, orderType);
     }
     
     @Override
-    public List<Map<String, Object>> getMarketplaceOrderStatisticsByDateRange(LocalDate startDate, LocalDate endDate, String orderType) {
+    public List<MarketplaceOrderStatisticsResponse> getMarketplaceOrderStatisticsByDateRange(LocalDate startDate, LocalDate endDate, String orderType) {
         return orderStatisticsService.getMarketplaceOrderStatisticsByDateRange(startDate, endDate, orderType);
     }
     
+    @Override
+    public Page<OrderSummaryResponse> searchOrders(String query, Pageable pageable) {
+        Long currentUserId = getCurrentUserId(null);
+        boolean hasReadAllPermission = hasReadAllOrdersPermission();
+        
+        return orderSearchService.searchOrders(query, currentUserId, hasReadAllPermission, pageable);
+    }
+    
     @Override
     public List<OrderResponse> findSimilarOrders(Long orderId, int limit) {
         Long currentUserId = getCurrentUserId(null);
@@ -234,30 +307,61 @@ public class OrderServiceImpl implements OrderService {
     }
     
     @Override
-    public List<Map<String, Object>> getMonthlyOrderData(LocalDate startDate, LocalDate endDate) {
+    public List<DailyOrderCountResponse> getMonthlyOrderData(LocalDate startDate, LocalDate endDate) {
         return orderStatisticsService.getMonthlyOrderData(startDate, endDate);
     }
     
     @Override
-    public List<Map<String, Object>> getMonthlyOrderCountAndAmount(Integer month, Integer year, boolean currentMonth, String orderType) {
+    public List<DailyOrderCountAmountResponse> getMonthlyOrderCountAndAmount(Integer month, Integer year, boolean currentMonth, String orderType) {
         return orderStatisticsService.getMonthlyOrderCountAndAmount(month, year, currentMonth, orderType);
     }
     
     @Override
-    public List<Map<String, Object>> getMonthlyOrderCountAndAmountByDateRange(LocalDate startDate, LocalDate endDate, String orderType) {
+    public List<DailyOrderCountAmountResponse> getMonthlyOrderCountAndAmountByDateRange(LocalDate startDate, LocalDate endDate, String orderType) {
         return orderStatisticsService.getMonthlyOrderCountAndAmountByDateRange(startDate, endDate, orderType);
     }
     
     @Override
-    public Map<String, Object> getSalesData(LocalDate startDate, LocalDate endDate, String orderType) {
+    public SalesDataResponse getSalesData(LocalDate startDate, LocalDate endDate, String orderType) {
         return orderStatisticsService.getSalesData(startDate, endDate, orderType);
     }
     
     @Override
-    public Map<String, Object> getOrderStatisticsSummary(LocalDate startDate, LocalDate endDate, String orderType) {
+    public OrderStatisticsSummaryResponse getOrderStatisticsSummary(LocalDate startDate, LocalDate endDate, String orderType) {
         return orderStatisticsService.getOrderStatisticsSummary(startDate, endDate, orderType);
     }
     
+    @Override
+    public DashboardStatisticsResponse getDashboardStatistics(LocalDate startDate, LocalDate endDate, String orderType) {
+        return orderStatisticsService.getDashboardStatistics(startDate, endDate, orderType);
+    }
+    
+    @Override
+    public OrderFunnelResponse getStatusFunnel(LocalDate startDate, LocalDate endDate, Long marketplaceId, String period) {
+        return orderFunnelAnalyticsService.analyzeFunnel(startDate, endDate, marketplaceId, period);
+    }
+    
+    @Override
+    public ProductDemandResponse getProductDemand(LocalDate startDate, LocalDate endDate, String dimension,
+                                                  String period, int limit, boolean approximate) {
+        return productDemandAnalyticsService.getTopDemand(startDate, endDate, dimension, period, limit, approximate);
+    }
+    
+    @Override
+    public DeliveryCalendarResponse getDeliveryCalendar(int weeks) {
+        return deliveryCalendarService.getDeliveryCalendar(weeks);
+    }
+    
+    @Override
+    public OrderValueDistributionResponse getOrderValueDistribution(LocalDate startDate, LocalDate endDate, Long marketplaceId, int buckets) {
+        return orderValueDistributionService.getOrderValueDistribution(startDate, endDate, marketplaceId, buckets);
+    }
+    
+    @Override
+    public int rebuildStatisticsRollup(LocalDate startDate, LocalDate endDate) {
+        return orderRollupService.rebuild(startDate, endDate);
+    }
+    
     @Override
     public OrderResponse reuseOrder(Long orderId, Long userId) {
         return orderCoreService.reuseOrder(orderId, userId);
@@ -1,8 +1,16 @@
 package com.tripzin.eleganttex.service;
 
+import com.tripzin.eleganttex.dto.response.DailyOrderCountAmountResponse;
+import com.tripzin.eleganttex.dto.response.DailyOrderCountResponse;
+import com.tripzin.eleganttex.dto.response.DashboardStatisticsResponse;
+import com.tripzin.eleganttex.dto.response.MarketplaceOrderStatisticsResponse;
+import com.tripzin.eleganttex.dto.response.OrderStatisticsSummaryResponse;
+import com.tripzin.eleganttex.dto.response.OrderStatusCountResponse;
+import com.tripzin.eleganttex.dto.response.SalesDataResponse;
+import com.tripzin.eleganttex.dto.response.UserOrderStatisticsResponse;
+
 import java.time.LocalDate;
 import java.util.List;
-import java.util.Map;
 
 /**
  * Service interface for order statistics operations
@@ -12,87 +20,87 @@ public interface OrderStatisticsService {
      * Get order status counts for the current month or year
      * @param currentMonth true for current month, false for current year
      * @param orderType optional order type filter (marketplace/merchant)
-     * @return List of maps containing status and count
+     * @return Count per status
      */
-    List<Map<String, Object>> getOrderStatusCounts(boolean currentMonth, String orderType);
+    List<OrderStatusCountResponse> getOrderStatusCounts(boolean currentMonth, String orderType);
     
     /**
      * Get order counts by status for a specific month and year
      * @param month the month (0-11)
      * @param year the year
      * @param orderType optional order type filter (marketplace/merchant)
-     * @return List of maps containing status and count
+     * @return Count per status
      */
-    List<Map<String, Object>> getOrderStatusCountsByMonth(int month, int year, String orderType);
+    List<OrderStatusCountResponse> getOrderStatusCountsByMonth(int month, int year, String orderType);
     
     /**
      * Get order counts by status for a specific date range
      * @param startDate the start date
      * @param endDate the end date
      * @param orderType optional order type filter (marketplace/merchant)
-     * @return List of maps containing status and count
+     * @return Count per status
      */
-    List<Map<String, Object>> getOrderStatusCountsByDateRange(LocalDate startDate, LocalDate endDate, String orderType);
+    List<OrderStatusCountResponse> getOrderStatusCountsByDateRange(LocalDate startDate, LocalDate endDate, String orderType);
     
     /**
      * Get order statistics by user for the current month or year
      * @param currentMonth true for current month, false for current year
      * @param orderType optional order type filter (marketplace/merchant)
-     * @return List of maps containing user information, order count, and total amount
+     * @return User information, order count and total amount per user
      */
-    List<Map<String, Object>> getUserOrderStatistics(boolean currentMonth, String orderType);
+    List<UserOrderStatisticsResponse> getUserOrderStatistics(boolean currentMonth, String orderType);
     
     /**
      * Get order statistics by user for a specific month and year
      * @param month the month (0-11)
      * @param year the year
      * @param orderType optional order type filter (marketplace/merchant)
-     * @return List of maps containing user information, order count, and total amount
+     * @return User information, order count and total amount per user
      */
-    List<Map<String, Object>> getUserOrderStatisticsByMonth(int month, int year, String orderType);
+    List<UserOrderStatisticsResponse> getUserOrderStatisticsByMonth(int month, int year, String orderType);
     
     /**
      * Get order statistics by user for a specific date range
      * @param startDate the start date
      * @param endDate the end date
      * @param orderType optional order type filter (marketplace/merchant)
-     * @return List of maps containing user information, order count, and total amount
+     * @return User information, order count and total amount per user
      */
-    List<Map<String, Object>> getUserOrderStatisticsByDateRange(LocalDate startDate, LocalDate endDate, String orderType);
+    List<UserOrderStatisticsResponse> getUserOrderStatisticsByDateRange(LocalDate startDate, LocalDate endDate, String orderType);
     
     /**
      * Get order statistics by marketplace for the current month or year
      * @param currentMonth true for current month, false for current year
      * @param orderType optional order type filter (marketplace/merchant)
-     * @return List of maps containing marketplace information and total amount
+     * @return Marketplace information and total amount per marketplace
      */
-    List<Map<String, Object>> getMarketplaceOrderStatistics(boolean currentMonth, String orderType);
+    List<MarketplaceOrderStatisticsResponse> getMarketplaceOrderStatistics(boolean currentMonth, String orderType);
     
     /**
      * Get order statistics by marketplace for a specific month and year
      * @param month the month (0-11)
      * @param year the year
      * @param orderType optional order type filter (marketplace/merchant)
-     * @return List of maps containing marketplace information and total amount
+     * @return Marketplace information and total amount per marketplace
      */
-    List<Map<String, Object>> getMarketplaceOrderStatisticsByMonth(int month, int year, String orderType);
+    List<MarketplaceOrderStatisticsResponse> getMarketplaceOrderStatisticsByMonth(int month, int year, String orderType);
     
     /**
      * Get order statistics by marketplace for a specific date range
      * @param startDate the start date
      * @param endDate the end date
      * @param orderType optional order type filter (marketplace/merchant)
-     * @return List of maps containing marketplace information and total amount
+     * @return Marketplace information and total amount per marketplace
      */
-    List<Map<String, Object>> getMarketplaceOrderStatisticsByDateRange(LocalDate startDate, LocalDate endDate, String orderType);
+    List<MarketplaceOrderStatisticsResponse> getMarketplaceOrderStatisticsByDateRange(LocalDate startDate, LocalDate endDate, String orderType);
     
     /**
      * Get daily order counts between two dates
      * @param startDate start date (inclusive)
      * @param endDate end date (inclusive)
-     * @return List of maps containing date and count
+     * @return Order count per date
      */
-    List<Map<String, Object>> getMonthlyOrderData(LocalDate startDate, LocalDate endDate);
+    List<DailyOrderCountResponse> getMonthlyOrderData(LocalDate startDate, LocalDate endDate);
     
     /**
      * Get monthly order count and amount statistics
@@ -100,27 +108,37 @@ public interface OrderStatisticsService {
      * @param year the year
      * @param currentMonth whether to use current month if month/year not provided
      * @param orderType optional order type filter (marketplace/merchant)
-     * @return List of maps containing date, count, and amount
+     * @return Order count and amount per date
      */
-    List<Map<String, Object>> getMonthlyOrderCountAndAmount(Integer month, Integer year, boolean currentMonth, String orderType);
+    List<DailyOrderCountAmountResponse> getMonthlyOrderCountAndAmount(Integer month, Integer year, boolean currentMonth, String orderType);
     
     /**
      * Get monthly order count and amount statistics for a specific date range
      * @param startDate the start date
      * @param endDate the end date
      * @param orderType optional order type filter (marketplace/merchant)
-     * @return List of maps containing date, count, and amount
+     * @return Order count and amount per date
      */
-    List<Map<String, Object>> getMonthlyOrderCountAndAmountByDateRange(LocalDate startDate, LocalDate endDate, String orderType);
+    List<DailyOrderCountAmountResponse> getMonthlyOrderCountAndAmountByDateRange(LocalDate startDate, LocalDate endDate, String orderType);
     
     /**
      * Get sales data (revenue) for dashboard
      * @param startDate optional start date
      * @param endDate optional end date
      * @param orderType optional order type filter (marketplace/merchant)
-     * @return Map containing total revenue, order count, and other sales metrics
+     * @return Total revenue, order count and other sales metrics
      */
-    Map<String, Object> getSalesData(LocalDate startDate, LocalDate endDate, String orderType);
+    SalesDataResponse getSalesData(LocalDate startDate, LocalDate endDate, String orderType);
+    
+    OrderStatisticsSummaryResponse getOrderStatisticsSummary(LocalDate startDate, LocalDate endDate, String orderType);
     
-    Map<String, Object> getOrderStatisticsSummary(LocalDate startDate, LocalDate endDate, String orderType);
+    /**
+     * Get all dashboard statistics for a date range in one call
+     * @param startDate optional start date, defaults to the first day of the current month
+     * @param endDate optional end date, defaults to today
+     * @param orderType optional order type filter (marketplace/merchant)
+     * @return statusCounts, userStatistics, marketplaceStatistics,
+     *         monthlyCountAmount, sales and summary, shaped like their individual endpoints
+     */
+    DashboardStatisticsResponse getDashboardStatistics(LocalDate startDate, LocalDate endDate, String orderType);
 }
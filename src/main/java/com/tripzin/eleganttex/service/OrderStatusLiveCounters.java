@@ -0,0 +1,203 @@
+package com.tripzin.eleganttex.service;
+
+import com.tripzin.eleganttex.entity.OrderStatus;
+import com.tripzin.eleganttex.repository.OrderRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory order counts per status and marketplace/merchant for the current month and year.
+ * Seeded from the orders table at startup and at the start of every month, adjusted after commit of
+ * every rollup change and periodically reconciled against the database, so current-period status
+ * counts need no query.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OrderStatusLiveCounters {
+
+    private static final int MERCHANT = 0;
+    private static final int MARKETPLACE = 1;
+
+    private final OrderRepository orderRepository;
+
+    private volatile PeriodCounters month;
+    private volatile PeriodCounters year;
+
+    /**
+     * Counters for the orders created in [start, end).
+     * Indexed by [status ordinal][MERCHANT or MARKETPLACE].
+     */
+    private static final class PeriodCounters {
+        private final LocalDate start;
+        private final LocalDate end;
+        private final LongAdder[][] counts = new LongAdder[OrderStatus.values().length][2];
+        // Drift seen by the previous reconcile run, only touched by the reconcile thread
+        private final long[][] lastDrift = new long[OrderStatus.values().length][2];
+
+        private PeriodCounters(LocalDate start, LocalDate end) {
+            this.start = start;
+            this.end = end;
+            for (LongAdder[] statusCounts : counts) {
+                statusCounts[MERCHANT] = new LongAdder();
+                statusCounts[MARKETPLACE] = new LongAdder();
+            }
+        }
+
+        private boolean contains(LocalDate day) {
+            return !day.isBefore(start) && day.isBefore(end);
+        }
+
+        private long sum(OrderStatus status, Boolean withMarketplace) {
+            LongAdder[] statusCounts = counts[status.ordinal()];
+            if (withMarketplace == null) {
+                return statusCounts[MERCHANT].sum() + statusCounts[MARKETPLACE].sum();
+            }
+            return statusCounts[withMarketplace ? MARKETPLACE : MERCHANT].sum();
+        }
+    }
+
+    /**
+     * Get order counts per status for the current period
+     * @param currentMonth true for the current month, false for the current year
+     * @param withMarketplace null for all orders, true for marketplace orders, false for merchant orders
+     * @return count per status, only statuses with orders
+     */
+    public Map<OrderStatus, Long> getStatusCounts(boolean currentMonth, Boolean withMarketplace) {
+        LocalDate today = LocalDate.now();
+        PeriodCounters counters = currentMonth ? month : year;
+        if (counters == null || !counters.contains(today)) {
+            // Not seeded yet, or the period has just started and the rollover has not run; count in the database
+            counters = currentMonth ? seedMonth(today) : seedYear(today);
+        }
+        Map<OrderStatus, Long> result = new EnumMap<>(OrderStatus.class);
+        for (OrderStatus status : OrderStatus.values()) {
+            long count = counters.sum(status, withMarketplace);
+            if (count > 0) {
+                result.put(status, count);
+            }
+        }
+        return result;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seedOnStartup() {
+        rollOver();
+    }
+
+    /**
+     * Reseed the counters at the start of every month, the year's too since 1 January starts a month
+     */
+    @Scheduled(cron = "${app.live-counters.rollover-cron:0 0 0 1 * *}")
+    public void rollOver() {
+        LocalDate today = LocalDate.now();
+        PeriodCounters newYear = seedYear(today);
+        PeriodCounters newMonth = seedMonth(today);
+        year = newYear;
+        month = newMonth;
+        log.info("Seeded live order status counters for month starting {} and year starting {}", newMonth.start, newYear.start);
+    }
+
+    /**
+     * Apply a committed rollup delta to the current periods containing the order's creation day.
+     * Deltas for other days are dropped: past periods are not counted, and orders of a period that has
+     * started but not yet been rolled over to are counted by the rollover's seed.
+     */
+    @TransactionalEventListener
+    public void onRollupChanged(OrderRollupChangedEvent event) {
+        if (event.isRebuild()) {
+            return;
+        }
+        OrderRollupService.OrderSnapshot snapshot = event.snapshot();
+        for (PeriodCounters counters : new PeriodCounters[]{month, year}) {
+            if (counters != null && counters.contains(snapshot.day())) {
+                counters.counts[snapshot.status().ordinal()][snapshot.marketplaceId() != null ? MARKETPLACE : MERCHANT]
+                        .add(event.countDelta());
+            }
+        }
+    }
+
+    /**
+     * Compare the counters with the database and correct drift that persists across two runs.
+     * A single run cannot tell drift from a write committed between the count query and reading the
+     * counters, whose delta is about to be or has just been applied; such a difference is gone by the
+     * next run, while real drift shows the same value again. This also corrects writes committed while
+     * a rollover was seeding, whose deltas may have been dropped or counted twice.
+     */
+    @Scheduled(fixedDelayString = "${app.live-counters.reconcile-interval:PT15M}",
+            initialDelayString = "${app.live-counters.reconcile-interval:PT15M}")
+    public void reconcile() {
+        LocalDate today = LocalDate.now();
+        PeriodCounters currentMonth = month;
+        PeriodCounters currentYear = year;
+        if (currentMonth == null || !currentMonth.contains(today)) {
+            // Left to the rollover
+            return;
+        }
+        reconcile("month", currentMonth);
+        reconcile("year", currentYear);
+    }
+
+    private void reconcile(String periodName, PeriodCounters counters) {
+        long[][] actual = loadCounts(counters.start, counters.end);
+        for (OrderStatus status : OrderStatus.values()) {
+            for (int type = MERCHANT; type <= MARKETPLACE; type++) {
+                LongAdder adder = counters.counts[status.ordinal()][type];
+                long drift = actual[status.ordinal()][type] - adder.sum();
+                long previousDrift = counters.lastDrift[status.ordinal()][type];
+                if (drift != 0 && drift == previousDrift) {
+                    log.warn("Live order counter drift for current {} ({}, {}): {}",
+                            periodName, status, type == MARKETPLACE ? "marketplace" : "merchant", drift);
+                    adder.add(drift);
+                    counters.lastDrift[status.ordinal()][type] = 0;
+                } else {
+                    counters.lastDrift[status.ordinal()][type] = drift;
+                }
+            }
+        }
+    }
+
+    private PeriodCounters seedMonth(LocalDate day) {
+        LocalDate monthStart = day.withDayOfMonth(1);
+        return seed(monthStart, monthStart.plusMonths(1));
+    }
+
+    private PeriodCounters seedYear(LocalDate day) {
+        LocalDate yearStart = day.withDayOfYear(1);
+        return seed(yearStart, yearStart.plusYears(1));
+    }
+
+    private PeriodCounters seed(LocalDate start, LocalDate end) {
+        PeriodCounters counters = new PeriodCounters(start, end);
+        long[][] actual = loadCounts(start, end);
+        for (OrderStatus status : OrderStatus.values()) {
+            counters.counts[status.ordinal()][MERCHANT].add(actual[status.ordinal()][MERCHANT]);
+            counters.counts[status.ordinal()][MARKETPLACE].add(actual[status.ordinal()][MARKETPLACE]);
+        }
+        return counters;
+    }
+
+    /**
+     * Count orders per status and marketplace/merchant created in [start, end)
+     */
+    private long[][] loadCounts(LocalDate start, LocalDate end) {
+        long[][] counts = new long[OrderStatus.values().length][2];
+        for (Object[] row : orderRepository.aggregateByStatus(start.atStartOfDay(), end.atStartOfDay(), Boolean.FALSE)) {
+            counts[((OrderStatus) row[0]).ordinal()][MERCHANT] = ((Number) row[1]).longValue();
+        }
+        for (Object[] row : orderRepository.aggregateByStatus(start.atStartOfDay(), end.atStartOfDay(), Boolean.TRUE)) {
+            counts[((OrderStatus) row[0]).ordinal()][MARKETPLACE] = ((Number) row[1]).longValue();
+        }
+        return counts;
+    }
+}
@@ -1,8 +1,10 @@
 package com.tripzin.eleganttex.service;
 
+import com.tripzin.eleganttex.dto.response.BulkOrderStatusResponse;
 import com.tripzin.eleganttex.dto.response.OrderResponse;
 import com.tripzin.eleganttex.entity.OrderStatus;
 
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -19,6 +21,17 @@ public interface OrderStatusService {
      */
     OrderResponse updateOrderStatus(Long id, String status, String notes, Long userId);
     
+    /**
+     * Update the status of several orders at once. Transitions are validated per order; orders that
+     * do not exist or cannot make the transition are left unchanged and reported in the results.
+     * @param orderIds Order IDs
+     * @param status New status
+     * @param notes Optional notes about the status change, recorded for every order
+     * @param userId User ID of the user making the change
+     * @return Per-order results
+     */
+    BulkOrderStatusResponse updateOrderStatuses(List<Long> orderIds, String status, String notes, Long userId);
+    
     /**
      * Validates if a status transition is allowed
      * @param currentStatus the current status of the order
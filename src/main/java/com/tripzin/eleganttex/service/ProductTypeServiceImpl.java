@@ -6,6 +6,7 @@ import com.tripzin.eleganttex.exception.AppException;
 import com.tripzin.eleganttex.repository.ProductTypeRepository;
 import org.springframework.http.HttpStatus;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -16,10 +17,12 @@ import java.util.List;
 public class ProductTypeServiceImpl implements ProductTypeService {
 
     private final ProductTypeRepository productTypeRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public ProductTypeServiceImpl(ProductTypeRepository productTypeRepository) {
+    public ProductTypeServiceImpl(ProductTypeRepository productTypeRepository, ApplicationEventPublisher eventPublisher) {
         this.productTypeRepository = productTypeRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -77,7 +80,9 @@ public class ProductTypeServiceImpl implements ProductTypeService {
             productType.setActive(productTypeDetails.getActive());
         }
         
-        return productTypeRepository.save(productType);
+        ProductType saved = productTypeRepository.save(productType);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(ProductType.class));
+        return saved;
     }
 
     @Override
@@ -85,6 +90,7 @@ public class ProductTypeServiceImpl implements ProductTypeService {
     public void deleteProductType(Long id) {
         ProductType productType = getProductTypeById(id);
         productTypeRepository.delete(productType);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(ProductType.class));
     }
 
     @Override
@@ -92,7 +98,9 @@ public class ProductTypeServiceImpl implements ProductTypeService {
     public ProductType toggleProductTypeActive(Long id) {
         ProductType productType = getProductTypeById(id);
         productType.setActive(!productType.getActive());
-        return productTypeRepository.save(productType);
+        ProductType saved = productTypeRepository.save(productType);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(ProductType.class));
+        return saved;
     }
 
     @Override
@@ -0,0 +1,111 @@
+package com.tripzin.eleganttex.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tripzin.eleganttex.entity.Fabric;
+import com.tripzin.eleganttex.entity.ProductType;
+import com.tripzin.eleganttex.entity.StyleCode;
+import com.tripzin.eleganttex.exception.ResourceNotFoundException;
+import com.tripzin.eleganttex.repository.FabricRepository;
+import com.tripzin.eleganttex.repository.ProductTypeRepository;
+import com.tripzin.eleganttex.repository.StyleCodeRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Read-through cache of the reference data order writes look up for every product line.
+ * Entries are detached entities shared between requests: they may be used as association targets
+ * and their basic fields read, but must not be modified or have lazy associations navigated.
+ * A cache is cleared after commit of any change to its type, and entries also expire so that
+ * changes made through other instances are picked up.
+ */
+@Component
+@Slf4j
+public class ReferenceDataCache {
+
+    private final FabricRepository fabricRepository;
+    private final ProductTypeRepository productTypeRepository;
+    private final StyleCodeRepository styleCodeRepository;
+    private final Cache<Long, Fabric> fabrics;
+    private final Cache<Long, ProductType> productTypes;
+    private final Cache<String, StyleCode> styleCodes;
+
+    public ReferenceDataCache(
+            FabricRepository fabricRepository,
+            ProductTypeRepository productTypeRepository,
+            StyleCodeRepository styleCodeRepository,
+            MeterRegistry meterRegistry,
+            @Value("${app.reference-data-cache.maximum-size:1000}") long maximumSize,
+            @Value("${app.reference-data-cache.expire-after-write:PT10M}") Duration expireAfterWrite) {
+        this.fabricRepository = fabricRepository;
+        this.productTypeRepository = productTypeRepository;
+        this.styleCodeRepository = styleCodeRepository;
+        this.fabrics = newCache(maximumSize, expireAfterWrite);
+        this.productTypes = newCache(maximumSize, expireAfterWrite);
+        this.styleCodes = newCache(maximumSize, expireAfterWrite);
+        CaffeineCacheMetrics.monitor(meterRegistry, fabrics, "reference.fabrics");
+        CaffeineCacheMetrics.monitor(meterRegistry, productTypes, "reference.productTypes");
+        CaffeineCacheMetrics.monitor(meterRegistry, styleCodes, "reference.styleCodes");
+    }
+
+    /**
+     * Get a fabric by ID
+     * @throws ResourceNotFoundException if there is no such fabric
+     */
+    public Fabric getFabric(Long id) {
+        Fabric fabric = fabrics.get(id, key -> fabricRepository.findById(key).orElse(null));
+        if (fabric == null) {
+            throw new ResourceNotFoundException("Fabric not found with ID: " + id);
+        }
+        return fabric;
+    }
+
+    /**
+     * Get a product type by ID
+     * @throws ResourceNotFoundException if there is no such product type
+     */
+    public ProductType getProductType(Long id) {
+        ProductType productType = productTypes.get(id, key -> productTypeRepository.findById(key).orElse(null));
+        if (productType == null) {
+            throw new ResourceNotFoundException("Product type not found with ID: " + id);
+        }
+        return productType;
+    }
+
+    /**
+     * Find a style code by its code; unknown codes are not cached
+     */
+    public Optional<StyleCode> findStyleCode(String code) {
+        return Optional.ofNullable(styleCodes.get(code, key -> styleCodeRepository.findByCode(key).orElse(null)));
+    }
+
+    /**
+     * Drop the cached entries of the changed type once the change is committed
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReferenceDataChanged(ReferenceDataChangedEvent event) {
+        if (event.type() == Fabric.class) {
+            fabrics.invalidateAll();
+        } else if (event.type() == ProductType.class) {
+            productTypes.invalidateAll();
+        } else if (event.type() == StyleCode.class) {
+            styleCodes.invalidateAll();
+        }
+        log.debug("Cleared cached {} reference data", event.type().getSimpleName());
+    }
+
+    private static <K, V> Cache<K, V> newCache(long maximumSize, Duration expireAfterWrite) {
+        return Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+    }
+}
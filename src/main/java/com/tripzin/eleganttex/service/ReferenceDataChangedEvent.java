@@ -0,0 +1,9 @@
+package com.tripzin.eleganttex.service;
+
+/**
+ * Published inside the writing transaction when fabrics, product types or style codes are changed
+ * or deleted, so {@link ReferenceDataCache} can drop its copies of that type after commit.
+ * @param type the changed entity class: Fabric, ProductType or StyleCode
+ */
+public record ReferenceDataChangedEvent(Class<?> type) {
+}
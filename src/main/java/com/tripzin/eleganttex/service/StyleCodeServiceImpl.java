@@ -6,6 +6,7 @@ import com.tripzin.eleganttex.exception.AppException;
 import com.tripzin.eleganttex.repository.StyleCodeRepository;
 import org.springframework.http.HttpStatus;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -16,10 +17,15 @@ import java.util.List;
 public class StyleCodeServiceImpl implements StyleCodeService {
 
     private final StyleCodeRepository styleCodeRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ReferenceDataCache referenceDataCache;
 
     @Autowired
-    public StyleCodeServiceImpl(StyleCodeRepository styleCodeRepository) {
+    public StyleCodeServiceImpl(StyleCodeRepository styleCodeRepository, ApplicationEventPublisher eventPublisher,
+                                ReferenceDataCache referenceDataCache) {
         this.styleCodeRepository = styleCodeRepository;
+        this.eventPublisher = eventPublisher;
+        this.referenceDataCache = referenceDataCache;
     }
 
     @Override
@@ -40,7 +46,7 @@ public class StyleCodeServiceImpl implements StyleCodeService {
 
     @Override
     public StyleCode getStyleCodeByCode(String code) {
-        return styleCodeRepository.findByCode(code)
+        return referenceDataCache.findStyleCode(code)
                 .orElseThrow(() -> new AppException("Style code not found with code: " + code, HttpStatus.NOT_FOUND));
     }
 
@@ -78,7 +84,9 @@ public class StyleCodeServiceImpl implements StyleCodeService {
             styleCode.setActive(styleCodeDetails.getActive());
         }
         
-        return styleCodeRepository.save(styleCode);
+        StyleCode saved = styleCodeRepository.save(styleCode);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(StyleCode.class));
+        return saved;
     }
 
     @Override
@@ -86,6 +94,7 @@ public class StyleCodeServiceImpl implements StyleCodeService {
     public void deleteStyleCode(Long id) {
         StyleCode styleCode = getStyleCodeById(id);
         styleCodeRepository.delete(styleCode);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(StyleCode.class));
     }
 
     @Override
@@ -93,7 +102,9 @@ public class StyleCodeServiceImpl implements StyleCodeService {
     public StyleCode toggleStyleCodeActive(Long id) {
         StyleCode styleCode = getStyleCodeById(id);
         styleCode.setActive(!styleCode.getActive());
-        return styleCodeRepository.save(styleCode);
+        StyleCode saved = styleCodeRepository.save(styleCode);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(StyleCode.class));
+        return saved;
     }
 
     @Override
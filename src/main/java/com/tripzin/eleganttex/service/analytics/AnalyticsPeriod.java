@@ -0,0 +1,46 @@
+package com.tripzin.eleganttex.service.analytics;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+
+/**
+ * Granularity analytics results are grouped by, based on the order creation date.
+ * Weeks start on Monday, matching PostgreSQL date_trunc.
+ */
+public enum AnalyticsPeriod {
+    DAY, WEEK, MONTH;
+
+    /**
+     * Parse a period name case-insensitively
+     * @param value day, week or month; null or blank defaults to month
+     * @return the period
+     */
+    public static AnalyticsPeriod fromString(String value) {
+        if (value == null || value.isBlank()) {
+            return MONTH;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid period: " + value + " (expected day, week or month)");
+        }
+    }
+
+    /**
+     * First day of the period containing a date
+     */
+    public LocalDate start(LocalDate date) {
+        return switch (this) {
+            case DAY -> date;
+            case WEEK -> date.with(DayOfWeek.MONDAY);
+            case MONTH -> date.withDayOfMonth(1);
+        };
+    }
+
+    /**
+     * Field name accepted by PostgreSQL date_trunc
+     */
+    public String truncField() {
+        return name().toLowerCase();
+    }
+}
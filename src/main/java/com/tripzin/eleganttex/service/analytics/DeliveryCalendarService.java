@@ -0,0 +1,95 @@
+package com.tripzin.eleganttex.service.analytics;
+
+import com.tripzin.eleganttex.dto.response.DeliveryCalendarResponse;
+import com.tripzin.eleganttex.entity.OrderStatus;
+import com.tripzin.eleganttex.repository.OrderRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Service computing the delivery workload of open orders per delivery day and status,
+ * so production can plan capacity for the coming weeks.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DeliveryCalendarService {
+
+    /**
+     * Statuses of orders that need no more work
+     */
+    public static final Set<OrderStatus> TERMINAL_STATUSES =
+            EnumSet.of(OrderStatus.DELIVERED, OrderStatus.RETURNED, OrderStatus.CANCELLED);
+
+    private static final int MAX_WEEKS = 26;
+
+    private final OrderRepository orderRepository;
+
+    /**
+     * Get per-day order counts and product quantities by status for non-terminal orders
+     * due from today through the next weeks. Every day of the range is listed, including empty ones.
+     * @param weeks number of weeks ahead, 1 to 26
+     * @return delivery calendar
+     */
+    @Transactional(readOnly = true)
+    public DeliveryCalendarResponse getDeliveryCalendar(int weeks) {
+        if (weeks < 1 || weeks > MAX_WEEKS) {
+            throw new IllegalArgumentException("Weeks must be between 1 and " + MAX_WEEKS);
+        }
+        LocalDate startDate = LocalDate.now();
+        LocalDate endDate = startDate.plusWeeks(weeks).minusDays(1);
+        log.info("Getting delivery calendar from {} to {}", startDate, endDate);
+
+        Map<LocalDate, Map<OrderStatus, long[]>> workload = new HashMap<>();
+        for (Object[] row : orderRepository.aggregateByDeliveryDateAndStatus(startDate, endDate, TERMINAL_STATUSES)) {
+            workload.computeIfAbsent((LocalDate) row[0], day -> new EnumMap<>(OrderStatus.class))
+                    .put((OrderStatus) row[1], new long[]{((Number) row[2]).longValue(), ((Number) row[3]).longValue()});
+        }
+
+        List<DeliveryCalendarResponse.DeliveryDay> days = new ArrayList<>();
+        long totalOrders = 0;
+        long totalQuantity = 0;
+        for (LocalDate day = startDate; !day.isAfter(endDate); day = day.plusDays(1)) {
+            List<DeliveryCalendarResponse.StatusWorkload> statuses = new ArrayList<>();
+            long dayOrders = 0;
+            long dayQuantity = 0;
+            for (Map.Entry<OrderStatus, long[]> entry : workload.getOrDefault(day, Map.of()).entrySet()) {
+                long[] counts = entry.getValue();
+                statuses.add(DeliveryCalendarResponse.StatusWorkload.builder()
+                        .status(entry.getKey().name())
+                        .orderCount(counts[0])
+                        .quantity(counts[1])
+                        .build());
+                dayOrders += counts[0];
+                dayQuantity += counts[1];
+            }
+            days.add(DeliveryCalendarResponse.DeliveryDay.builder()
+                    .date(day)
+                    .orderCount(dayOrders)
+                    .quantity(dayQuantity)
+                    .statuses(statuses)
+                    .build());
+            totalOrders += dayOrders;
+            totalQuantity += dayQuantity;
+        }
+
+        return DeliveryCalendarResponse.builder()
+                .startDate(startDate)
+                .endDate(endDate)
+                .totalOrders(totalOrders)
+                .totalQuantity(totalQuantity)
+                .days(days)
+                .build();
+    }
+}
@@ -0,0 +1,45 @@
+package com.tripzin.eleganttex.service.analytics;
+
+import com.tripzin.eleganttex.repository.OrderProductRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Product attribute demand analytics are grouped by
+ */
+public enum DemandDimension {
+    FABRIC, PRODUCT_TYPE, STYLE_CODE;
+
+    /**
+     * Parse a dimension name, accepting fabric, productType/product_type and styleCode/style_code
+     * @param value dimension name; null or blank defaults to fabric
+     * @return the dimension
+     */
+    public static DemandDimension fromString(String value) {
+        if (value == null || value.isBlank()) {
+            return FABRIC;
+        }
+        String normalized = value.trim().replace("_", "");
+        for (DemandDimension dimension : values()) {
+            if (dimension.name().replace("_", "").equalsIgnoreCase(normalized)) {
+                return dimension;
+            }
+        }
+        throw new IllegalArgumentException("Invalid dimension: " + value + " (expected fabric, productType or styleCode)");
+    }
+
+    /**
+     * Sum quantity and revenue per period and key for orders created in [startDateTime, endDateTime)
+     * @param period PostgreSQL date_trunc field
+     * @return rows of [periodStart, id, code, name, quantity, revenue]
+     */
+    List<Object[]> sumDemand(OrderProductRepository repository, String period,
+                             LocalDateTime startDateTime, LocalDateTime endDateTime) {
+        return switch (this) {
+            case FABRIC -> repository.sumDemandByFabric(period, startDateTime, endDateTime);
+            case PRODUCT_TYPE -> repository.sumDemandByProductType(period, startDateTime, endDateTime);
+            case STYLE_CODE -> repository.sumDemandByStyleCode(period, startDateTime, endDateTime);
+        };
+    }
+}
@@ -0,0 +1,90 @@
+package com.tripzin.eleganttex.service.analytics;
+
+import java.util.Arrays;
+
+/**
+ * Compact histogram of non-negative long values with logarithmic buckets.
+ * Values below 32 are counted exactly; every higher power of two is split into 32 linear
+ * sub-buckets, so reported percentiles are within ~3% of the true value while values spanning
+ * seconds to years need only a few hundred counters.
+ */
+public class LogBucketHistogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+    private long[] counts = new long[SUB_BUCKET_COUNT * 2];
+    private long totalCount;
+    private long minValue = Long.MAX_VALUE;
+    private long maxValue = Long.MIN_VALUE;
+
+    /**
+     * Record a single value
+     * @param value the value, must not be negative
+     */
+    public void record(long value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Histogram values must not be negative: " + value);
+        }
+        int index = bucketIndex(value);
+        if (index >= counts.length) {
+            counts = Arrays.copyOf(counts, Math.max(index + 1, counts.length * 2));
+        }
+        counts[index]++;
+        totalCount++;
+        minValue = Math.min(minValue, value);
+        maxValue = Math.max(maxValue, value);
+    }
+
+    public long getCount() {
+        return totalCount;
+    }
+
+    /**
+     * Get the value at the given percentile
+     * @param percentile percentile between 0 and 100
+     * @return the midpoint of the bucket holding the percentile, clamped to the recorded range,
+     *         or 0 if nothing was recorded
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (totalCount == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * totalCount));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                long lower = bucketLowerBound(i);
+                long midpoint = lower + (bucketWidth(i) - 1) / 2;
+                return Math.max(minValue, Math.min(maxValue, midpoint));
+            }
+        }
+        return maxValue;
+    }
+
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int shift = (63 - Long.numberOfLeadingZeros(value)) - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) - SUB_BUCKET_COUNT;
+        return SUB_BUCKET_COUNT + shift * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    static long bucketLowerBound(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = (index - SUB_BUCKET_COUNT) / SUB_BUCKET_COUNT;
+        int subBucket = (index - SUB_BUCKET_COUNT) % SUB_BUCKET_COUNT;
+        return (long) (SUB_BUCKET_COUNT + subBucket) << shift;
+    }
+
+    private static long bucketWidth(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return 1;
+        }
+        return 1L << ((index - SUB_BUCKET_COUNT) / SUB_BUCKET_COUNT);
+    }
+}
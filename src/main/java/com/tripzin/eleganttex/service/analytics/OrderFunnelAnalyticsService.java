@@ -0,0 +1,215 @@
+package com.tripzin.eleganttex.service.analytics;
+
+import com.tripzin.eleganttex.dto.response.OrderFunnelResponse;
+import com.tripzin.eleganttex.entity.Marketplace;
+import com.tripzin.eleganttex.entity.OrderStatus;
+import com.tripzin.eleganttex.repository.MarketplaceRepository;
+import com.tripzin.eleganttex.repository.OrderStatusHistoryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Service computing the order status funnel and per-status dwell times from the status history.
+ * History rows are streamed once in (order, timestamp) order; only the state of the current order
+ * and one fixed-size accumulator per (period, marketplace) group are kept in memory.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OrderFunnelAnalyticsService {
+
+    /**
+     * The happy path an order moves through, in order
+     */
+    public static final List<OrderStatus> FUNNEL_STAGES = List.of(
+            OrderStatus.ORDER_CREATED,
+            OrderStatus.APPROVED,
+            OrderStatus.PRODUCTION,
+            OrderStatus.QA,
+            OrderStatus.READY,
+            OrderStatus.BOOKING,
+            OrderStatus.DELIVERED);
+
+    private static final int[] STAGE_INDEX = new int[OrderStatus.values().length];
+
+    static {
+        Arrays.fill(STAGE_INDEX, -1);
+        for (int i = 0; i < FUNNEL_STAGES.size(); i++) {
+            STAGE_INDEX[FUNNEL_STAGES.get(i).ordinal()] = i;
+        }
+    }
+
+    private record GroupKey(LocalDate periodStart, Long marketplaceId) {
+    }
+
+    /**
+     * Funnel counters and dwell histograms for one group
+     */
+    private static class GroupAccumulator {
+        private long orderCount;
+        private final long[] reachedStage = new long[FUNNEL_STAGES.size()];
+        private final Map<OrderStatus, LogBucketHistogram> dwellSeconds = new EnumMap<>(OrderStatus.class);
+
+        void recordOrder(int furthestStage) {
+            orderCount++;
+            for (int i = 0; i <= furthestStage; i++) {
+                reachedStage[i]++;
+            }
+        }
+
+        void recordDwell(OrderStatus status, long seconds) {
+            dwellSeconds.computeIfAbsent(status, s -> new LogBucketHistogram()).record(Math.max(0, seconds));
+        }
+    }
+
+    private final OrderStatusHistoryRepository historyRepository;
+    private final MarketplaceRepository marketplaceRepository;
+
+    /**
+     * Compute funnel conversion and dwell-time percentiles for the orders created in a date range.
+     * An order counts as reaching a stage when it reached that stage or any later one, so orders
+     * resumed from ON_HOLD past a stage still count for it. Dwell time of a status is the time until
+     * the next transition; the current status of an open order is not counted.
+     * @param startDate order creation start date (inclusive)
+     * @param endDate order creation end date (inclusive)
+     * @param marketplaceId optional marketplace filter
+     * @param period grouping period (day/week/month), defaults to month
+     * @return funnel per period and marketplace
+     */
+    @Transactional(readOnly = true)
+    public OrderFunnelResponse analyzeFunnel(LocalDate startDate, LocalDate endDate, Long marketplaceId, String period) {
+        log.info("Analyzing order funnel from {} to {} for marketplace {} by {}", startDate, endDate, marketplaceId, period);
+        if (startDate.isAfter(endDate)) {
+            throw new IllegalArgumentException("Start date must not be after end date");
+        }
+        AnalyticsPeriod groupPeriod = AnalyticsPeriod.fromString(period);
+
+        Map<GroupKey, GroupAccumulator> groups = new HashMap<>();
+        long rowCount = 0;
+        try (Stream<Object[]> rows = historyRepository.streamTransitions(
+                startDate.atStartOfDay(), endDate.plusDays(1).atStartOfDay(), marketplaceId)) {
+            Iterator<Object[]> iterator = rows.iterator();
+
+            Long currentOrderId = null;
+            GroupAccumulator group = null;
+            int furthestStage = -1;
+            OrderStatus previousStatus = null;
+            LocalDateTime previousTimestamp = null;
+
+            while (iterator.hasNext()) {
+                Object[] row = iterator.next();
+                rowCount++;
+                Long orderId = (Long) row[0];
+                OrderStatus status = (OrderStatus) row[1];
+                LocalDateTime timestamp = (LocalDateTime) row[2];
+
+                if (!orderId.equals(currentOrderId)) {
+                    if (group != null) {
+                        group.recordOrder(furthestStage);
+                    }
+                    currentOrderId = orderId;
+                    GroupKey key = new GroupKey(groupPeriod.start(((LocalDateTime) row[4]).toLocalDate()), (Long) row[3]);
+                    group = groups.computeIfAbsent(key, k -> new GroupAccumulator());
+                    furthestStage = -1;
+                } else if (status == previousStatus) {
+                    // Repeated entry of the same status, keep timing from the first one
+                    continue;
+                } else {
+                    group.recordDwell(previousStatus, Duration.between(previousTimestamp, timestamp).toSeconds());
+                }
+
+                furthestStage = Math.max(furthestStage, STAGE_INDEX[status.ordinal()]);
+                previousStatus = status;
+                previousTimestamp = timestamp;
+            }
+            if (group != null) {
+                group.recordOrder(furthestStage);
+            }
+        }
+        log.debug("Scanned {} status history rows into {} funnel groups", rowCount, groups.size());
+
+        Map<Long, String> marketplaceNames = getMarketplaceNames(groups.keySet().stream()
+                .map(GroupKey::marketplaceId)
+                .collect(Collectors.toCollection(HashSet::new)));
+
+        List<OrderFunnelResponse.FunnelGroup> result = new ArrayList<>();
+        groups.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey(Comparator
+                        .comparing(GroupKey::periodStart)
+                        .thenComparing(GroupKey::marketplaceId, Comparator.nullsFirst(Comparator.naturalOrder()))))
+                .forEach(entry -> result.add(toFunnelGroup(entry.getKey(), entry.getValue(), marketplaceNames)));
+
+        return OrderFunnelResponse.builder()
+                .startDate(startDate)
+                .endDate(endDate)
+                .period(groupPeriod.name())
+                .groups(result)
+                .build();
+    }
+
+    private OrderFunnelResponse.FunnelGroup toFunnelGroup(GroupKey key, GroupAccumulator accumulator,
+                                                          Map<Long, String> marketplaceNames) {
+        List<OrderFunnelResponse.StageConversion> stages = new ArrayList<>();
+        long entered = accumulator.reachedStage[0];
+        for (int i = 0; i < FUNNEL_STAGES.size(); i++) {
+            long reached = accumulator.reachedStage[i];
+            long previous = i == 0 ? entered : accumulator.reachedStage[i - 1];
+            stages.add(OrderFunnelResponse.StageConversion.builder()
+                    .status(FUNNEL_STAGES.get(i).name())
+                    .orders(reached)
+                    .conversionRate(ratio(reached, entered))
+                    .stepConversionRate(ratio(reached, previous))
+                    .build());
+        }
+
+        List<OrderFunnelResponse.StageDwell> dwellTimes = new ArrayList<>();
+        accumulator.dwellSeconds.forEach((status, histogram) -> dwellTimes.add(
+                OrderFunnelResponse.StageDwell.builder()
+                        .status(status.name())
+                        .samples(histogram.getCount())
+                        .p50Seconds(histogram.getValueAtPercentile(50))
+                        .p90Seconds(histogram.getValueAtPercentile(90))
+                        .p99Seconds(histogram.getValueAtPercentile(99))
+                        .build()));
+
+        return OrderFunnelResponse.FunnelGroup.builder()
+                .periodStart(key.periodStart())
+                .marketplaceId(key.marketplaceId())
+                .marketplaceName(key.marketplaceId() != null ? marketplaceNames.get(key.marketplaceId()) : "Direct Merchant")
+                .orderCount(accumulator.orderCount)
+                .stages(stages)
+                .dwellTimes(dwellTimes)
+                .build();
+    }
+
+    private Map<Long, String> getMarketplaceNames(Set<Long> marketplaceIds) {
+        marketplaceIds.remove(null);
+        Map<Long, String> names = new HashMap<>();
+        for (Marketplace marketplace : marketplaceRepository.findAllById(marketplaceIds)) {
+            names.put(marketplace.getId(), marketplace.getName());
+        }
+        return names;
+    }
+
+    private double ratio(long numerator, long denominator) {
+        return denominator == 0 ? 0.0 : Math.round(numerator * 10000.0 / denominator) / 10000.0;
+    }
+}
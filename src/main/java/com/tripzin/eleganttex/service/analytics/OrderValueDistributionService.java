@@ -0,0 +1,135 @@
+package com.tripzin.eleganttex.service.analytics;
+
+import com.tripzin.eleganttex.dto.response.OrderValueDistributionResponse;
+import com.tripzin.eleganttex.repository.OrderRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service computing the distribution of order values (percentiles and an equal-width histogram)
+ * per marketplace and order type. Percentiles and buckets are computed in the database with
+ * percentile_cont and width_bucket, so no orders are loaded.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OrderValueDistributionService {
+
+    private static final int MAX_BUCKETS = 100;
+
+    private final OrderRepository orderRepository;
+
+    private record GroupKey(Long marketplaceId, String orderType) {
+    }
+
+    /**
+     * Get the order value distribution for the orders created in a date range
+     * @param startDate order creation start date (inclusive)
+     * @param endDate order creation end date (inclusive)
+     * @param marketplaceId optional marketplace filter
+     * @param bucketCount number of histogram buckets between zero and the largest order value, 1 to 100
+     * @return overall distribution and one per marketplace and order type
+     */
+    @Transactional(readOnly = true)
+    public OrderValueDistributionResponse getOrderValueDistribution(LocalDate startDate, LocalDate endDate,
+                                                                    Long marketplaceId, int bucketCount) {
+        log.info("Getting order value distribution from {} to {} for marketplace {} with {} buckets",
+                startDate, endDate, marketplaceId, bucketCount);
+        if (startDate.isAfter(endDate)) {
+            throw new IllegalArgumentException("Start date must not be after end date");
+        }
+        if (bucketCount < 1 || bucketCount > MAX_BUCKETS) {
+            throw new IllegalArgumentException("Buckets must be between 1 and " + MAX_BUCKETS);
+        }
+
+        OrderValueDistributionResponse.ValueDistribution overall = null;
+        Map<GroupKey, OrderValueDistributionResponse.ValueDistribution> groups = new HashMap<>();
+        List<OrderValueDistributionResponse.ValueDistribution> result = new ArrayList<>();
+        for (Object[] row : orderRepository.orderValuePercentiles(
+                startDate.atStartOfDay(), endDate.plusDays(1).atStartOfDay(), marketplaceId)) {
+            OrderValueDistributionResponse.ValueDistribution distribution = toDistribution(row);
+            if ((Boolean) row[0]) {
+                overall = distribution;
+            } else {
+                groups.put(new GroupKey(distribution.getMarketplaceId(), distribution.getOrderType()), distribution);
+                result.add(distribution);
+            }
+        }
+
+        BigDecimal bucketWidth = null;
+        if (overall != null && overall.getOrderCount() > 0 && overall.getMaxValue().signum() > 0) {
+            BigDecimal upperBound = overall.getMaxValue();
+            bucketWidth = upperBound.divide(BigDecimal.valueOf(bucketCount), 2, RoundingMode.CEILING);
+            initBuckets(overall, bucketWidth, bucketCount);
+            for (OrderValueDistributionResponse.ValueDistribution distribution : result) {
+                initBuckets(distribution, bucketWidth, bucketCount);
+            }
+
+            // Bucket with the rounded-up width so every bucket boundary is a whole amount
+            for (Object[] row : orderRepository.orderValueHistogram(startDate.atStartOfDay(),
+                    endDate.plusDays(1).atStartOfDay(), marketplaceId,
+                    bucketWidth.multiply(BigDecimal.valueOf(bucketCount)), bucketCount)) {
+                OrderValueDistributionResponse.ValueDistribution distribution = (Boolean) row[0]
+                        ? overall
+                        : groups.get(new GroupKey(row[1] != null ? ((Number) row[1]).longValue() : null, (String) row[2]));
+                int bucket = Math.max(((Number) row[3]).intValue(), 1);
+                distribution.getBuckets().get(bucket - 1).setOrderCount(((Number) row[4]).longValue());
+            }
+        }
+
+        result.sort((a, b) -> Long.compare(b.getOrderCount(), a.getOrderCount()));
+        return OrderValueDistributionResponse.builder()
+                .startDate(startDate)
+                .endDate(endDate)
+                .bucketWidth(bucketWidth)
+                .overall(overall)
+                .groups(result)
+                .build();
+    }
+
+    private OrderValueDistributionResponse.ValueDistribution toDistribution(Object[] row) {
+        boolean isOverall = (Boolean) row[0];
+        Long marketplaceId = row[1] != null ? ((Number) row[1]).longValue() : null;
+        String marketplaceName = isOverall ? null : marketplaceId != null ? (String) row[2] : "Direct Merchant";
+        return OrderValueDistributionResponse.ValueDistribution.builder()
+                .marketplaceId(marketplaceId)
+                .marketplaceName(marketplaceName)
+                .orderType((String) row[3])
+                .orderCount(((Number) row[4]).longValue())
+                .minValue(toAmount(row[5]))
+                .maxValue(toAmount(row[6]))
+                .averageValue(toAmount(row[7]))
+                .p50(toAmount(row[8]))
+                .p90(toAmount(row[9]))
+                .p99(toAmount(row[10]))
+                .buckets(new ArrayList<>())
+                .build();
+    }
+
+    private void initBuckets(OrderValueDistributionResponse.ValueDistribution distribution, BigDecimal bucketWidth, int bucketCount) {
+        for (int i = 0; i < bucketCount; i++) {
+            distribution.getBuckets().add(OrderValueDistributionResponse.ValueBucket.builder()
+                    .lowerBound(bucketWidth.multiply(BigDecimal.valueOf(i)))
+                    .upperBound(bucketWidth.multiply(BigDecimal.valueOf(i + 1L)))
+                    .build());
+        }
+    }
+
+    private BigDecimal toAmount(Object value) {
+        if (value == null) {
+            return null;
+        }
+        BigDecimal amount = value instanceof BigDecimal decimal ? decimal : BigDecimal.valueOf(((Number) value).doubleValue());
+        return amount.setScale(2, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,115 @@
+package com.tripzin.eleganttex.service.analytics;
+
+import com.tripzin.eleganttex.dto.response.ProductDemandResponse;
+import com.tripzin.eleganttex.repository.OrderProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Service computing the top fabrics, product types or style codes by quantity and revenue per period.
+ * Exact results are aggregated in the database; approximate results come from the in-memory
+ * demand sketches and need no query, but only cover the recent rolling window.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProductDemandAnalyticsService {
+
+    private final OrderProductRepository orderProductRepository;
+    private final ProductDemandSketches demandSketches;
+
+    /**
+     * Get the top-N keys of a dimension by quantity and by revenue for each period
+     * @param startDate order creation start date (inclusive)
+     * @param endDate order creation end date (inclusive)
+     * @param dimension fabric, productType or styleCode
+     * @param period grouping period (day/week/month), defaults to month
+     * @param limit number of keys per ranking
+     * @param approximate true to answer from the rolling-window sketches
+     * @return top demand per period
+     */
+    @Transactional(readOnly = true)
+    public ProductDemandResponse getTopDemand(LocalDate startDate, LocalDate endDate, String dimension,
+                                              String period, int limit, boolean approximate) {
+        log.info("Getting top {} {} demand from {} to {} by {}, approximate: {}",
+                limit, dimension, startDate, endDate, period, approximate);
+        if (startDate.isAfter(endDate)) {
+            throw new IllegalArgumentException("Start date must not be after end date");
+        }
+        if (limit < 1) {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+        DemandDimension demandDimension = DemandDimension.fromString(dimension);
+        AnalyticsPeriod groupPeriod = AnalyticsPeriod.fromString(period);
+
+        Map<LocalDate, Map<ProductDemandSketches.DemandKey, ProductDemandSketches.DemandTotals>> periods = new TreeMap<>();
+        if (approximate) {
+            LocalDate windowStart = demandSketches.getWindowStart(LocalDate.now());
+            if (startDate.isBefore(windowStart)) {
+                throw new IllegalArgumentException("Approximate demand is only available from " + windowStart);
+            }
+            for (LocalDate day = startDate; !day.isAfter(endDate); day = day.plusDays(1)) {
+                Map<ProductDemandSketches.DemandKey, ProductDemandSketches.DemandTotals> totals =
+                        periods.computeIfAbsent(groupPeriod.start(day), p -> new HashMap<>());
+                demandSketches.estimate(demandDimension, day)
+                        .forEach((key, value) -> totals.merge(key, value, ProductDemandSketches.DemandTotals::plus));
+            }
+        } else {
+            for (Object[] row : demandDimension.sumDemand(orderProductRepository, groupPeriod.truncField(),
+                    startDate.atStartOfDay(), endDate.plusDays(1).atStartOfDay())) {
+                ProductDemandSketches.DemandKey key = new ProductDemandSketches.DemandKey(
+                        row[1] != null ? ((Number) row[1]).longValue() : null, (String) row[2], (String) row[3]);
+                periods.computeIfAbsent(ProductDemandSketches.toLocalDate(row[0]), p -> new HashMap<>())
+                        .put(key, new ProductDemandSketches.DemandTotals(((Number) row[4]).longValue(), (BigDecimal) row[5]));
+            }
+        }
+
+        List<ProductDemandResponse.PeriodDemand> result = new ArrayList<>();
+        periods.forEach((periodStart, totals) -> {
+            if (!totals.isEmpty()) {
+                result.add(ProductDemandResponse.PeriodDemand.builder()
+                        .periodStart(periodStart)
+                        .topByQuantity(top(totals, Comparator.comparingLong(ProductDemandSketches.DemandTotals::quantity), limit))
+                        .topByRevenue(top(totals, Comparator.comparing(ProductDemandSketches.DemandTotals::revenue), limit))
+                        .build());
+            }
+        });
+
+        return ProductDemandResponse.builder()
+                .startDate(startDate)
+                .endDate(endDate)
+                .period(groupPeriod.name())
+                .dimension(demandDimension.name())
+                .approximate(approximate)
+                .periods(result)
+                .build();
+    }
+
+    private List<ProductDemandResponse.DemandItem> top(
+            Map<ProductDemandSketches.DemandKey, ProductDemandSketches.DemandTotals> totals,
+            Comparator<ProductDemandSketches.DemandTotals> measure, int limit) {
+        return totals.entrySet().stream()
+                .sorted(Map.Entry.<ProductDemandSketches.DemandKey, ProductDemandSketches.DemandTotals>comparingByValue(measure.reversed())
+                        .thenComparing(entry -> entry.getKey().code(), Comparator.nullsLast(Comparator.naturalOrder())))
+                .limit(limit)
+                .map(entry -> ProductDemandResponse.DemandItem.builder()
+                        .id(entry.getKey().id())
+                        .code(entry.getKey().code())
+                        .name(entry.getKey().name())
+                        .quantity(entry.getValue().quantity())
+                        .revenue(entry.getValue().revenue())
+                        .build())
+                .toList();
+    }
+}
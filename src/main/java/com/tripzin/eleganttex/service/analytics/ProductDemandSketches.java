@@ -0,0 +1,151 @@
+package com.tripzin.eleganttex.service.analytics;
+
+import com.tripzin.eleganttex.repository.OrderProductRepository;
+import com.tripzin.eleganttex.service.OrderProductDemandEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Approximate product demand over a rolling window of recent days.
+ * Each day keeps one fixed-capacity space-saving sketch per dimension for quantity and one for revenue,
+ * so memory is bounded by window days x dimensions x capacity regardless of catalogue size.
+ * Seeded from the database at startup and updated after commit of every product line change.
+ */
+@Service
+@Slf4j
+public class ProductDemandSketches {
+
+    /**
+     * Identity of a fabric, product type or style code; style codes have no id
+     */
+    public record DemandKey(Long id, String code, String name) {
+    }
+
+    /**
+     * Quantity and revenue of one key
+     */
+    public record DemandTotals(long quantity, BigDecimal revenue) {
+
+        public DemandTotals plus(DemandTotals other) {
+            return new DemandTotals(quantity + other.quantity, revenue.add(other.revenue));
+        }
+    }
+
+    private final OrderProductRepository orderProductRepository;
+    private final int capacity;
+    private final int windowDays;
+    private final ConcurrentMap<LocalDate, DaySketches> days = new ConcurrentHashMap<>();
+
+    /**
+     * Sketches of one day; revenue is tracked in cents
+     */
+    private final class DaySketches {
+        private final Map<DemandDimension, SpaceSavingSketch<DemandKey>> quantity = new EnumMap<>(DemandDimension.class);
+        private final Map<DemandDimension, SpaceSavingSketch<DemandKey>> revenueCents = new EnumMap<>(DemandDimension.class);
+
+        private DaySketches() {
+            for (DemandDimension dimension : DemandDimension.values()) {
+                quantity.put(dimension, new SpaceSavingSketch<>(capacity));
+                revenueCents.put(dimension, new SpaceSavingSketch<>(capacity));
+            }
+        }
+
+        private void add(DemandDimension dimension, DemandKey key, long quantityDelta, BigDecimal revenueDelta) {
+            quantity.get(dimension).add(key, quantityDelta);
+            revenueCents.get(dimension).add(key, revenueDelta.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValue());
+        }
+    }
+
+    public ProductDemandSketches(
+            OrderProductRepository orderProductRepository,
+            @Value("${app.demand-sketch.capacity:64}") int capacity,
+            @Value("${app.demand-sketch.window-days:30}") int windowDays) {
+        this.orderProductRepository = orderProductRepository;
+        this.capacity = capacity;
+        this.windowDays = windowDays;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seedOnStartup() {
+        LocalDate today = LocalDate.now();
+        LocalDate windowStart = getWindowStart(today);
+        for (DemandDimension dimension : DemandDimension.values()) {
+            for (Object[] row : dimension.sumDemand(orderProductRepository, AnalyticsPeriod.DAY.truncField(),
+                    windowStart.atStartOfDay(), today.plusDays(1).atStartOfDay())) {
+                days.computeIfAbsent(toLocalDate(row[0]), day -> new DaySketches()).add(
+                        dimension,
+                        new DemandKey(row[1] != null ? ((Number) row[1]).longValue() : null, (String) row[2], (String) row[3]),
+                        ((Number) row[4]).longValue(),
+                        (BigDecimal) row[5]);
+            }
+        }
+        log.info("Seeded product demand sketches for {} days starting {}", days.size(), windowStart);
+    }
+
+    /**
+     * Apply a committed product line change to the sketches of the order's creation day
+     */
+    @TransactionalEventListener
+    public void onProductDemandChanged(OrderProductDemandEvent event) {
+        LocalDate today = LocalDate.now();
+        LocalDate windowStart = getWindowStart(today);
+        days.keySet().removeIf(day -> day.isBefore(windowStart));
+        if (event.day().isBefore(windowStart)) {
+            return;
+        }
+        DaySketches sketches = days.computeIfAbsent(event.day(), day -> new DaySketches());
+        sketches.add(DemandDimension.FABRIC,
+                new DemandKey(event.fabricId(), event.fabricCode(), event.fabricName()),
+                event.quantity(), event.revenue());
+        sketches.add(DemandDimension.PRODUCT_TYPE,
+                new DemandKey(event.productTypeId(), event.productTypeName(), event.productTypeName()),
+                event.quantity(), event.revenue());
+        if (event.styleCode() != null) {
+            sketches.add(DemandDimension.STYLE_CODE,
+                    new DemandKey(null, event.styleCode(), event.styleCode()),
+                    event.quantity(), event.revenue());
+        }
+    }
+
+    /**
+     * First day still covered by the rolling window
+     */
+    public LocalDate getWindowStart(LocalDate today) {
+        return today.minusDays(windowDays - 1L);
+    }
+
+    /**
+     * Estimated totals of the heavy hitters of one day. A key missing from one of the
+     * quantity or revenue sketches reports zero for that measure.
+     */
+    public Map<DemandKey, DemandTotals> estimate(DemandDimension dimension, LocalDate day) {
+        DaySketches sketches = days.get(day);
+        Map<DemandKey, DemandTotals> result = new HashMap<>();
+        if (sketches == null) {
+            return result;
+        }
+        sketches.quantity.get(dimension).estimates().forEach((key, quantity) ->
+                result.put(key, new DemandTotals(quantity, BigDecimal.ZERO.setScale(2))));
+        sketches.revenueCents.get(dimension).estimates().forEach((key, cents) ->
+                result.merge(key, new DemandTotals(0, BigDecimal.valueOf(cents, 2)), DemandTotals::plus));
+        return result;
+    }
+
+    static LocalDate toLocalDate(Object value) {
+        return value instanceof Date date ? date.toLocalDate() : (LocalDate) value;
+    }
+}
@@ -0,0 +1,67 @@
+package com.tripzin.eleganttex.service.analytics;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Space-saving heavy-hitter sketch tracking at most {@code capacity} keys.
+ * When full, a new key replaces the key with the smallest count and inherits that count,
+ * so estimates never undercount and overcount by at most the count they inherited.
+ * Any key whose true weight exceeds total / capacity is guaranteed to be tracked.
+ * Negative weights (retractions) only adjust keys that are still tracked.
+ */
+public class SpaceSavingSketch<K> {
+
+    private final int capacity;
+    // Per key a single-element array holding the estimated count
+    private final Map<K, long[]> counters;
+
+    public SpaceSavingSketch(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.counters = new HashMap<>(capacity * 2);
+    }
+
+    /**
+     * Add a weight to a key; the minimum is found by a linear scan, which is cheap for small capacities
+     */
+    public synchronized void add(K key, long weight) {
+        if (weight == 0) {
+            return;
+        }
+        long[] counter = counters.get(key);
+        if (counter != null) {
+            counter[0] = Math.max(0, counter[0] + weight);
+            return;
+        }
+        if (weight < 0) {
+            // Untracked key: its weight was never counted or already evicted
+            return;
+        }
+        if (counters.size() < capacity) {
+            counters.put(key, new long[]{weight});
+            return;
+        }
+        K minKey = null;
+        long[] min = null;
+        for (Map.Entry<K, long[]> entry : counters.entrySet()) {
+            if (min == null || entry.getValue()[0] < min[0]) {
+                minKey = entry.getKey();
+                min = entry.getValue();
+            }
+        }
+        counters.remove(minKey);
+        counters.put(key, new long[]{min[0] + weight});
+    }
+
+    /**
+     * Snapshot of the estimated count of every tracked key
+     */
+    public synchronized Map<K, Long> estimates() {
+        Map<K, Long> result = new HashMap<>(counters.size() * 2);
+        counters.forEach((key, counter) -> result.put(key, counter[0]));
+        return result;
+    }
+}
@@ -0,0 +1,111 @@
+package com.tripzin.eleganttex.service.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.tripzin.eleganttex.dto.response.OrderResponse;
+import com.tripzin.eleganttex.entity.Order;
+import com.tripzin.eleganttex.repository.OrderFilter;
+import com.tripzin.eleganttex.repository.OrderRepository;
+import com.tripzin.eleganttex.repository.OrderSpecifications;
+import com.tripzin.eleganttex.service.mapper.OrderMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Component for exporting orders as newline-delimited JSON, one OrderResponse per line.
+ * Orders are read through a database cursor and written in chunks, each mapped with one batch of
+ * queries and then detached, so memory use does not depend on the number of exported orders.
+ */
+@Component
+@Slf4j
+public class OrderNdjsonExporter {
+
+    /**
+     * Rows fetched from the cursor per round trip
+     */
+    private static final int FETCH_SIZE = 500;
+
+    /**
+     * Orders mapped and written together before the persistence context is cleared
+     */
+    private static final int CHUNK_SIZE = 200;
+
+    /**
+     * Oldest change first, so an interrupted sync can resume from the updatedAt of the last line it read
+     */
+    private static final Sort LAST_UPDATED_FIRST = Sort.by(Sort.Direction.ASC, "updatedAt", "id");
+
+    private final OrderRepository orderRepository;
+    private final OrderMapper orderMapper;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectWriter orderWriter;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public OrderNdjsonExporter(OrderRepository orderRepository, OrderMapper orderMapper,
+                               PlatformTransactionManager transactionManager, ObjectMapper objectMapper) {
+        this.orderRepository = orderRepository;
+        this.orderMapper = orderMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.orderWriter = objectMapper.writerFor(OrderResponse.class);
+    }
+
+    /**
+     * Body writing the orders matching a filter when the response is sent
+     * @param filter order filter, including the creator restriction of the current user
+     * @return response body streaming the orders, oldest change first
+     */
+    public StreamingResponseBody export(OrderFilter filter) {
+        return out -> {
+            long exported = readOnlyTransaction.execute(status -> write(filter, out));
+            log.info("Exported {} orders as NDJSON", exported);
+        };
+    }
+
+    private long write(OrderFilter filter, OutputStream out) {
+        long exported = 0;
+        try (Stream<Order> orders = orderRepository.streamAll(
+                OrderSpecifications.matching(filter), LAST_UPDATED_FIRST, FETCH_SIZE)) {
+            List<Order> chunk = new ArrayList<>(CHUNK_SIZE);
+            Iterator<Order> iterator = orders.iterator();
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == CHUNK_SIZE || !iterator.hasNext()) {
+                    writeChunk(chunk, out);
+                    exported += chunk.size();
+                    chunk.clear();
+                    // Detach the written orders and their associations; the cursor stays open
+                    entityManager.clear();
+                }
+            }
+        } catch (IOException e) {
+            // Typically the client went away; rolling back the read-only transaction releases the cursor
+            throw new UncheckedIOException("Order export aborted after " + exported + " orders", e);
+        }
+        return exported;
+    }
+
+    private void writeChunk(List<Order> chunk, OutputStream out) throws IOException {
+        for (OrderResponse response : orderMapper.mapOrdersToResponses(chunk)) {
+            out.write(orderWriter.writeValueAsBytes(response));
+            out.write('\n');
+        }
+        out.flush();
+    }
+}
@@ -0,0 +1,221 @@
+package com.tripzin.eleganttex.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tripzin.eleganttex.dto.response.DailyOrderCountAmountResponse;
+import com.tripzin.eleganttex.dto.response.DailyOrderCountResponse;
+import com.tripzin.eleganttex.dto.response.DashboardStatisticsResponse;
+import com.tripzin.eleganttex.dto.response.MarketplaceOrderStatisticsResponse;
+import com.tripzin.eleganttex.dto.response.OrderStatisticsSummaryResponse;
+import com.tripzin.eleganttex.dto.response.OrderStatusCountResponse;
+import com.tripzin.eleganttex.dto.response.SalesDataResponse;
+import com.tripzin.eleganttex.dto.response.UserOrderStatisticsResponse;
+import com.tripzin.eleganttex.service.OrderRollupChangedEvent;
+import com.tripzin.eleganttex.service.OrderStatisticsService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Caching decorator for OrderStatisticsService.
+ * Results are cached per (method, date range, order type) and evicted after commit of any
+ * write that touches a day inside the cached range, so closed periods are computed once.
+ * A result whose load overlapped an eviction is returned but not cached, as it may predate the write.
+ */
+@Service
+@Primary
+@Slf4j
+public class CachingOrderStatisticsService implements OrderStatisticsService {
+
+    private final OrderStatisticsServiceImpl delegate;
+    private final Cache<StatisticsKey, Object> cache;
+
+    /**
+     * Incremented on every eviction, so a load can tell whether one happened while it ran
+     */
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * Cache key; month and "current" variants are resolved to their date range so they share entries
+     */
+    record StatisticsKey(String method, LocalDate startDate, LocalDate endDate, String orderType) {
+
+        boolean overlaps(LocalDate startDay, LocalDate endDay) {
+            return !startDate.isAfter(endDay) && !endDate.isBefore(startDay);
+        }
+    }
+
+    public CachingOrderStatisticsService(
+            OrderStatisticsServiceImpl delegate,
+            MeterRegistry meterRegistry,
+            @Value("${app.statistics-cache.maximum-size:1000}") long maximumSize,
+            @Value("${app.statistics-cache.expire-after-write:PT10M}") Duration expireAfterWrite) {
+        this.delegate = delegate;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "order.statistics");
+    }
+
+    /**
+     * Evict every cached result whose date range contains a day changed by a committed write
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRollupChanged(OrderRollupChangedEvent event) {
+        evictions.incrementAndGet();
+        cache.asMap().keySet().removeIf(key -> key.overlaps(event.startDay(), event.endDay()));
+        log.debug("Evicted cached order statistics overlapping {} to {}", event.startDay(), event.endDay());
+    }
+
+    @Override
+    public List<OrderStatusCountResponse> getOrderStatusCounts(boolean currentMonth, String orderType) {
+        // Served from in-memory live counters, nothing to cache
+        return delegate.getOrderStatusCounts(currentMonth, orderType);
+    }
+
+    @Override
+    public List<OrderStatusCountResponse> getOrderStatusCountsByMonth(int month, int year, String orderType) {
+        LocalDate startDate = monthStart(month, year);
+        return getOrderStatusCountsByDateRange(startDate, monthEnd(startDate), orderType);
+    }
+
+    @Override
+    public List<OrderStatusCountResponse> getOrderStatusCountsByDateRange(LocalDate startDate, LocalDate endDate, String orderType) {
+        return cached("statusCounts", startDate, endDate, orderType,
+                () -> delegate.getOrderStatusCountsByDateRange(startDate, endDate, orderType));
+    }
+
+    @Override
+    public List<UserOrderStatisticsResponse> getUserOrderStatistics(boolean currentMonth, String orderType) {
+        LocalDate now = LocalDate.now();
+        return getUserOrderStatisticsByDateRange(currentPeriodStart(now, currentMonth), now, orderType);
+    }
+
+    @Override
+    public List<UserOrderStatisticsResponse> getUserOrderStatisticsByMonth(int month, int year, String orderType) {
+        LocalDate startDate = monthStart(month, year);
+        return getUserOrderStatisticsByDateRange(startDate, monthEnd(startDate), orderType);
+    }
+
+    @Override
+    public List<UserOrderStatisticsResponse> getUserOrderStatisticsByDateRange(LocalDate startDate, LocalDate endDate, String orderType) {
+        return cached("userStatistics", startDate, endDate, orderType,
+                () -> delegate.getUserOrderStatisticsByDateRange(startDate, endDate, orderType));
+    }
+
+    @Override
+    public List<MarketplaceOrderStatisticsResponse> getMarketplaceOrderStatistics(boolean currentMonth, String orderType) {
+        LocalDate now = LocalDate.now();
+        return getMarketplaceOrderStatisticsByDateRange(currentPeriodStart(now, currentMonth), now, orderType);
+    }
+
+    @Override
+    public List<MarketplaceOrderStatisticsResponse> getMarketplaceOrderStatisticsByMonth(int month, int year, String orderType) {
+        LocalDate startDate = monthStart(month, year);
+        return getMarketplaceOrderStatisticsByDateRange(startDate, monthEnd(startDate), orderType);
+    }
+
+    @Override
+    public List<MarketplaceOrderStatisticsResponse> getMarketplaceOrderStatisticsByDateRange(LocalDate startDate, LocalDate endDate, String orderType) {
+        return cached("marketplaceStatistics", startDate, endDate, orderType,
+                () -> delegate.getMarketplaceOrderStatisticsByDateRange(startDate, endDate, orderType));
+    }
+
+    @Override
+    public List<DailyOrderCountResponse> getMonthlyOrderData(LocalDate startDate, LocalDate endDate) {
+        return cached("monthlyData", startDate, endDate, null,
+                () -> delegate.getMonthlyOrderData(startDate, endDate));
+    }
+
+    @Override
+    public List<DailyOrderCountAmountResponse> getMonthlyOrderCountAndAmount(Integer month, Integer year, boolean currentMonth, String orderType) {
+        if (month != null && year != null) {
+            LocalDate startDate = monthStart(month, year);
+            return getMonthlyOrderCountAndAmountByDateRange(startDate, monthEnd(startDate), orderType);
+        }
+        LocalDate now = LocalDate.now();
+        return getMonthlyOrderCountAndAmountByDateRange(currentPeriodStart(now, currentMonth), now, orderType);
+    }
+
+    @Override
+    public List<DailyOrderCountAmountResponse> getMonthlyOrderCountAndAmountByDateRange(LocalDate startDate, LocalDate endDate, String orderType) {
+        return cached("monthlyCountAmount", startDate, endDate, orderType,
+                () -> delegate.getMonthlyOrderCountAndAmountByDateRange(startDate, endDate, orderType));
+    }
+
+    @Override
+    public SalesDataResponse getSalesData(LocalDate startDate, LocalDate endDate, String orderType) {
+        if (startDate == null || endDate == null) {
+            LocalDate now = LocalDate.now();
+            return getSalesData(now.withDayOfMonth(1), now, orderType);
+        }
+        return cached("sales", startDate, endDate, orderType,
+                () -> delegate.getSalesData(startDate, endDate, orderType));
+    }
+
+    @Override
+    public OrderStatisticsSummaryResponse getOrderStatisticsSummary(LocalDate startDate, LocalDate endDate, String orderType) {
+        return cached("summary", startDate, endDate, orderType,
+                () -> delegate.getOrderStatisticsSummary(startDate, endDate, orderType));
+    }
+
+    @Override
+    public DashboardStatisticsResponse getDashboardStatistics(LocalDate startDate, LocalDate endDate, String orderType) {
+        if (startDate == null || endDate == null) {
+            LocalDate now = LocalDate.now();
+            return getDashboardStatistics(now.withDayOfMonth(1), now, orderType);
+        }
+        return cached("dashboard", startDate, endDate, orderType,
+                () -> delegate.getDashboardStatistics(startDate, endDate, orderType));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T cached(String method, LocalDate startDate, LocalDate endDate, String orderType, Supplier<T> loader) {
+        StatisticsKey key = new StatisticsKey(method, startDate, endDate, orderType);
+        Object cachedValue = cache.getIfPresent(key);
+        if (cachedValue != null) {
+            return (T) cachedValue;
+        }
+        long evictionsBefore = evictions.get();
+        T value = loader.get();
+        if (value == null || evictions.get() != evictionsBefore) {
+            return value;
+        }
+        cache.put(key, value);
+        // An eviction between the check and the put may have run before the put; drop the entry again
+        if (evictions.get() != evictionsBefore) {
+            cache.asMap().remove(key, value);
+        }
+        return value;
+    }
+
+    /**
+     * First day of the current month or year
+     */
+    private LocalDate currentPeriodStart(LocalDate now, boolean currentMonth) {
+        return currentMonth ? now.withDayOfMonth(1) : now.withDayOfYear(1);
+    }
+
+    /**
+     * First day of a month; month is 0-based as sent by the frontend
+     */
+    private LocalDate monthStart(int month, int year) {
+        return LocalDate.of(year, month + 1, 1);
+    }
+
+    private LocalDate monthEnd(LocalDate monthStart) {
+        return monthStart.plusMonths(1).minusDays(1);
+    }
+}
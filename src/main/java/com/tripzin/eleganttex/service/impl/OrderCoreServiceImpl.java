@@ -5,6 +5,7 @@ import com.tripzin.eleganttex.dto.request.OrderRequest;
 import com.tripzin.eleganttex.dto.response.CustomerResponse;
 import com.tripzin.eleganttex.dto.response.OrderResponse;
 import com.tripzin.eleganttex.entity.Customer;
+import com.tripzin.eleganttex.entity.Fabric;
 import com.tripzin.eleganttex.entity.Marketplace;
 import com.tripzin.eleganttex.entity.Order;
 import com.tripzin.eleganttex.entity.OrderProduct;
@@ -20,13 +21,18 @@ import com.tripzin.eleganttex.repository.OrderStatusHistoryRepository;
 import com.tripzin.eleganttex.repository.UserRepository;
 import com.tripzin.eleganttex.service.CustomerService;
 import com.tripzin.eleganttex.service.OrderCalculationService;
+import com.tripzin.eleganttex.service.OrderChangedEvent;
 import com.tripzin.eleganttex.service.OrderCoreService;
+import com.tripzin.eleganttex.service.OrderNumberAllocator;
 import com.tripzin.eleganttex.service.OrderProductHandler;
+import com.tripzin.eleganttex.service.OrderRollupService;
+import com.tripzin.eleganttex.service.ReferenceDataCache;
 import com.tripzin.eleganttex.service.mapper.OrderMapper;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -56,6 +62,10 @@ public class OrderCoreServiceImpl implements OrderCoreService {
     private final OrderMapper orderMapper;
     private final OrderCalculationService calculationService;
     private final OrderProductHandler productHandler;
+    private final OrderNumberAllocator orderNumberAllocator;
+    private final ReferenceDataCache referenceDataCache;
+    private final OrderRollupService rollupService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Create a new order
@@ -91,7 +101,7 @@ public class OrderCoreServiceImpl implements OrderCoreService {
         BigDecimal totalAmount = calculationService.calculateTotalFromRequests(orderRequest.getProducts())
                 .add(orderRequest.getDeliveryCharge());
         
-        // Create order with a temporary order number
+        // Create order with its final order number
         Order order = createInitialOrder(marketplace, customer, orderRequest, totalAmount, currentUser);
         
         // Create initial status history
@@ -100,22 +110,8 @@ public class OrderCoreServiceImpl implements OrderCoreService {
         // Create products with product-specific files
         createOrderProducts(order, orderRequest.getProducts(), files, request);
 
-        // Set final order number using first product's fabric code and style code
-        List<OrderProduct> createdProducts = orderProductRepository.findByOrderId(order.getId());
-        if (createdProducts != null && !createdProducts.isEmpty()) {
-            OrderProduct first = createdProducts.get(0);
-            String fabricCode = first.getFabric() != null && first.getFabric().getFabricCode() != null 
-                ? first.getFabric().getFabricCode() : "";
-            String styleCode = first.getStyleCode() != null ? first.getStyleCode() : "";
-            
-            if (fabricCode.isEmpty() || styleCode.isEmpty()) {
-                throw new IllegalArgumentException("Fabric code and style code are mandatory for order number generation");
-            }
-            
-            String finalOrderNumber = String.format("ET-%s-%s-%d", fabricCode, styleCode, order.getId());
-            order.setOrderNumber(finalOrderNumber);
-            orderRepository.save(order);
-        }
+        orderRepository.refreshSearchVector(order.getId());
+        rollupService.recordCreated(order);
 
         return orderMapper.mapOrderToResponse(order);
     }
@@ -176,8 +172,12 @@ public class OrderCoreServiceImpl implements OrderCoreService {
         Customer customer = getOrCreateCustomer(orderRequest);
         BigDecimal totalAmount = calculationService.calculateTotalFromRequests(orderRequest.getProducts())
                 .add(orderRequest.getDeliveryCharge());
+        OrderRollupService.OrderSnapshot before = rollupService.snapshot(order);
         updateOrderFields(order, marketplace, customer, orderRequest, totalAmount);
         updateOrderProducts(order, orderRequest.getProducts(), files, request);
+        orderRepository.refreshSearchVector(order.getId());
+        rollupService.recordChanged(before, order);
+        eventPublisher.publishEvent(new OrderChangedEvent(order.getId()));
         return orderMapper.mapOrderToResponse(order);
     }
 
@@ -200,7 +200,11 @@ public class OrderCoreServiceImpl implements OrderCoreService {
         }
         
         // Delete order (cascade will delete products, images, and status history)
+        OrderRollupService.OrderSnapshot before = rollupService.snapshot(order);
+        order.getProducts().forEach(product -> productHandler.publishDemandChange(product, -1));
         orderRepository.deleteById(id);
+        rollupService.recordDeleted(before);
+        eventPublisher.publishEvent(new OrderChangedEvent(id));
     }
     
     /**
@@ -234,32 +238,20 @@ public class OrderCoreServiceImpl implements OrderCoreService {
                 .status(OrderStatus.ORDER_CREATED)
                 .totalAmount(sourceOrder.getTotalAmount())
                 .createdBy(currentUser)
-                .orderNumber("TEMP-" + System.currentTimeMillis()) // Temporary order number
                 .build();
         
-        // Save the order first to get the ID
-        Order savedOrder = orderRepository.save(newOrder);
-        
-        // Set final order number using first product of source order
-        String fabricCode = "";
-        String styleCode = "";
+        // Set the final order number using the first product of the source order, then save once
+        String fabricCode = null;
+        String styleCode = null;
         if (sourceOrder.getProducts() != null && !sourceOrder.getProducts().isEmpty()) {
             OrderProduct first = sourceOrder.getProducts().get(0);
-            if (first.getFabric() != null && first.getFabric().getFabricCode() != null) {
+            if (first.getFabric() != null) {
                 fabricCode = first.getFabric().getFabricCode();
             }
-            if (first.getStyleCode() != null) {
-                styleCode = first.getStyleCode();
-            }
+            styleCode = first.getStyleCode();
         }
-        
-        if (fabricCode.isEmpty() || styleCode.isEmpty()) {
-            throw new IllegalArgumentException("Fabric code and style code are mandatory for order number generation");
-        }
-        
-        String orderNumber = String.format("ET-%s-%s-%d", fabricCode, styleCode, savedOrder.getId());
-        savedOrder.setOrderNumber(orderNumber);
-        savedOrder = orderRepository.save(savedOrder);
+        orderNumberAllocator.assign(newOrder, fabricCode, styleCode);
+        Order savedOrder = orderRepository.save(newOrder);
         
         // Create initial status history with note about reusing the original order
         OrderStatusHistory statusHistory = OrderStatusHistory.builder()
@@ -283,6 +275,7 @@ public class OrderCoreServiceImpl implements OrderCoreService {
                     .build();
             
             OrderProduct savedProduct = orderProductRepository.save(newProduct);
+            productHandler.publishDemandChange(savedProduct, 1);
             
             // Copy images if needed
             if (sourceProduct.getImages() != null && !sourceProduct.getImages().isEmpty()) {
@@ -290,6 +283,9 @@ public class OrderCoreServiceImpl implements OrderCoreService {
             }
         }
         
+        orderRepository.refreshSearchVector(savedOrder.getId());
+        rollupService.recordCreated(savedOrder);
+        
         return orderMapper.mapOrderToResponse(savedOrder);
     }
     
@@ -341,11 +337,11 @@ public class OrderCoreServiceImpl implements OrderCoreService {
     }
     
     /**
-     * Create initial order
+     * Create initial order, numbered after the fabric code and style code of its first product
      */
     private Order createInitialOrder(Marketplace marketplace, Customer customer, OrderRequest orderRequest, BigDecimal totalAmount, User currentUser) {
-        // Create order with a temporary order number to avoid constraint violation
-        String tempOrderNumber = "TEMP-" + System.currentTimeMillis();
+        OrderProductRequest firstProduct = orderRequest.getProducts().get(0);
+        Fabric firstFabric = referenceDataCache.getFabric(firstProduct.getFabricId());
         
         Order order = Order.builder()
                 .marketplace(marketplace)
@@ -357,18 +353,10 @@ public class OrderCoreServiceImpl implements OrderCoreService {
                 .status(OrderStatus.ORDER_CREATED)
                 .totalAmount(totalAmount)
                 .createdBy(currentUser)
-                .orderNumber(tempOrderNumber)
                 .build();
         
-        // Save the order first to get the ID
-        Order savedOrder = orderRepository.save(order);
-        
-        // Generate and set the custom order number
-        String orderNumber = String.format("ET-ORD-%04d", savedOrder.getId());
-        savedOrder.setOrderNumber(orderNumber);
-        
-        // Save again with the proper order number
-        return orderRepository.save(savedOrder);
+        orderNumberAllocator.assign(order, firstFabric.getFabricCode(), firstProduct.getStyleCode());
+        return orderRepository.save(order);
     }
     
     /**
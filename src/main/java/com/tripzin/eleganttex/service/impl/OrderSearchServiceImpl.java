@@ -1,27 +1,45 @@
 package com.tripzin.eleganttex.service.impl;
 
+import com.tripzin.eleganttex.dto.request.OrderFilterRequest;
+import com.tripzin.eleganttex.dto.response.CursorPageResponse;
+import com.tripzin.eleganttex.dto.response.OrderFacetsResponse;
 import com.tripzin.eleganttex.dto.response.OrderResponse;
+import com.tripzin.eleganttex.dto.response.OrderSummaryResponse;
 import com.tripzin.eleganttex.entity.Order;
-import com.tripzin.eleganttex.entity.OrderProduct;
 import com.tripzin.eleganttex.entity.OrderStatus;
 import com.tripzin.eleganttex.entity.OrderType;
+import com.tripzin.eleganttex.exception.BadRequestException;
 import com.tripzin.eleganttex.exception.ResourceNotFoundException;
+import com.tripzin.eleganttex.repository.OrderFacet;
+import com.tripzin.eleganttex.repository.OrderFilter;
 import com.tripzin.eleganttex.repository.OrderRepository;
+import com.tripzin.eleganttex.repository.OrderSpecifications;
+import com.tripzin.eleganttex.service.OrderCursor;
 import com.tripzin.eleganttex.service.OrderSearchService;
+import com.tripzin.eleganttex.service.export.OrderNdjsonExporter;
 import com.tripzin.eleganttex.service.mapper.OrderMapper;
+import com.tripzin.eleganttex.service.similarity.SimilarOrderIndex;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.util.ArrayList;
+import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -32,8 +50,14 @@ import java.util.stream.Collectors;
 @Slf4j
 public class OrderSearchServiceImpl implements OrderSearchService {
 
+    private static final int MAX_SCROLL_SIZE = 100;
+    private static final int MAX_SEARCH_WORDS = 10;
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "createdAt", "id");
+
     private final OrderRepository orderRepository;
     private final OrderMapper orderMapper;
+    private final SimilarOrderIndex similarOrderIndex;
+    private final OrderNdjsonExporter orderNdjsonExporter;
 
     /**
      * Get all orders with pagination
@@ -43,11 +67,9 @@ public class OrderSearchServiceImpl implements OrderSearchService {
         log.info("Getting all orders with pagination for user ID: {}, hasReadAllPermission: {}", currentUserId, hasReadAllPermission);
         
         if (hasReadAllPermission) {
-            return orderRepository.findAll(pageable)
-                    .map(orderMapper::mapOrderToResponse);
+            return orderMapper.mapOrderPage(orderRepository.findAll(pageable));
         } else {
-            return orderRepository.findByCreatedById(currentUserId, pageable)
-                    .map(orderMapper::mapOrderToResponse);
+            return orderMapper.mapOrderPage(orderRepository.findByCreatedById(currentUserId, pageable));
         }
     }
 
@@ -59,15 +81,13 @@ public class OrderSearchServiceImpl implements OrderSearchService {
         log.info("Getting orders by marketplace ID: {} for user ID: {}, hasReadAllPermission: {}", marketplaceId, currentUserId, hasReadAllPermission);
         
         if (hasReadAllPermission) {
-            return orderRepository.findByMarketplaceId(marketplaceId, pageable)
-                    .map(orderMapper::mapOrderToResponse);
+            return orderMapper.mapOrderPage(orderRepository.findByMarketplaceId(marketplaceId, pageable));
         } else {
-            // Use the repository method that filters by both marketplace ID and created by user ID
-            OrderStatus status = null;
-            LocalDate startDate = null;
-            LocalDate endDate = null;
-            return orderRepository.findByFiltersWithCreatedBy(status, startDate, endDate, marketplaceId, currentUserId, null, null, null, pageable)
-                    .map(orderMapper::mapOrderToResponse);
+            OrderFilter filter = OrderFilter.builder()
+                    .marketplaceId(marketplaceId)
+                    .createdById(currentUserId)
+                    .build();
+            return findByFilter(filter, pageable);
         }
     }
 
@@ -81,15 +101,13 @@ public class OrderSearchServiceImpl implements OrderSearchService {
         OrderStatus status = OrderStatus.fromString(statusStr);
         
         if (hasReadAllPermission) {
-            return orderRepository.findByStatus(status, pageable)
-                    .map(orderMapper::mapOrderToResponse);
+            return orderMapper.mapOrderPage(orderRepository.findByStatus(status, pageable));
         } else {
-            // Use the repository method that filters by both status and created by user ID
-            LocalDate startDate = null;
-            LocalDate endDate = null;
-            Long marketplaceId = null;
-            return orderRepository.findByFiltersWithCreatedBy(status, startDate, endDate, marketplaceId, currentUserId, null, null, null, pageable)
-                    .map(orderMapper::mapOrderToResponse);
+            OrderFilter filter = OrderFilter.builder()
+                    .status(status)
+                    .createdById(currentUserId)
+                    .build();
+            return findByFilter(filter, pageable);
         }
     }
 
@@ -102,14 +120,14 @@ public class OrderSearchServiceImpl implements OrderSearchService {
                 startDate, endDate, currentUserId, hasReadAllPermission);
         
         if (hasReadAllPermission) {
-            return orderRepository.findByDeliveryDateBetween(startDate, endDate, pageable)
-                    .map(orderMapper::mapOrderToResponse);
+            return orderMapper.mapOrderPage(orderRepository.findByDeliveryDateBetween(startDate, endDate, pageable));
         } else {
-            // Use the repository method that filters by both delivery date range and created by user ID
-            OrderStatus status = null;
-            Long marketplaceId = null;
-            return orderRepository.findByFiltersWithCreatedBy(status, startDate, endDate, marketplaceId, currentUserId, null, null, null, pageable)
-                    .map(orderMapper::mapOrderToResponse);
+            OrderFilter filter = OrderFilter.builder()
+                    .deliveryStartDate(startDate)
+                    .deliveryEndDate(endDate)
+                    .createdById(currentUserId)
+                    .build();
+            return findByFilter(filter, pageable);
         }
     }
 
@@ -120,189 +138,241 @@ public class OrderSearchServiceImpl implements OrderSearchService {
     public Page<OrderResponse> getOrdersByCreatedById(Long userId, Pageable pageable) {
         log.info("Getting orders by user ID: {}", userId);
         
-        return orderRepository.findByCreatedById(userId, pageable)
-                .map(orderMapper::mapOrderToResponse);
+        return orderMapper.mapOrderPage(orderRepository.findByCreatedById(userId, pageable));
     }
 
     /**
      * Get orders by multiple filters
      */
     @Override
-    public Page<OrderResponse> getOrdersByFilters(
-            String orderTypeStr,
-            String statusStr,
-            LocalDate startDate,
-            LocalDate endDate,
-            LocalDate createdStartDate,
-            LocalDate createdEndDate,
-            Long marketplaceId,
-            Boolean isDirectMerchant,
-            String customerName,
-            String orderNumber,
-            String deliveryChannel,
-            Double minAmount,
-            Double maxAmount,
-            Long currentUserId,
-            boolean hasReadAllPermission,
-            Pageable pageable) {
-        log.info("Getting orders by filters: orderType={}, status={}, startDate={}, endDate={}, createdStartDate={}, createdEndDate={}, marketplaceId={}, isDirectMerchant={}, customerName={}, orderNumber={}, deliveryChannel={}, minAmount={}, maxAmount={}, userId={}, hasReadAllPermission={}",
-                orderTypeStr, statusStr, startDate, endDate, createdStartDate, createdEndDate, marketplaceId, isDirectMerchant, customerName, orderNumber, deliveryChannel, minAmount, maxAmount, currentUserId, hasReadAllPermission);
-        
-        OrderStatus status = statusStr != null ? OrderStatus.fromString(statusStr) : null;
-        OrderType orderType = orderTypeStr != null ? OrderType.valueOf(orderTypeStr) : null;
+    public Page<OrderResponse> getOrdersByFilters(OrderFilterRequest filterRequest, Long currentUserId,
+                                                  boolean hasReadAllPermission, Pageable pageable) {
+        log.info("Getting orders by filters: {}, userId={}, hasReadAllPermission={}",
+                filterRequest, currentUserId, hasReadAllPermission);
         
-        // Handle direct merchant filtering
-        if (isDirectMerchant != null && isDirectMerchant) {
-            marketplaceId = null; // Ensure we're looking for orders without marketplace
-        }
-        
-        if (hasReadAllPermission) {
-            if (orderType != null) {
-                // If order type is provided, use the repository method that filters by order type
-                return orderRepository.findByOrderTypeAndFilters(orderType, status, startDate, endDate, marketplaceId, customerName, orderNumber, deliveryChannel, minAmount, maxAmount, pageable)
-                        .map(orderMapper::mapOrderToResponse);
-            } else {
-                // Use delivery date filtering if provided, otherwise use created date filtering
-                LocalDate filterStartDate = startDate != null ? startDate : createdStartDate;
-                LocalDate filterEndDate = endDate != null ? endDate : createdEndDate;
-                
-                return orderRepository.findByFilters(status, filterStartDate, filterEndDate, marketplaceId, customerName, orderNumber, deliveryChannel, minAmount, maxAmount, pageable)
-                        .map(orderMapper::mapOrderToResponse);
-            }
-        } else {
-            // For users without read all permission, always filter by their created orders
-            LocalDate filterStartDate = startDate != null ? startDate : createdStartDate;
-            LocalDate filterEndDate = endDate != null ? endDate : createdEndDate;
-            
-            return orderRepository.findByFiltersWithCreatedBy(status, filterStartDate, filterEndDate, marketplaceId, currentUserId, orderNumber, minAmount, maxAmount, pageable)
-                    .map(orderMapper::mapOrderToResponse);
-        }
+        return findByFilter(buildFilter(filterRequest, currentUserId, hasReadAllPermission), pageable);
     }
-
+    
     /**
-     * Find orders with similar products based on product type, fabric, and description
-     * Limited to returned or cancelled orders
+     * Scroll through orders by multiple filters using keyset pagination
      */
     @Override
-    public List<OrderResponse> findSimilarOrders(Long orderId, int limit, Long currentUserId, boolean hasReadAllPermission) {
-        log.info("Finding similar orders for order ID: {} with limit: {} for user ID: {}, hasReadAllPermission: {}", 
-                orderId, limit, currentUserId, hasReadAllPermission);
+    public CursorPageResponse<OrderResponse> scrollOrdersByFilters(OrderFilterRequest filterRequest, Long currentUserId,
+                                                                   boolean hasReadAllPermission, String cursor, int size) {
+        log.info("Scrolling orders by filters: {}, userId={}, hasReadAllPermission={}, size={}",
+                filterRequest, currentUserId, hasReadAllPermission, size);
         
-        // Get the original order with products
-        Order order = orderRepository.findByIdWithProductsAndFabrics(orderId)
-                .orElseThrow(() -> new ResourceNotFoundException("Order not found with ID: " + orderId));
+        OrderFilter filter = buildFilter(filterRequest, currentUserId, hasReadAllPermission);
+        return scroll(filter, cursor, size,
+                (specification, limit) -> orderRepository.findBy(specification, query -> query
+                        .sortBy(NEWEST_FIRST)
+                        .limit(limit)
+                        .all()),
+                orderMapper::mapOrdersToResponses,
+                OrderCursor::of);
+    }
+    
+    /**
+     * Get order summaries by multiple filters
+     */
+    @Override
+    public Page<OrderSummaryResponse> getOrderSummariesByFilters(OrderFilterRequest filterRequest, Long currentUserId,
+                                                                 boolean hasReadAllPermission, Pageable pageable) {
+        log.info("Getting order summaries by filters: {}, userId={}, hasReadAllPermission={}",
+                filterRequest, currentUserId, hasReadAllPermission);
         
-        // Extract product types and fabric IDs from the order
-        List<String> productTypes = order.getProducts().stream()
-                .map(product -> product.getProductType().getName())
-                .collect(Collectors.toList());
+        OrderFilter filter = buildFilter(filterRequest, currentUserId, hasReadAllPermission);
+        return orderRepository.findSummaries(OrderSpecifications.matching(filter), pageable);
+    }
+    
+    /**
+     * Scroll through order summaries by multiple filters using keyset pagination
+     */
+    @Override
+    public CursorPageResponse<OrderSummaryResponse> scrollOrderSummariesByFilters(OrderFilterRequest filterRequest,
+                                                                                 Long currentUserId,
+                                                                                 boolean hasReadAllPermission,
+                                                                                 String cursor, int size) {
+        log.info("Scrolling order summaries by filters: {}, userId={}, hasReadAllPermission={}, size={}",
+                filterRequest, currentUserId, hasReadAllPermission, size);
         
-        List<Long> fabricIds = order.getProducts().stream()
-                .map(product -> product.getFabric().getId())
-                .collect(Collectors.toList());
+        OrderFilter filter = buildFilter(filterRequest, currentUserId, hasReadAllPermission);
+        return scroll(filter, cursor, size,
+                (specification, limit) -> orderRepository.findSummaries(specification, NEWEST_FIRST, limit),
+                Function.identity(),
+                summary -> new OrderCursor(summary.createdAt(), summary.id()));
+    }
+    
+    /**
+     * Count order facets by multiple filters with one GROUPING SETS query
+     */
+    @Override
+    public OrderFacetsResponse getOrderFacetsByFilters(OrderFilterRequest filterRequest, String facetNames,
+                                                       Long currentUserId, boolean hasReadAllPermission) {
+        log.info("Counting order facets {} by filters: {}, userId={}, hasReadAllPermission={}",
+                facetNames, filterRequest, currentUserId, hasReadAllPermission);
         
-        // Create a map of product descriptions from the original order
-        Map<String, String> originalProductDescriptions = new HashMap<>();
-        for (OrderProduct product : order.getProducts()) {
-            String key = product.getProductType().getName() + "-" + product.getFabric().getId();
-            originalProductDescriptions.put(key, product.getDescription());
+        Set<OrderFacet> facets = OrderFacet.parseList(facetNames);
+        if (facets.isEmpty()) {
+            throw new BadRequestException("At least one facet is required");
         }
+        OrderFilter filter = buildFilter(filterRequest, currentUserId, hasReadAllPermission);
         
-        // Find similar orders (returned or cancelled) with matching product types AND fabrics
-        List<Order> potentialSimilarOrders = orderRepository.findSimilarOrders(
-                orderId, 
-                productTypes, 
-                fabricIds,
-                limit * 2); // Get more than needed to allow for filtering
+        return orderRepository.countFacets(filter, facets);
+    }
+    
+    /**
+     * Export orders by multiple filters as NDJSON through a database cursor
+     */
+    @Override
+    public StreamingResponseBody exportOrdersByFilters(OrderFilterRequest filterRequest, LocalDateTime updatedSince,
+                                                       Long currentUserId, boolean hasReadAllPermission) {
+        log.info("Exporting orders by filters: {}, updatedSince={}, userId={}, hasReadAllPermission={}",
+                filterRequest, updatedSince, currentUserId, hasReadAllPermission);
         
-        log.info("Found {} potential similar orders for order ID: {}", potentialSimilarOrders.size(), orderId);
+        OrderFilter filter = buildFilter(filterRequest, currentUserId, hasReadAllPermission)
+                .toBuilder()
+                .updatedSince(updatedSince)
+                .build();
         
-        // Filter orders based on description similarity and user permissions
-        List<Order> filteredOrders = new ArrayList<>();
-        for (Order similarOrder : potentialSimilarOrders) {
-            // If user doesn't have permission to view all orders, only show their own orders
-            if (!hasReadAllPermission && currentUserId != null && 
-                !similarOrder.getCreatedBy().getId().equals(currentUserId)) {
-                continue; // Skip orders not created by the current user
-            }
-            
-            boolean hasMatchingProduct = false;
-            
-            for (OrderProduct product : similarOrder.getProducts()) {
-                String key = product.getProductType().getName() + "-" + product.getFabric().getId();
-                String originalDescription = originalProductDescriptions.get(key);
-                
-                if (originalDescription != null && product.getDescription() != null) {
-                    double similarity = calculateTextSimilarity(originalDescription, product.getDescription());
-                    if (similarity >= 0.5) { // At least 50% similarity
-                        hasMatchingProduct = true;
-                        break;
-                    }
-                }
-            }
-            
-            if (hasMatchingProduct) {
-                filteredOrders.add(similarOrder);
-                if (filteredOrders.size() >= limit) {
-                    break; // Stop once we have enough orders
-                }
-            }
+        return orderNdjsonExporter.export(filter);
+    }
+    
+    /**
+     * Read the slice after a cursor, newest first, fetching one extra row to tell whether another
+     * slice follows instead of counting
+     * @param fetch runs the query for a specification and row limit
+     * @param mapper maps the rows to their responses
+     * @param position keyset position of a row
+     */
+    private <T, R> CursorPageResponse<R> scroll(OrderFilter filter, String cursor, int size,
+                                                BiFunction<Specification<Order>, Integer, List<T>> fetch,
+                                                Function<List<T>, List<R>> mapper,
+                                                Function<T, OrderCursor> position) {
+        if (size < 1 || size > MAX_SCROLL_SIZE) {
+            throw new IllegalArgumentException("Size must be between 1 and " + MAX_SCROLL_SIZE);
+        }
+        Specification<Order> specification = OrderSpecifications.matching(filter);
+        if (cursor != null && !cursor.isBlank()) {
+            OrderCursor after = OrderCursor.decode(cursor);
+            specification = specification.and(OrderSpecifications.createdBefore(after.createdAt(), after.id()));
         }
         
-        log.info("Filtered to {} similar orders with matching descriptions for order ID: {}", 
-                filteredOrders.size(), orderId);
+        List<T> rows = fetch.apply(specification, size + 1);
+        boolean hasNext = rows.size() > size;
+        if (hasNext) {
+            rows = rows.subList(0, size);
+        }
         
-        // Map to response DTOs
-        return filteredOrders.stream()
-                .map(orderMapper::mapOrderToResponse)
-                .collect(Collectors.toList());
+        List<R> content = mapper.apply(rows);
+        String nextCursor = hasNext ? position.apply(rows.get(rows.size() - 1)).encode() : null;
+        return new CursorPageResponse<>(content, content.size(), nextCursor, hasNext);
     }
     
     /**
-     * Calculate text similarity using Jaccard similarity
-     * @param text1 first text
-     * @param text2 second text
-     * @return similarity score between 0 and 1
+     * Build the filter for the supplied criteria; users without read all permission only see the orders they created
      */
-    private double calculateTextSimilarity(String text1, String text2) {
-        if (text1 == null || text2 == null) {
-            return 0.0;
+    private OrderFilter buildFilter(OrderFilterRequest request, Long currentUserId, boolean hasReadAllPermission) {
+        return OrderFilter.builder()
+                .orderType(request.getOrderType() != null ? OrderType.valueOf(request.getOrderType()) : null)
+                .status(request.getStatus() != null ? OrderStatus.fromString(request.getStatus()) : null)
+                .deliveryStartDate(request.getStartDate())
+                .deliveryEndDate(request.getEndDate())
+                .createdStartDate(request.getCreatedStartDate())
+                .createdEndDate(request.getCreatedEndDate())
+                .marketplaceId(request.getMarketplaceId())
+                .directMerchant(Boolean.TRUE.equals(request.getIsDirectMerchant()))
+                .customerName(request.getCustomerName())
+                .orderNumber(request.getOrderNumber())
+                .deliveryChannel(request.getDeliveryChannel())
+                .minAmount(request.getMinAmount() != null ? BigDecimal.valueOf(request.getMinAmount()) : null)
+                .maxAmount(request.getMaxAmount() != null ? BigDecimal.valueOf(request.getMaxAmount()) : null)
+                .createdById(hasReadAllPermission ? null : currentUserId)
+                .build();
+    }
+    
+    /**
+     * Find a page of orders matching a filter, querying only the criteria that are set
+     */
+    private Page<OrderResponse> findByFilter(OrderFilter filter, Pageable pageable) {
+        return orderMapper.mapOrderPage(orderRepository.findAll(OrderSpecifications.matching(filter), pageable));
+    }
+
+    /**
+     * Search orders through the search vector index and load the summaries of the page in rank order
+     */
+    @Override
+    public Page<OrderSummaryResponse> searchOrders(String query, Long currentUserId, boolean hasReadAllPermission, Pageable pageable) {
+        log.info("Searching orders for '{}' for user ID: {}, hasReadAllPermission: {}", query, currentUserId, hasReadAllPermission);
+        
+        Page<Long> orderIds = orderRepository.searchOrderIds(toPrefixQuery(query),
+                hasReadAllPermission ? null : currentUserId,
+                PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()));
+        if (orderIds.isEmpty()) {
+            return orderIds.map(id -> null);
+        }
+        
+        Map<Long, OrderSummaryResponse> summariesById = new HashMap<>();
+        List<Long> ids = orderIds.getContent();
+        for (OrderSummaryResponse summary : orderRepository.findSummaries(
+                (root, q, cb) -> root.get("id").in(ids), Sort.unsorted(), ids.size())) {
+            summariesById.put(summary.id(), summary);
         }
+        return orderIds.map(summariesById::get);
+    }
+    
+    /**
+     * Find orders with similar products based on product type, fabric, and description
+     * Limited to returned or cancelled orders
+     */
+    @Override
+    public List<OrderResponse> findSimilarOrders(Long orderId, int limit, Long currentUserId, boolean hasReadAllPermission) {
+        log.info("Finding similar orders for order ID: {} with limit: {} for user ID: {}, hasReadAllPermission: {}", 
+                orderId, limit, currentUserId, hasReadAllPermission);
         
-        // Normalize texts and split into words
-        Set<String> words1 = tokenizeText(text1);
-        Set<String> words2 = tokenizeText(text2);
+        // Get the original order with products
+        Order order = orderRepository.findByIdWithProductsAndFabrics(orderId)
+                .orElseThrow(() -> new ResourceNotFoundException("Order not found with ID: " + orderId));
         
-        // Calculate Jaccard similarity: intersection size / union size
-        Set<String> intersection = new HashSet<>(words1);
-        intersection.retainAll(words2);
+        List<SimilarOrderIndex.ProductLine> lines = order.getProducts().stream()
+                .map(product -> new SimilarOrderIndex.ProductLine(
+                        product.getProductType().getId(), product.getFabric().getId(), product.getDescriptionTokens()))
+                .collect(Collectors.toList());
         
-        Set<String> union = new HashSet<>(words1);
-        union.addAll(words2);
+        // Users without read all permission only see the orders they created
+        List<SimilarOrderIndex.SimilarOrder> similarOrders = similarOrderIndex.findSimilar(
+                orderId, lines, hasReadAllPermission ? null : currentUserId, limit);
+        log.info("Found {} similar orders for order ID: {}", similarOrders.size(), orderId);
         
-        if (union.isEmpty()) {
-            return 0.0;
+        // Load the ranked orders and keep the ranking
+        Map<Long, Order> ordersById = new HashMap<>();
+        for (Order similarOrder : orderRepository.findAllById(similarOrders.stream()
+                .map(SimilarOrderIndex.SimilarOrder::orderId)
+                .collect(Collectors.toList()))) {
+            ordersById.put(similarOrder.getId(), similarOrder);
         }
+        List<Order> rankedOrders = similarOrders.stream()
+                .map(similar -> ordersById.get(similar.orderId()))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
         
-        return (double) intersection.size() / union.size();
+        // Map to response DTOs
+        return orderMapper.mapOrdersToResponses(rankedOrders);
     }
     
     /**
-     * Tokenize text into a set of words
-     * @param text input text
-     * @return set of words
+     * Turn free text into a to_tsquery expression requiring every word as a prefix, e.g. "red shi" to "red:* & shi:*".
+     * Splitting on anything but letters and digits keeps tsquery operators out of the expression.
      */
-    private Set<String> tokenizeText(String text) {
-        if (text == null || text.isEmpty()) {
-            return new HashSet<>();
+    private String toPrefixQuery(String query) {
+        String tsQuery = Arrays.stream((query == null ? "" : query).toLowerCase().split("[^\\p{L}\\p{N}]+"))
+                .filter(word -> !word.isEmpty())
+                .limit(MAX_SEARCH_WORDS)
+                .map(word -> word + ":*")
+                .collect(Collectors.joining(" & "));
+        if (tsQuery.isEmpty()) {
+            throw new IllegalArgumentException("Search query must contain at least one letter or digit");
         }
-        
-        // Convert to lowercase, remove punctuation, and split by whitespace
-        String normalized = text.toLowerCase()
-                .replaceAll("[^a-z0-9\\s]", " ")
-                .replaceAll("\\s+", " ")
-                .trim();
-        
-        return new HashSet<>(List.of(normalized.split("\\s+")));
+        return tsQuery;
     }
 }
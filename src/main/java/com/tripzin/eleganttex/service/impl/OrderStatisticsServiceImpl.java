@@ -1,9 +1,17 @@
 package com.tripzin.eleganttex.service.impl;
 
-import com.tripzin.eleganttex.entity.Order;
+import com.tripzin.eleganttex.dto.response.DailyOrderCountAmountResponse;
+import com.tripzin.eleganttex.dto.response.DailyOrderCountResponse;
+import com.tripzin.eleganttex.dto.response.DashboardStatisticsResponse;
+import com.tripzin.eleganttex.dto.response.MarketplaceOrderStatisticsResponse;
+import com.tripzin.eleganttex.dto.response.OrderStatisticsSummaryResponse;
+import com.tripzin.eleganttex.dto.response.OrderStatusCountResponse;
+import com.tripzin.eleganttex.dto.response.SalesDataResponse;
+import com.tripzin.eleganttex.dto.response.UserOrderStatisticsResponse;
 import com.tripzin.eleganttex.entity.OrderStatus;
-import com.tripzin.eleganttex.repository.OrderRepository;
+import com.tripzin.eleganttex.repository.OrderDailyRollupRepository;
 import com.tripzin.eleganttex.service.OrderStatisticsService;
+import com.tripzin.eleganttex.service.OrderStatusLiveCounters;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -13,6 +21,7 @@ import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -25,36 +34,70 @@ import java.util.Map;
 @Slf4j
 public class OrderStatisticsServiceImpl implements OrderStatisticsService {
 
-    private final OrderRepository orderRepository;
+    private final OrderDailyRollupRepository rollupRepository;
+    private final OrderStatusLiveCounters liveCounters;
 
     /**
-     * Get order status counts for the current month or year
+     * Order count and amount accumulated without boxing; the amount is kept in cents
+     */
+    private static class Totals {
+        long count;
+        long amountCents;
+
+        void add(long orderCount, BigDecimal amount) {
+            count += orderCount;
+            amountCents += amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+        }
+
+        BigDecimal amount() {
+            return BigDecimal.valueOf(amountCents, 2);
+        }
+    }
+
+    private static final class UserTotals extends Totals {
+        private final Long userId;
+        private final String firstName;
+        private final String lastName;
+        private final String email;
+
+        private UserTotals(Long userId, String firstName, String lastName, String email) {
+            this.userId = userId;
+            this.firstName = firstName;
+            this.lastName = lastName;
+            this.email = email;
+        }
+    }
+
+    private static final class MarketplaceTotals extends Totals {
+        private final Long marketplaceId;
+        private final String name;
+
+        private MarketplaceTotals(Long marketplaceId, String name) {
+            this.marketplaceId = marketplaceId;
+            this.name = name;
+        }
+    }
+
+    /**
+     * Get order status counts for the current month or year, answered from the live counters
      */
     @Override
-    public List<Map<String, Object>> getOrderStatusCounts(boolean currentMonth, String orderType) {
+    public List<OrderStatusCountResponse> getOrderStatusCounts(boolean currentMonth, String orderType) {
         log.info("Getting order status counts for {} with order type: {}", 
                 currentMonth ? "current month" : "current year", orderType);
         
-        LocalDate now = LocalDate.now();
-        LocalDate startDate;
-        LocalDate endDate = now;
-        
-        if (currentMonth) {
-            // Current month: from first day of current month to today
-            startDate = now.withDayOfMonth(1);
-        } else {
-            // Current year: from first day of current year to today
-            startDate = now.withDayOfYear(1);
-        }
+        List<OrderStatusCountResponse> result = new ArrayList<>();
+        liveCounters.getStatusCounts(currentMonth, resolveMarketplaceFilter(orderType)).forEach((status, count) ->
+                result.add(new OrderStatusCountResponse(status.name(), count)));
         
-        return getOrderStatusCountsByDateRange(startDate, endDate, orderType);
+        return result;
     }
     
     /**
      * Get order counts by status for a specific month and year
      */
     @Override
-    public List<Map<String, Object>> getOrderStatusCountsByMonth(int month, int year, String orderType) {
+    public List<OrderStatusCountResponse> getOrderStatusCountsByMonth(int month, int year, String orderType) {
         log.info("Getting order status counts for month {} of year {} with order type: {}", month, year, orderType);
         
         // Calculate start and end dates for the specified month
@@ -69,53 +112,18 @@ public class OrderStatisticsServiceImpl implements OrderStatisticsService {
      * Get order counts by status for a specific date range
      */
     @Override
-    public List<Map<String, Object>> getOrderStatusCountsByDateRange(LocalDate startDate, LocalDate endDate, String orderType) {
+    public List<OrderStatusCountResponse> getOrderStatusCountsByDateRange(LocalDate startDate, LocalDate endDate, String orderType) {
         log.info("Getting order status counts from {} to {} with order type: {}", startDate, endDate, orderType);
         
-        // Get all orders in the date range
-        List<Order> orders = orderRepository.findByCreatedAtBetween(
-                startDate.atStartOfDay(), 
-                endDate.atTime(23, 59, 59)
-        );
-        
-        // Filter by order type if specified
-        if (orderType != null && !orderType.isEmpty()) {
-            orders = orders.stream()
-                    .filter(order -> {
-                        if ("marketplace".equalsIgnoreCase(orderType)) {
-                            return order.getMarketplace() != null;
-                        } else if ("merchant".equalsIgnoreCase(orderType)) {
-                            return order.getMarketplace() == null;
-                        }
-                        return true; // If orderType is not recognized, include all orders
-                    })
-                    .toList();
-        }
-        
-        // Count orders by status
-        Map<String, Integer> statusCounts = new HashMap<>();
-        for (Order order : orders) {
-            String status = order.getStatus().name();
-            statusCounts.put(status, statusCounts.getOrDefault(status, 0) + 1);
-        }
-        
-        // Convert to list of maps
-        List<Map<String, Object>> result = new ArrayList<>();
-        for (Map.Entry<String, Integer> entry : statusCounts.entrySet()) {
-            Map<String, Object> statusCount = new HashMap<>();
-            statusCount.put("status", entry.getKey());
-            statusCount.put("count", entry.getValue());
-            result.add(statusCount);
-        }
-        
-        return result;
+        return toStatusCounts(totalsByStatus(rollupRepository.aggregateByStatus(
+                startDate, endDate, resolveMarketplaceFilter(orderType))));
     }
     
     /**
      * Get user order statistics
      */
     @Override
-    public List<Map<String, Object>> getUserOrderStatistics(boolean currentMonth, String orderType) {
+    public List<UserOrderStatisticsResponse> getUserOrderStatistics(boolean currentMonth, String orderType) {
         log.info("Getting user order statistics for {} with order type: {}", 
                 currentMonth ? "current month" : "current year", orderType);
         
@@ -138,7 +146,7 @@ public class OrderStatisticsServiceImpl implements OrderStatisticsService {
      * Get user order statistics for a specific month and year
      */
     @Override
-    public List<Map<String, Object>> getUserOrderStatisticsByMonth(int month, int year, String orderType) {
+    public List<UserOrderStatisticsResponse> getUserOrderStatisticsByMonth(int month, int year, String orderType) {
         log.info("Getting user order statistics for month {} of year {} with order type: {}", month, year, orderType);
         
         // Calculate start and end dates for the specified month
@@ -153,68 +161,16 @@ public class OrderStatisticsServiceImpl implements OrderStatisticsService {
      * Get user order statistics for a specific date range
      */
     @Override
-    public List<Map<String, Object>> getUserOrderStatisticsByDateRange(LocalDate startDate, LocalDate endDate, String orderType) {
+    public List<UserOrderStatisticsResponse> getUserOrderStatisticsByDateRange(LocalDate startDate, LocalDate endDate, String orderType) {
         log.info("Getting user order statistics from {} to {} with order type: {}", startDate, endDate, orderType);
         
-        // Get all orders in the date range
-        List<Order> orders = orderRepository.findByCreatedAtBetween(
-                startDate.atStartOfDay(), 
-                endDate.atTime(23, 59, 59)
-        );
-        
-        // Filter by order type if specified
-        if (orderType != null && !orderType.isEmpty()) {
-            orders = orders.stream()
-                    .filter(order -> {
-                        if ("marketplace".equalsIgnoreCase(orderType)) {
-                            return order.getMarketplace() != null;
-                        } else if ("merchant".equalsIgnoreCase(orderType)) {
-                            return order.getMarketplace() == null;
-                        }
-                        return true; // If orderType is not recognized, include all orders
-                    })
-                    .toList();
+        List<UserOrderStatisticsResponse> result = new ArrayList<>();
+        for (Object[] row : rollupRepository.aggregateByCreatedBy(startDate, endDate, resolveMarketplaceFilter(orderType))) {
+            UserTotals totals = new UserTotals((Long) row[0], (String) row[1], (String) row[2], (String) row[3]);
+            totals.add(((Number) row[4]).longValue(), toBigDecimal(row[5]));
+            result.add(toUserStatistics(totals));
         }
         
-        return calculateUserOrderStatistics(orders);
-    }
-    
-    /**
-     * Helper method to calculate user order statistics from a list of orders
-     */
-    private List<Map<String, Object>> calculateUserOrderStatistics(List<Order> orders) {
-        // Group orders by user and calculate statistics
-        Map<Long, Map<String, Object>> userStatsMap = new HashMap<>();
-        
-        for (Order order : orders) {
-            Long userId = order.getCreatedBy().getId();
-            
-            // Initialize user stats if not exists
-            if (!userStatsMap.containsKey(userId)) {
-                Map<String, Object> userStats = new HashMap<>();
-                userStats.put("userId", userId);
-                userStats.put("firstName", order.getCreatedBy().getFirstName());
-                userStats.put("lastName", order.getCreatedBy().getLastName());
-                userStats.put("email", order.getCreatedBy().getEmail());
-                userStats.put("orderCount", 0);
-                userStats.put("totalAmount", BigDecimal.ZERO);
-                
-                userStatsMap.put(userId, userStats);
-            }
-            
-            // Update user stats
-            Map<String, Object> userStats = userStatsMap.get(userId);
-            int orderCount = (int) userStats.get("orderCount");
-            BigDecimal totalAmount = (BigDecimal) userStats.get("totalAmount");
-            
-            userStats.put("orderCount", orderCount + 1);
-            userStats.put("totalAmount", totalAmount.add(order.getTotalAmount()));
-        }
-        
-        // Convert map to list and sort by order count (descending)
-        List<Map<String, Object>> result = new ArrayList<>(userStatsMap.values());
-        result.sort((a, b) -> Integer.compare((int) b.get("orderCount"), (int) a.get("orderCount")));
-        
         return result;
     }
     
@@ -222,7 +178,7 @@ public class OrderStatisticsServiceImpl implements OrderStatisticsService {
      * Get marketplace order statistics
      */
     @Override
-    public List<Map<String, Object>> getMarketplaceOrderStatistics(boolean currentMonth, String orderType) {
+    public List<MarketplaceOrderStatisticsResponse> getMarketplaceOrderStatistics(boolean currentMonth, String orderType) {
         log.info("Getting marketplace order statistics for {} with order type: {}", 
                 currentMonth ? "current month" : "current year", orderType);
         
@@ -245,7 +201,7 @@ public class OrderStatisticsServiceImpl implements OrderStatisticsService {
      * Get marketplace order statistics for a specific month and year
      */
     @Override
-    public List<Map<String, Object>> getMarketplaceOrderStatisticsByMonth(int month, int year, String orderType) {
+    public List<MarketplaceOrderStatisticsResponse> getMarketplaceOrderStatisticsByMonth(int month, int year, String orderType) {
         log.info("Getting marketplace order statistics for month {} of year {} with order type: {}", month, year, orderType);
         
         // Calculate start and end dates for the specified month
@@ -260,80 +216,16 @@ public class OrderStatisticsServiceImpl implements OrderStatisticsService {
      * Get marketplace order statistics for a specific date range
      */
     @Override
-    public List<Map<String, Object>> getMarketplaceOrderStatisticsByDateRange(LocalDate startDate, LocalDate endDate, String orderType) {
+    public List<MarketplaceOrderStatisticsResponse> getMarketplaceOrderStatisticsByDateRange(LocalDate startDate, LocalDate endDate, String orderType) {
         log.info("Getting marketplace order statistics from {} to {} with order type: {}", startDate, endDate, orderType);
         
-        // Get all orders in the date range
-        List<Order> orders = orderRepository.findByCreatedAtBetween(
-                startDate.atStartOfDay(), 
-                endDate.atTime(23, 59, 59)
-        );
-        
-        // Filter by order type if specified
-        if (orderType != null && !orderType.isEmpty()) {
-            orders = orders.stream()
-                    .filter(order -> {
-                        if ("marketplace".equalsIgnoreCase(orderType)) {
-                            return order.getMarketplace() != null;
-                        } else if ("merchant".equalsIgnoreCase(orderType)) {
-                            return order.getMarketplace() == null;
-                        }
-                        return true; // If orderType is not recognized, include all orders
-                    })
-                    .toList();
-        }
-        
-        return calculateMarketplaceOrderStatistics(orders);
-    }
-    
-    /**
-     * Helper method to calculate marketplace order statistics from a list of orders
-     */
-    private List<Map<String, Object>> calculateMarketplaceOrderStatistics(List<Order> orders) {
-        // Group orders by marketplace and calculate statistics
-        Map<Long, Map<String, Object>> marketplaceStatsMap = new HashMap<>();
-        Map<String, Object> merchantOrderStats = new HashMap<>();
-        merchantOrderStats.put("marketplaceId", null);
-        merchantOrderStats.put("name", "Direct Merchant");
-        merchantOrderStats.put("totalAmount", BigDecimal.ZERO);
-        
-        for (Order order : orders) {
-            // Skip orders without a marketplace (merchant orders)
-            if (order.getMarketplace() == null) {
-                // Add to merchant orders category
-                BigDecimal totalAmount = (BigDecimal) merchantOrderStats.get("totalAmount");
-                merchantOrderStats.put("totalAmount", totalAmount.add(order.getTotalAmount()));
-                continue;
-            }
-            
-            Long marketplaceId = order.getMarketplace().getId();
-            
-            // Initialize marketplace stats if not exists
-            if (!marketplaceStatsMap.containsKey(marketplaceId)) {
-                Map<String, Object> marketplaceStats = new HashMap<>();
-                marketplaceStats.put("marketplaceId", marketplaceId);
-                marketplaceStats.put("name", order.getMarketplace().getName());
-                marketplaceStats.put("totalAmount", BigDecimal.ZERO);
-                
-                marketplaceStatsMap.put(marketplaceId, marketplaceStats);
-            }
-            
-            // Update marketplace stats
-            Map<String, Object> marketplaceStats = marketplaceStatsMap.get(marketplaceId);
-            BigDecimal totalAmount = (BigDecimal) marketplaceStats.get("totalAmount");
-            
-            marketplaceStats.put("totalAmount", totalAmount.add(order.getTotalAmount()));
-        }
-        
-        // Add merchant orders to the result if there are any
-        if (!((BigDecimal) merchantOrderStats.get("totalAmount")).equals(BigDecimal.ZERO)) {
-            marketplaceStatsMap.put(-1L, merchantOrderStats);
+        List<MarketplaceOrderStatisticsResponse> result = new ArrayList<>();
+        for (Object[] row : rollupRepository.aggregateByMarketplace(startDate, endDate, resolveMarketplaceFilter(orderType))) {
+            MarketplaceTotals totals = new MarketplaceTotals((Long) row[0], (String) row[1]);
+            totals.add(0, toBigDecimal(row[2]));
+            result.add(toMarketplaceStatistics(totals));
         }
         
-        // Convert map to list and sort by total amount (descending)
-        List<Map<String, Object>> result = new ArrayList<>(marketplaceStatsMap.values());
-        result.sort((a, b) -> ((BigDecimal) b.get("totalAmount")).compareTo((BigDecimal) a.get("totalAmount")));
-        
         return result;
     }
     
@@ -341,39 +233,18 @@ public class OrderStatisticsServiceImpl implements OrderStatisticsService {
      * Get daily order counts between two dates
      */
     @Override
-    public List<Map<String, Object>> getMonthlyOrderData(LocalDate startDate, LocalDate endDate) {
+    public List<DailyOrderCountResponse> getMonthlyOrderData(LocalDate startDate, LocalDate endDate) {
         log.info("Getting monthly order data from {} to {}", startDate, endDate);
         
-        // Get counts directly from the database
-        List<Object[]> results = orderRepository.countOrdersByDateBetween(startDate, endDate);
+        Map<LocalDate, Totals> totalsByDay = totalsByDay(rollupRepository.aggregateByDay(startDate, endDate, null));
         
-        // Initialize all dates in the range with 0 orders
-        Map<String, Integer> ordersByDate = new HashMap<>();
-        LocalDate current = startDate;
-        while (!current.isAfter(endDate)) {
-            ordersByDate.put(current.toString(), 0);
-            current = current.plusDays(1);
+        // Every date in the range, with 0 orders where there are none
+        List<DailyOrderCountResponse> response = new ArrayList<>();
+        for (LocalDate current = startDate; !current.isAfter(endDate); current = current.plusDays(1)) {
+            Totals totals = totalsByDay.get(current);
+            response.add(new DailyOrderCountResponse(current.toString(), totals != null ? totals.count : 0));
         }
         
-        // Fill in actual counts from database results
-        for (Object[] result : results) {
-            String date = ((LocalDate) result[0]).toString();
-            Integer count = ((Number) result[1]).intValue();
-            ordersByDate.put(date, count);
-        }
-        
-        // Convert to list of maps for the response
-        List<Map<String, Object>> response = new ArrayList<>();
-        ordersByDate.forEach((date, count) -> {
-            Map<String, Object> entry = new HashMap<>();
-            entry.put("date", date);
-            entry.put("count", count);
-            response.add(entry);
-        });
-        
-        // Sort by date
-        response.sort(Comparator.comparing(m -> (String) m.get("date")));
-        
         return response;
     }
     
@@ -381,7 +252,7 @@ public class OrderStatisticsServiceImpl implements OrderStatisticsService {
      * Get monthly order count and amount statistics
      */
     @Override
-    public List<Map<String, Object>> getMonthlyOrderCountAndAmount(Integer month, Integer year, boolean currentMonth, String orderType) {
+    public List<DailyOrderCountAmountResponse> getMonthlyOrderCountAndAmount(Integer month, Integer year, boolean currentMonth, String orderType) {
         log.info("Getting monthly order count and amount for month: {}, year: {}, currentMonth: {}, orderType: {}", month, year, currentMonth, orderType);
         
         // Calculate date range based on parameters
@@ -410,79 +281,48 @@ public class OrderStatisticsServiceImpl implements OrderStatisticsService {
      * Get monthly order count and amount statistics for a specific date range
      */
     @Override
-    public List<Map<String, Object>> getMonthlyOrderCountAndAmountByDateRange(LocalDate startDate, LocalDate endDate, String orderType) {
+    public List<DailyOrderCountAmountResponse> getMonthlyOrderCountAndAmountByDateRange(LocalDate startDate, LocalDate endDate, String orderType) {
         log.info("Getting monthly order count and amount from {} to {} with order type: {}", startDate, endDate, orderType);
         
-        // Get orders in date range
-        List<Order> orders = orderRepository.findByCreatedAtBetween(
-                startDate.atStartOfDay(), 
-                endDate.atTime(23, 59, 59)
-        );
-        
-        // Filter by order type if specified
-        if (orderType != null && !orderType.isEmpty()) {
-            orders = orders.stream()
-                    .filter(order -> {
-                        if ("marketplace".equalsIgnoreCase(orderType)) {
-                            return order.getMarketplace() != null;
-                        } else if ("merchant".equalsIgnoreCase(orderType)) {
-                            return order.getMarketplace() == null;
-                        }
-                        return true; // If orderType is not recognized, include all orders
-                    })
-                    .toList();
-        }
-        
-        // Group by date and calculate count and amount
-        Map<String, Map<String, Object>> resultMap = new HashMap<>();
-        
-        for (Order order : orders) {
-            LocalDate orderDate = order.getCreatedAt().toLocalDate();
-            String dateKey = orderDate.toString();
-            
-            if (!resultMap.containsKey(dateKey)) {
-                Map<String, Object> dayData = new HashMap<>();
-                dayData.put("date", dateKey);
-                dayData.put("count", 0);
-                dayData.put("amount", BigDecimal.ZERO);
-                resultMap.put(dateKey, dayData);
-            }
-            
-            Map<String, Object> dayData = resultMap.get(dateKey);
-            int count = (int) dayData.get("count");
-            BigDecimal amount = (BigDecimal) dayData.get("amount");
-            
-            dayData.put("count", count + 1);
-            dayData.put("amount", amount.add(order.getTotalAmount()));
-        }
+        return toDailyCountAndAmount(totalsByDay(rollupRepository.aggregateByDay(
+                startDate, endDate, resolveMarketplaceFilter(orderType))), startDate, endDate);
+    }
+    
+    /**
+     * Get sales data (revenue) for dashboard
+     */
+    @Override
+    public SalesDataResponse getSalesData(LocalDate startDate, LocalDate endDate, String orderType) {
+        log.info("Getting sales data from {} to {} with order type: {}", startDate, endDate, orderType);
         
-        // Fill in missing dates with zero values
-        LocalDate current = startDate;
-        while (!current.isAfter(endDate)) {
-            String dateKey = current.toString();
-            if (!resultMap.containsKey(dateKey)) {
-                Map<String, Object> dayData = new HashMap<>();
-                dayData.put("date", dateKey);
-                dayData.put("count", 0);
-                dayData.put("amount", BigDecimal.ZERO);
-                resultMap.put(dateKey, dayData);
-            }
-            current = current.plusDays(1);
+        // If dates not provided, default to current month
+        if (startDate == null || endDate == null) {
+            LocalDate now = LocalDate.now();
+            startDate = now.withDayOfMonth(1);
+            endDate = now;
         }
         
-        // Convert to list and sort by date
-        List<Map<String, Object>> result = new ArrayList<>(resultMap.values());
-        result.sort(Comparator.comparing(m -> (String) m.get("date")));
+        return toSalesData(totalsByStatus(rollupRepository.aggregateByStatus(
+                startDate, endDate, resolveMarketplaceFilter(orderType))), startDate, endDate, orderType);
+    }
+    
+    /**
+     * Get order statistics summary for reactive dashboard cards
+     */
+    @Override
+    public OrderStatisticsSummaryResponse getOrderStatisticsSummary(LocalDate startDate, LocalDate endDate, String orderType) {
+        log.info("Getting order statistics summary from {} to {} with order type: {}", startDate, endDate, orderType);
         
-        return result;
+        return toSummary(totalsByStatus(rollupRepository.aggregateByStatus(
+                startDate, endDate, resolveMarketplaceFilter(orderType))));
     }
     
     /**
-     * Get sales data (revenue) for dashboard
+     * Get every dashboard statistic for a date range from a single scan of the rollup
      */
     @Override
-    public Map<String, Object> getSalesData(LocalDate startDate, LocalDate endDate, String orderType) {
-        log.info("Getting sales data from {} to {} with order type: {}", startDate, endDate, orderType);
+    public DashboardStatisticsResponse getDashboardStatistics(LocalDate startDate, LocalDate endDate, String orderType) {
+        log.info("Getting dashboard statistics from {} to {} with order type: {}", startDate, endDate, orderType);
         
         // If dates not provided, default to current month
         if (startDate == null || endDate == null) {
@@ -491,39 +331,117 @@ public class OrderStatisticsServiceImpl implements OrderStatisticsService {
             endDate = now;
         }
         
-        // Get orders in date range
-        List<Order> orders = orderRepository.findByCreatedAtBetween(
-                startDate.atStartOfDay(), 
-                endDate.atTime(23, 59, 59)
-        );
-        
-        // Filter by order type if specified
-        if (orderType != null && !orderType.isEmpty()) {
-            orders = orders.stream()
-                    .filter(order -> {
-                        if ("marketplace".equalsIgnoreCase(orderType)) {
-                            return order.getMarketplace() != null;
-                        } else if ("merchant".equalsIgnoreCase(orderType)) {
-                            return order.getMarketplace() == null;
-                        }
-                        return true; // If orderType is not recognized, include all orders
-                    })
-                    .toList();
+        List<Object[]> rows = rollupRepository.findRowsWithNames(
+                startDate, endDate, resolveMarketplaceFilter(orderType));
+        
+        // Fold the rows into per-status, per-user, per-marketplace and per-day totals
+        Map<OrderStatus, Totals> byStatus = new EnumMap<>(OrderStatus.class);
+        Map<Long, UserTotals> byUser = new HashMap<>();
+        Map<Long, MarketplaceTotals> byMarketplace = new HashMap<>();
+        Map<LocalDate, Totals> byDay = new HashMap<>();
+        for (Object[] row : rows) {
+            long count = ((Number) row[8]).longValue();
+            BigDecimal amount = toBigDecimal(row[9]);
+            
+            byStatus.computeIfAbsent((OrderStatus) row[1], key -> new Totals()).add(count, amount);
+            byUser.computeIfAbsent((Long) row[2],
+                    key -> new UserTotals(key, (String) row[3], (String) row[4], (String) row[5])).add(count, amount);
+            byMarketplace.computeIfAbsent((Long) row[6],
+                    key -> new MarketplaceTotals(key, (String) row[7])).add(count, amount);
+            byDay.computeIfAbsent((LocalDate) row[0], key -> new Totals()).add(count, amount);
         }
         
-        // Calculate sales metrics
-        BigDecimal totalRevenue = BigDecimal.ZERO;
-        int totalOrders = orders.size();
-        int completedOrders = 0;
-        int pendingOrders = 0;
+        List<UserOrderStatisticsResponse> userStatistics = byUser.values().stream()
+                .sorted(Comparator.comparingLong((UserTotals totals) -> totals.count).reversed())
+                .map(this::toUserStatistics)
+                .toList();
+        List<MarketplaceOrderStatisticsResponse> marketplaceStatistics = byMarketplace.values().stream()
+                .sorted(Comparator.comparingLong((MarketplaceTotals totals) -> totals.amountCents).reversed())
+                .map(this::toMarketplaceStatistics)
+                .toList();
+        
+        return new DashboardStatisticsResponse(
+                toStatusCounts(byStatus),
+                userStatistics,
+                marketplaceStatistics,
+                toDailyCountAndAmount(byDay, startDate, endDate),
+                toSalesData(byStatus, startDate, endDate, orderType),
+                toSummary(byStatus));
+    }
+    
+    /**
+     * Collect [status, count, totalAmount] rows into totals per status
+     */
+    private Map<OrderStatus, Totals> totalsByStatus(List<Object[]> rows) {
+        Map<OrderStatus, Totals> result = new EnumMap<>(OrderStatus.class);
+        for (Object[] row : rows) {
+            result.computeIfAbsent((OrderStatus) row[0], key -> new Totals())
+                    .add(((Number) row[1]).longValue(), toBigDecimal(row[2]));
+        }
+        return result;
+    }
+    
+    /**
+     * Collect [date, count, totalAmount] rows into totals per day
+     */
+    private Map<LocalDate, Totals> totalsByDay(List<Object[]> rows) {
+        Map<LocalDate, Totals> result = new HashMap<>();
+        for (Object[] row : rows) {
+            result.computeIfAbsent((LocalDate) row[0], key -> new Totals())
+                    .add(((Number) row[1]).longValue(), toBigDecimal(row[2]));
+        }
+        return result;
+    }
+    
+    private List<OrderStatusCountResponse> toStatusCounts(Map<OrderStatus, Totals> byStatus) {
+        List<OrderStatusCountResponse> result = new ArrayList<>();
+        byStatus.forEach((status, totals) -> result.add(new OrderStatusCountResponse(status.name(), totals.count)));
+        return result;
+    }
+    
+    private UserOrderStatisticsResponse toUserStatistics(UserTotals totals) {
+        return new UserOrderStatisticsResponse(totals.userId, totals.firstName, totals.lastName, totals.email,
+                totals.count, totals.amount());
+    }
+    
+    /**
+     * Orders without a marketplace are grouped under a null marketplace ID
+     */
+    private MarketplaceOrderStatisticsResponse toMarketplaceStatistics(MarketplaceTotals totals) {
+        return new MarketplaceOrderStatisticsResponse(totals.marketplaceId,
+                totals.marketplaceId != null ? totals.name : "Direct Merchant", totals.amount());
+    }
+    
+    /**
+     * Build per-day count and amount, filling missing dates in the range with zero values
+     */
+    private List<DailyOrderCountAmountResponse> toDailyCountAndAmount(Map<LocalDate, Totals> byDay, LocalDate startDate, LocalDate endDate) {
+        List<DailyOrderCountAmountResponse> result = new ArrayList<>();
+        for (LocalDate current = startDate; !current.isAfter(endDate); current = current.plusDays(1)) {
+            Totals totals = byDay.get(current);
+            result.add(totals != null
+                    ? new DailyOrderCountAmountResponse(current.toString(), totals.count, totals.amount())
+                    : new DailyOrderCountAmountResponse(current.toString(), 0, BigDecimal.ZERO));
+        }
         
-        for (Order order : orders) {
-            totalRevenue = totalRevenue.add(order.getTotalAmount());
+        return result;
+    }
+    
+    private SalesDataResponse toSalesData(Map<OrderStatus, Totals> byStatus, LocalDate startDate, LocalDate endDate, String orderType) {
+        long totalRevenueCents = 0;
+        long totalOrders = 0;
+        long completedOrders = 0;
+        long pendingOrders = 0;
+        
+        for (Map.Entry<OrderStatus, Totals> entry : byStatus.entrySet()) {
+            long count = entry.getValue().count;
+            totalRevenueCents += entry.getValue().amountCents;
+            totalOrders += count;
             
             // Count orders by status
-            switch (order.getStatus()) {
+            switch (entry.getKey()) {
                 case DELIVERED:
-                    completedOrders++;
+                    completedOrders += count;
                     break;
                 case ORDER_CREATED:
                 case APPROVED:
@@ -531,7 +449,7 @@ public class OrderStatisticsServiceImpl implements OrderStatisticsService {
                 case PRODUCTION:
                 case QA:
                 case READY:
-                    pendingOrders++;
+                    pendingOrders += count;
                     break;
                 case RETURNED:
                 case CANCELLED:
@@ -541,71 +459,44 @@ public class OrderStatisticsServiceImpl implements OrderStatisticsService {
         }
         
         // Calculate average order value
+        BigDecimal totalRevenue = BigDecimal.valueOf(totalRevenueCents, 2);
         BigDecimal averageOrderValue = totalOrders > 0 ? 
                 totalRevenue.divide(BigDecimal.valueOf(totalOrders), 2, RoundingMode.HALF_UP) : 
                 BigDecimal.ZERO;
         
-        // Build response
-        Map<String, Object> salesData = new HashMap<>();
-        salesData.put("totalRevenue", totalRevenue);
-        salesData.put("totalOrders", totalOrders);
-        salesData.put("completedOrders", completedOrders);
-        salesData.put("pendingOrders", pendingOrders);
-        salesData.put("averageOrderValue", averageOrderValue);
-        salesData.put("startDate", startDate.toString());
-        salesData.put("endDate", endDate.toString());
-        salesData.put("orderType", orderType);
-        
-        return salesData;
+        return new SalesDataResponse(totalRevenue, totalOrders, completedOrders, pendingOrders, averageOrderValue,
+                startDate.toString(), endDate.toString(), orderType);
     }
     
-    /**
-     * Get order statistics summary for reactive dashboard cards
-     */
-    @Override
-    public Map<String, Object> getOrderStatisticsSummary(LocalDate startDate, LocalDate endDate, String orderType) {
-        log.info("Getting order statistics summary from {} to {} with order type: {}", startDate, endDate, orderType);
+    private OrderStatisticsSummaryResponse toSummary(Map<OrderStatus, Totals> byStatus) {
+        long totalOrders = 0;
+        long totalSalesCents = 0;
         
-        // Get orders in date range
-        List<Order> orders = orderRepository.findByCreatedAtBetween(
-                startDate.atStartOfDay(), 
-                endDate.atTime(23, 59, 59)
-        );
-        
-        // Filter by order type if specified and not "all"
-        if (orderType != null && !orderType.isEmpty() && !"all".equalsIgnoreCase(orderType)) {
-            orders = orders.stream()
-                    .filter(order -> {
-                        if ("marketplace".equalsIgnoreCase(orderType)) {
-                            return order.getMarketplace() != null;
-                        } else if ("merchant".equalsIgnoreCase(orderType)) {
-                            return order.getMarketplace() == null;
-                        }
-                        return true; // If orderType is not recognized, include all orders
-                    })
-                    .toList();
+        for (Totals totals : byStatus.values()) {
+            totalOrders += totals.count;
+            totalSalesCents += totals.amountCents;
         }
+        Totals delivered = byStatus.get(OrderStatus.DELIVERED);
         
-        // Calculate summary statistics
-        int totalOrders = orders.size();
-        BigDecimal totalSales = BigDecimal.ZERO;
-        int deliveredOrders = 0;
-        
-        for (Order order : orders) {
-            totalSales = totalSales.add(order.getTotalAmount());
-            
-            // Count delivered orders
-            if (order.getStatus() == OrderStatus.DELIVERED) {
-                deliveredOrders++;
-            }
+        return new OrderStatisticsSummaryResponse(totalOrders, BigDecimal.valueOf(totalSalesCents, 2),
+                delivered != null ? delivered.count : 0);
+    }
+    
+    /**
+     * Translate the order type filter into the marketplace filter used by the aggregate queries.
+     * "marketplace" keeps orders with a marketplace, "merchant" keeps orders without one,
+     * anything else (including "all") keeps every order.
+     */
+    private Boolean resolveMarketplaceFilter(String orderType) {
+        if ("marketplace".equalsIgnoreCase(orderType)) {
+            return Boolean.TRUE;
+        } else if ("merchant".equalsIgnoreCase(orderType)) {
+            return Boolean.FALSE;
         }
-        
-        // Build response
-        Map<String, Object> summary = new HashMap<>();
-        summary.put("totalOrders", totalOrders);
-        summary.put("totalSales", totalSales);
-        summary.put("deliveredOrders", deliveredOrders);
-        
-        return summary;
+        return null;
+    }
+    
+    private BigDecimal toBigDecimal(Object value) {
+        return value instanceof BigDecimal ? (BigDecimal) value : new BigDecimal(value.toString());
     }
 }
@@ -1,23 +1,37 @@
 package com.tripzin.eleganttex.service.impl;
 
+import com.tripzin.eleganttex.dto.response.BulkOrderStatusResponse;
 import com.tripzin.eleganttex.dto.response.OrderResponse;
+import com.tripzin.eleganttex.dto.response.OrderStatusUpdateResultResponse;
 import com.tripzin.eleganttex.entity.Order;
 import com.tripzin.eleganttex.entity.OrderStatus;
 import com.tripzin.eleganttex.entity.OrderStatusHistory;
+import com.tripzin.eleganttex.entity.OrderType;
 import com.tripzin.eleganttex.entity.User;
+import com.tripzin.eleganttex.exception.BadRequestException;
 import com.tripzin.eleganttex.exception.InvalidStatusTransitionException;
 import com.tripzin.eleganttex.exception.ResourceNotFoundException;
 import com.tripzin.eleganttex.repository.OrderRepository;
 import com.tripzin.eleganttex.repository.OrderStatusHistoryRepository;
 import com.tripzin.eleganttex.repository.UserRepository;
+import com.tripzin.eleganttex.service.OrderChangedEvent;
+import com.tripzin.eleganttex.service.OrderRollupService;
 import com.tripzin.eleganttex.service.OrderStatusService;
 import com.tripzin.eleganttex.service.OrderStatusValidationService;
 import com.tripzin.eleganttex.service.mapper.OrderMapper;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -33,6 +47,8 @@ public class OrderStatusServiceImpl implements OrderStatusService {
     private final UserRepository userRepository;
     private final OrderStatusValidationService statusValidationService;
     private final OrderMapper orderMapper;
+    private final OrderRollupService rollupService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Update order status
@@ -56,8 +72,11 @@ public class OrderStatusServiceImpl implements OrderStatusService {
         }
         
         // Update order status
+        OrderRollupService.OrderSnapshot before = rollupService.snapshot(order);
         order.setStatus(newStatus);
         Order savedOrder = orderRepository.save(order);
+        rollupService.recordChanged(before, savedOrder);
+        eventPublisher.publishEvent(new OrderChangedEvent(savedOrder.getId()));
         
         // Create status history
         OrderStatusHistory statusHistory = OrderStatusHistory.builder()
@@ -72,6 +91,72 @@ public class OrderStatusServiceImpl implements OrderStatusService {
         return orderMapper.mapOrderToResponse(savedOrder);
     }
 
+    /**
+     * Update the status of several orders with one UPDATE and one batched status history INSERT
+     */
+    @Override
+    @Transactional
+    public BulkOrderStatusResponse updateOrderStatuses(List<Long> orderIds, String statusStr, String notes, Long userId) {
+        OrderStatus newStatus = OrderStatus.fromString(statusStr);
+        if (newStatus == null) {
+            throw new BadRequestException("Unknown order status: " + statusStr);
+        }
+        Set<Long> ids = new LinkedHashSet<>(orderIds);
+        ids.remove(null);
+        if (ids.isEmpty()) {
+            throw new BadRequestException("At least one order ID is required");
+        }
+        log.info("Updating status of {} orders: status={}, updatedBy={}", ids.size(), newStatus, userId);
+        
+        // Read and lock the current state of all orders with one query, without loading entities
+        Map<Long, OrderRollupService.OrderSnapshot> currentStates = new HashMap<>();
+        for (Object[] row : orderRepository.findStatusStatesForUpdate(ids)) {
+            currentStates.put((Long) row[0], rollupService.snapshot(
+                    (LocalDateTime) row[5], (OrderType) row[2], (Long) row[3], (Long) row[4],
+                    (OrderStatus) row[1], (BigDecimal) row[6]));
+        }
+        
+        List<OrderStatusUpdateResultResponse> results = new ArrayList<>(ids.size());
+        List<Long> updatedIds = new ArrayList<>();
+        List<OrderRollupService.OrderSnapshot> before = new ArrayList<>();
+        for (Long id : ids) {
+            OrderRollupService.OrderSnapshot current = currentStates.get(id);
+            if (current == null) {
+                results.add(new OrderStatusUpdateResultResponse(id, false, null, "Order not found with ID: " + id));
+            } else if (!isValidTransition(current.status(), newStatus)) {
+                results.add(new OrderStatusUpdateResultResponse(id, false, current.status().getDisplayName(),
+                        "Invalid status transition from " + current.status().getDisplayName()
+                                + " to " + newStatus.getDisplayName()));
+            } else {
+                results.add(new OrderStatusUpdateResultResponse(id, true, current.status().getDisplayName(), null));
+                updatedIds.add(id);
+                before.add(current);
+            }
+        }
+        
+        if (!updatedIds.isEmpty()) {
+            orderRepository.updateStatus(updatedIds, newStatus, LocalDateTime.now());
+            
+            User updatedBy = userRepository.getReferenceById(userId);
+            List<OrderStatusHistory> statusHistories = new ArrayList<>(updatedIds.size());
+            for (Long id : updatedIds) {
+                statusHistories.add(OrderStatusHistory.builder()
+                        .order(orderRepository.getReferenceById(id))
+                        .status(newStatus)
+                        .notes(notes)
+                        .updatedBy(updatedBy)
+                        .build());
+            }
+            orderStatusHistoryRepository.saveAll(statusHistories);
+            
+            rollupService.recordStatusChanged(before, newStatus);
+            updatedIds.forEach(id -> eventPublisher.publishEvent(new OrderChangedEvent(id)));
+        }
+        
+        return new BulkOrderStatusResponse(newStatus.getDisplayName(), updatedIds.size(),
+                results.size() - updatedIds.size(), results);
+    }
+
     /**
      * Validates if a status transition is allowed
      */
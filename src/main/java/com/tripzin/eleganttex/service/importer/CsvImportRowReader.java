@@ -0,0 +1,79 @@
+package com.tripzin.eleganttex.service.importer;
+
+import com.tripzin.eleganttex.exception.BadRequestException;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * RFC 4180 CSV reader: comma separated, UTF-8 with or without BOM, fields optionally quoted
+ * with "" as an escaped quote and line breaks allowed inside quotes
+ */
+class CsvImportRowReader implements ImportRowReader {
+
+    private static final char BOM = '\uFEFF';
+
+    @Override
+    public void read(MultipartFile file, Consumer<ImportRow> rows) throws IOException {
+        ImportRowAssembler assembler = new ImportRowAssembler(rows);
+        try (Reader reader = new BufferedReader(new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8))) {
+            List<String> cells = new ArrayList<>();
+            StringBuilder cell = new StringBuilder();
+            boolean quoted = false;
+            boolean firstChar = true;
+            int rowNumber = 1;
+            int c;
+            while ((c = reader.read()) != -1) {
+                if (firstChar) {
+                    firstChar = false;
+                    if (c == BOM) {
+                        continue;
+                    }
+                }
+                if (quoted) {
+                    if (c != '"') {
+                        cell.append((char) c);
+                        continue;
+                    }
+                    reader.mark(1);
+                    int next = reader.read();
+                    if (next == '"') {
+                        cell.append('"');
+                    } else {
+                        quoted = false;
+                        if (next != -1) {
+                            reader.reset();
+                        }
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    cells.add(cell.toString());
+                    cell.setLength(0);
+                } else if (c == '\n') {
+                    cells.add(cell.toString());
+                    cell.setLength(0);
+                    assembler.accept(rowNumber++, cells);
+                    cells = new ArrayList<>();
+                } else if (c != '\r') {
+                    cell.append((char) c);
+                }
+            }
+            if (quoted) {
+                throw new BadRequestException("Unterminated quoted field in row " + rowNumber);
+            }
+            if (cell.length() > 0 || !cells.isEmpty()) {
+                cells.add(cell.toString());
+                assembler.accept(rowNumber, cells);
+            }
+        }
+        assembler.finish();
+    }
+}
@@ -0,0 +1,28 @@
+package com.tripzin.eleganttex.service.importer;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A non-blank data row of an import file
+ * @param rowNumber spreadsheet row number, the header being row 1
+ * @param values trimmed cell values keyed by normalized header, blank cells left out
+ * @param numericColumns normalized headers of the cells the file stored as numbers; always empty for CSV
+ */
+record ImportRow(int rowNumber, Map<String, String> values, Set<String> numericColumns) {
+
+    /**
+     * Value of a column, or null if the cell is blank or the column is missing
+     * @param column column name, matched like the header, see {@link ImportRowAssembler#normalize(String)}
+     */
+    String get(String column) {
+        return values.get(ImportRowAssembler.normalize(column));
+    }
+
+    /**
+     * Whether the file stored the cell of a column as a number rather than as text
+     */
+    boolean isNumeric(String column) {
+        return numericColumns.contains(ImportRowAssembler.normalize(column));
+    }
+}
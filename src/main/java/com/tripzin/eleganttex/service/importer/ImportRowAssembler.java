@@ -0,0 +1,95 @@
+package com.tripzin.eleganttex.service.importer;
+
+import com.tripzin.eleganttex.exception.BadRequestException;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Turns the raw cells of a file into {@link ImportRow}s, taking the column names from the first row
+ */
+final class ImportRowAssembler {
+
+    private static final BitSet NO_NUMERIC_CELLS = new BitSet();
+
+    private final Consumer<ImportRow> rows;
+    private List<String> headers;
+
+    ImportRowAssembler(Consumer<ImportRow> rows) {
+        this.rows = rows;
+    }
+
+    /**
+     * Accept the cells of one physical row of text cells; blank rows are skipped
+     */
+    void accept(int rowNumber, List<String> cells) {
+        accept(rowNumber, cells, NO_NUMERIC_CELLS);
+    }
+
+    /**
+     * Accept the cells of one physical row; blank rows are skipped
+     * @param numericCells indexes of the cells the file stored as numbers
+     */
+    void accept(int rowNumber, List<String> cells, BitSet numericCells) {
+        if (headers == null) {
+            List<String> names = new ArrayList<>(cells.size());
+            cells.forEach(cell -> names.add(normalize(cell)));
+            if (names.stream().allMatch(String::isEmpty)) {
+                return;
+            }
+            headers = names;
+            return;
+        }
+
+        Map<String, String> values = new HashMap<>();
+        Set<String> numericColumns = Set.of();
+        for (int i = 0; i < Math.min(cells.size(), headers.size()); i++) {
+            String header = headers.get(i);
+            String value = cells.get(i);
+            if (!header.isEmpty() && value != null && !value.isBlank()) {
+                values.put(header, value.trim());
+                if (numericCells.get(i)) {
+                    if (numericColumns.isEmpty()) {
+                        numericColumns = new HashSet<>();
+                    }
+                    numericColumns.add(header);
+                }
+            }
+        }
+        if (!values.isEmpty()) {
+            rows.accept(new ImportRow(rowNumber, values, numericColumns));
+        }
+    }
+
+    /**
+     * Fail if the file did not even contain a header row
+     */
+    void finish() {
+        if (headers == null) {
+            throw new BadRequestException("Import file has no header row");
+        }
+    }
+
+    /**
+     * Column name without case, spaces, underscores or dashes, so "Order Ref", "order_ref" and "orderRef" match
+     */
+    static String normalize(String header) {
+        if (header == null) {
+            return "";
+        }
+        StringBuilder name = new StringBuilder(header.length());
+        for (int i = 0; i < header.length(); i++) {
+            char c = header.charAt(i);
+            if (!Character.isWhitespace(c) && c != '_' && c != '-') {
+                name.append(Character.toLowerCase(c));
+            }
+        }
+        return name.toString();
+    }
+}
@@ -0,0 +1,35 @@
+package com.tripzin.eleganttex.service.importer;
+
+import com.tripzin.eleganttex.exception.BadRequestException;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.function.Consumer;
+
+/**
+ * Streams the data rows of an import file without loading the whole file into memory
+ */
+interface ImportRowReader {
+
+    /**
+     * Read a file, passing each non-blank data row to the consumer as soon as it is parsed
+     * @throws BadRequestException if the file is malformed
+     */
+    void read(MultipartFile file, Consumer<ImportRow> rows) throws IOException;
+
+    /**
+     * Reader for a file, chosen by its extension
+     * @throws BadRequestException if the file is neither CSV nor XLSX
+     */
+    static ImportRowReader forFile(MultipartFile file) {
+        String name = file.getOriginalFilename() != null ? file.getOriginalFilename().toLowerCase(Locale.ROOT) : "";
+        if (name.endsWith(".csv")) {
+            return new CsvImportRowReader();
+        }
+        if (name.endsWith(".xlsx")) {
+            return new XlsxImportRowReader();
+        }
+        throw new BadRequestException("Only .csv and .xlsx files can be imported");
+    }
+}
@@ -0,0 +1,639 @@
+package com.tripzin.eleganttex.service.importer;
+
+import com.tripzin.eleganttex.dto.request.CustomerRequest;
+import com.tripzin.eleganttex.dto.response.CustomerResponse;
+import com.tripzin.eleganttex.dto.response.OrderImportErrorResponse;
+import com.tripzin.eleganttex.dto.response.OrderImportResponse;
+import com.tripzin.eleganttex.entity.Customer;
+import com.tripzin.eleganttex.entity.Fabric;
+import com.tripzin.eleganttex.entity.Marketplace;
+import com.tripzin.eleganttex.entity.Order;
+import com.tripzin.eleganttex.entity.OrderProduct;
+import com.tripzin.eleganttex.entity.OrderStatus;
+import com.tripzin.eleganttex.entity.OrderStatusHistory;
+import com.tripzin.eleganttex.entity.OrderType;
+import com.tripzin.eleganttex.entity.ProductType;
+import com.tripzin.eleganttex.entity.StyleCode;
+import com.tripzin.eleganttex.entity.User;
+import com.tripzin.eleganttex.exception.BadRequestException;
+import com.tripzin.eleganttex.exception.ResourceNotFoundException;
+import com.tripzin.eleganttex.repository.CustomerRepository;
+import com.tripzin.eleganttex.repository.DistrictRepository;
+import com.tripzin.eleganttex.repository.DivisionRepository;
+import com.tripzin.eleganttex.repository.FabricRepository;
+import com.tripzin.eleganttex.repository.MarketplaceRepository;
+import com.tripzin.eleganttex.repository.OrderProductRepository;
+import com.tripzin.eleganttex.repository.OrderRepository;
+import com.tripzin.eleganttex.repository.OrderStatusHistoryRepository;
+import com.tripzin.eleganttex.repository.ProductTypeRepository;
+import com.tripzin.eleganttex.repository.StyleCodeRepository;
+import com.tripzin.eleganttex.repository.UpazilaRepository;
+import com.tripzin.eleganttex.repository.UserRepository;
+import com.tripzin.eleganttex.service.CustomerService;
+import com.tripzin.eleganttex.service.OrderNumberAllocator;
+import com.tripzin.eleganttex.service.OrderProductHandler;
+import com.tripzin.eleganttex.service.OrderRollupService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Component for importing orders in bulk from a CSV or XLSX file.
+ * <p>
+ * Each row is one order product; consecutive rows with the same orderRef form one order and the
+ * order columns are taken from its first row. The rows of an order must be consecutive: a ref that
+ * reappears after another order is rejected rather than imported twice. Rows are validated as they
+ * are streamed in, against fabrics, product types, style codes, marketplaces and address areas
+ * loaded once up front. Valid orders are saved in chunks, each in its own transaction: customers
+ * are looked up by phone for the whole chunk, and orders, status histories and products are written
+ * with JDBC batching. An order with an invalid row is rejected as a whole and does not affect the
+ * other orders.
+ * <p>
+ * Chunks are committed while the file is still being read, so an error further down the file does
+ * not fail the request: the orders read so far are saved and the report carries the file error.
+ */
+@Component
+@Slf4j
+public class OrderImporter {
+
+    /**
+     * Orders saved per transaction
+     */
+    private static final int CHUNK_SIZE = 500;
+
+    /**
+     * Errors listed in the response; rows beyond it are still counted
+     */
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    // Header names; case, spaces, underscores and dashes in the file's header row are ignored
+    private static final String ORDER_REF = "orderRef";
+    private static final String ORDER_TYPE = "orderType";
+    private static final String MARKETPLACE = "marketplace";
+    private static final String CUSTOMER_PHONE = "customerPhone";
+    private static final String CUSTOMER_NAME = "customerName";
+    private static final String DIVISION_ID = "divisionId";
+    private static final String DISTRICT_ID = "districtId";
+    private static final String UPAZILA_ID = "upazilaId";
+    private static final String ADDRESS_LINE = "addressLine";
+    private static final String DELIVERY_CHANNEL = "deliveryChannel";
+    private static final String DELIVERY_CHARGE = "deliveryCharge";
+    private static final String DELIVERY_DATE = "deliveryDate";
+    private static final String PRODUCT_TYPE = "productType";
+    private static final String FABRIC = "fabric";
+    private static final String STYLE_CODE = "styleCode";
+    private static final String QUANTITY = "quantity";
+    private static final String PRICE = "price";
+    private static final String DESCRIPTION = "description";
+
+    private final OrderRepository orderRepository;
+    private final OrderStatusHistoryRepository orderStatusHistoryRepository;
+    private final OrderProductRepository orderProductRepository;
+    private final CustomerRepository customerRepository;
+    private final FabricRepository fabricRepository;
+    private final ProductTypeRepository productTypeRepository;
+    private final StyleCodeRepository styleCodeRepository;
+    private final MarketplaceRepository marketplaceRepository;
+    private final DivisionRepository divisionRepository;
+    private final DistrictRepository districtRepository;
+    private final UpazilaRepository upazilaRepository;
+    private final UserRepository userRepository;
+    private final CustomerService customerService;
+    private final OrderNumberAllocator orderNumberAllocator;
+    private final OrderProductHandler productHandler;
+    private final OrderRollupService rollupService;
+    private final TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public OrderImporter(OrderRepository orderRepository, OrderStatusHistoryRepository orderStatusHistoryRepository,
+                         OrderProductRepository orderProductRepository, CustomerRepository customerRepository,
+                         FabricRepository fabricRepository, ProductTypeRepository productTypeRepository,
+                         StyleCodeRepository styleCodeRepository, MarketplaceRepository marketplaceRepository,
+                         DivisionRepository divisionRepository, DistrictRepository districtRepository,
+                         UpazilaRepository upazilaRepository, UserRepository userRepository, CustomerService customerService,
+                         OrderNumberAllocator orderNumberAllocator, OrderProductHandler productHandler,
+                         OrderRollupService rollupService, PlatformTransactionManager transactionManager) {
+        this.orderRepository = orderRepository;
+        this.orderStatusHistoryRepository = orderStatusHistoryRepository;
+        this.orderProductRepository = orderProductRepository;
+        this.customerRepository = customerRepository;
+        this.fabricRepository = fabricRepository;
+        this.productTypeRepository = productTypeRepository;
+        this.styleCodeRepository = styleCodeRepository;
+        this.marketplaceRepository = marketplaceRepository;
+        this.divisionRepository = divisionRepository;
+        this.districtRepository = districtRepository;
+        this.upazilaRepository = upazilaRepository;
+        this.userRepository = userRepository;
+        this.customerService = customerService;
+        this.orderNumberAllocator = orderNumberAllocator;
+        this.productHandler = productHandler;
+        this.rollupService = rollupService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Import the orders of a file
+     * @param file CSV or XLSX file with a header row
+     * @param userId ID of the user the orders are created by
+     * @return counts, the rows that were not imported and the error that stopped reading the file, if any
+     * @throws BadRequestException if the file cannot be read at all
+     */
+    public OrderImportResponse importOrders(MultipartFile file, Long userId) {
+        if (file == null || file.isEmpty()) {
+            throw new BadRequestException("Import file is required");
+        }
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with ID: " + userId));
+
+        ImportRowReader reader = ImportRowReader.forFile(file);
+        ImportRun run = new ImportRun(user, loadLookups());
+        String fileError = null;
+        try {
+            reader.read(file, run::accept);
+        } catch (IOException | BadRequestException e) {
+            fileError = e instanceof IOException ? "Could not read import file: " + e.getMessage() : e.getMessage();
+            if (run.totalRows == 0) {
+                throw new BadRequestException(fileError);
+            }
+            log.warn("Stopped reading {} after {} rows: {}", file.getOriginalFilename(), run.totalRows, fileError);
+            // The order being collected may be missing rows past the error
+            run.discardCurrentOrder("Order not imported: the file could not be read past row " + run.lastRowNumber);
+        }
+        run.finish();
+
+        log.info("Imported {} orders from {} rows of {}, rejected {} orders",
+                run.importedOrders, run.totalRows, file.getOriginalFilename(), run.rejectedOrders);
+        return new OrderImportResponse(run.totalRows, run.importedOrders, run.rejectedOrders, run.errors, fileError);
+    }
+
+    /**
+     * Reference data rows are validated against, keyed by lower-cased code or name; address areas
+     * map each district and upazila ID to the ID of the division or district it belongs to
+     */
+    private record Lookups(Map<String, Fabric> fabrics, Map<String, ProductType> productTypes,
+                           Map<String, String> styleCodes, Map<String, Marketplace> marketplaces,
+                           Set<Long> divisions, Map<Long, Long> districtDivisions, Map<Long, Long> upazilaDistricts) {
+    }
+
+    private Lookups loadLookups() {
+        Map<String, Fabric> fabrics = new HashMap<>();
+        for (Fabric fabric : fabricRepository.findAll()) {
+            fabrics.putIfAbsent(key(fabric.getName()), fabric);
+            if (fabric.getFabricCode() != null) {
+                fabrics.put(key(fabric.getFabricCode()), fabric);
+            }
+        }
+        Map<String, ProductType> productTypes = new HashMap<>();
+        productTypeRepository.findByActive(true).forEach(type -> productTypes.put(key(type.getName()), type));
+        Map<String, String> styleCodes = new HashMap<>();
+        for (StyleCode styleCode : styleCodeRepository.findByActive(true)) {
+            styleCodes.put(key(styleCode.getCode()), styleCode.getCode());
+        }
+        Map<String, Marketplace> marketplaces = new HashMap<>();
+        for (Marketplace marketplace : marketplaceRepository.findAll()) {
+            marketplaces.put(key(marketplace.getName()), marketplace);
+            marketplaces.put(String.valueOf(marketplace.getId()), marketplace);
+        }
+        Set<Long> divisions = new HashSet<>();
+        divisionRepository.findAll().forEach(division -> divisions.add(division.getId()));
+        Map<Long, Long> districtDivisions = new HashMap<>();
+        districtRepository.findAll().forEach(district -> districtDivisions.put(district.getId(), district.getDivision().getId()));
+        Map<Long, Long> upazilaDistricts = new HashMap<>();
+        upazilaRepository.findAll().forEach(upazila -> upazilaDistricts.put(upazila.getId(), upazila.getDistrict().getId()));
+        return new Lookups(fabrics, productTypes, styleCodes, marketplaces, divisions, districtDivisions, upazilaDistricts);
+    }
+
+    private record ProductDraft(ProductType productType, Fabric fabric, String styleCode,
+                                int quantity, BigDecimal price, String description) {
+    }
+
+    /**
+     * A validated order waiting to be saved with its chunk
+     */
+    private record OrderDraft(String orderRef, List<ImportRow> rows, OrderType orderType, Marketplace marketplace,
+                              CustomerRequest customerData, String deliveryChannel, BigDecimal deliveryCharge,
+                              LocalDate deliveryDate, List<ProductDraft> products) {
+
+        BigDecimal totalAmount() {
+            return products.stream()
+                    .map(p -> p.price().multiply(BigDecimal.valueOf(p.quantity())))
+                    .reduce(deliveryCharge, BigDecimal::add);
+        }
+    }
+
+    /**
+     * Thrown for a cell that does not hold a valid value
+     */
+    private static final class InvalidCellException extends RuntimeException {
+        InvalidCellException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * State of one import: the order whose rows are being collected, the chunk of validated
+     * orders waiting to be saved, and the report
+     */
+    private final class ImportRun {
+
+        private final User user;
+        private final Lookups lookups;
+        private final List<OrderDraft> chunk = new ArrayList<>(CHUNK_SIZE);
+        private final List<OrderImportErrorResponse> errors = new ArrayList<>();
+        // Refs of the orders already collected, to catch rows of an order that are not consecutive
+        private final Set<String> closedRefs = new HashSet<>();
+        private List<ImportRow> currentRows = new ArrayList<>();
+        private String currentRef;
+        private int totalRows;
+        private int lastRowNumber;
+        private int importedOrders;
+        private int rejectedOrders;
+
+        ImportRun(User user, Lookups lookups) {
+            this.user = user;
+            this.lookups = lookups;
+        }
+
+        void accept(ImportRow row) {
+            totalRows++;
+            lastRowNumber = row.rowNumber();
+            // Rows without an orderRef are orders of their own
+            String ref = row.get(ORDER_REF) != null ? row.get(ORDER_REF) : "#" + row.rowNumber();
+            if (currentRef != null && !currentRef.equals(ref)) {
+                closeOrder();
+            }
+            currentRef = ref;
+            currentRows.add(row);
+        }
+
+        /**
+         * Reject the order whose rows are being collected without validating it
+         */
+        void discardCurrentOrder(String message) {
+            if (currentRef == null) {
+                return;
+            }
+            rejectedOrders++;
+            reject(currentRows.get(0), currentRef, message);
+            currentRows = new ArrayList<>();
+            currentRef = null;
+        }
+
+        void finish() {
+            if (currentRef != null) {
+                closeOrder();
+            }
+            if (!chunk.isEmpty()) {
+                saveChunk();
+            }
+            if (totalRows == 0) {
+                throw new BadRequestException("Import file has no data rows");
+            }
+        }
+
+        private void closeOrder() {
+            String orderRef = currentRef;
+            List<ImportRow> rows = currentRows;
+            currentRows = new ArrayList<>();
+            currentRef = null;
+            if (!closedRefs.add(orderRef)) {
+                rejectedOrders++;
+                reject(rows.get(0), orderRef, "Rows of order " + orderRef
+                        + " are not consecutive; this order was already read further up the file");
+                return;
+            }
+            OrderDraft draft = validate(orderRef, rows);
+            if (draft == null) {
+                rejectedOrders++;
+                return;
+            }
+            chunk.add(draft);
+            if (chunk.size() == CHUNK_SIZE) {
+                saveChunk();
+            }
+        }
+
+        /**
+         * Validate the rows of an order in memory
+         * @return the order, or null if any of its rows is invalid
+         */
+        private OrderDraft validate(String orderRef, List<ImportRow> rows) {
+            ImportRow first = rows.get(0);
+            OrderType orderType;
+            Marketplace marketplace;
+            CustomerRequest customerData;
+            String deliveryChannel;
+            BigDecimal deliveryCharge;
+            LocalDate deliveryDate;
+            try {
+                orderType = OrderType.fromString(required(first, ORDER_TYPE));
+                if (orderType == null) {
+                    throw new InvalidCellException("Unknown order type: " + first.get(ORDER_TYPE));
+                }
+                marketplace = first.get(MARKETPLACE) != null ? lookup(lookups.marketplaces(), first, MARKETPLACE) : null;
+                if (orderType == OrderType.MARKETPLACE && marketplace == null) {
+                    throw new InvalidCellException("Marketplace is required for marketplace orders");
+                }
+                customerData = customerData(first);
+                deliveryChannel = required(first, DELIVERY_CHANNEL);
+                deliveryCharge = decimal(first, DELIVERY_CHARGE);
+                deliveryDate = date(first, DELIVERY_DATE);
+            } catch (InvalidCellException e) {
+                reject(first, orderRef, e.getMessage());
+                return null;
+            }
+
+            List<ProductDraft> products = new ArrayList<>(rows.size());
+            boolean valid = true;
+            for (ImportRow row : rows) {
+                try {
+                    products.add(product(row));
+                } catch (InvalidCellException e) {
+                    reject(row, orderRef, e.getMessage());
+                    valid = false;
+                }
+            }
+            if (!valid) {
+                return null;
+            }
+            return new OrderDraft(orderRef, rows, orderType, marketplace, customerData,
+                    deliveryChannel, deliveryCharge, deliveryDate, products);
+        }
+
+        private ProductDraft product(ImportRow row) {
+            ProductType productType = lookup(lookups.productTypes(), row, PRODUCT_TYPE);
+            Fabric fabric = lookup(lookups.fabrics(), row, FABRIC);
+            if (fabric.getFabricCode() == null || fabric.getFabricCode().isEmpty()) {
+                throw new InvalidCellException("Fabric " + fabric.getName() + " has no fabric code");
+            }
+            String styleCode = lookup(lookups.styleCodes(), row, STYLE_CODE);
+            int quantity;
+            try {
+                quantity = Integer.parseInt(required(row, QUANTITY));
+            } catch (NumberFormatException e) {
+                throw new InvalidCellException("Invalid quantity: " + row.get(QUANTITY));
+            }
+            if (quantity < 1) {
+                throw new InvalidCellException("Quantity must be at least 1");
+            }
+            String description = row.get(DESCRIPTION);
+            if (description != null && description.length() > 1000) {
+                throw new InvalidCellException("Description must be less than 1000 characters");
+            }
+            return new ProductDraft(productType, fabric, styleCode, quantity, decimal(row, PRICE), description);
+        }
+
+        /**
+         * Customer data of an order; the address columns are only needed for customers that do not exist yet
+         */
+        private CustomerRequest customerData(ImportRow row) {
+            String phone = required(row, CUSTOMER_PHONE);
+            if (row.isNumeric(CUSTOMER_PHONE)) {
+                // A number has lost any leading 0 or + of the phone, which cannot be guessed back
+                throw new InvalidCellException("Customer phone must be a text cell, not a number");
+            }
+            if (phone.length() > 20) {
+                throw new InvalidCellException("Customer phone must be less than 20 characters");
+            }
+            String name = row.get(CUSTOMER_NAME);
+            if (name != null && name.length() > 255) {
+                throw new InvalidCellException("Customer name must be less than 255 characters");
+            }
+            String addressLine = row.get(ADDRESS_LINE);
+            if (addressLine != null && addressLine.length() > 500) {
+                throw new InvalidCellException("Address line must be less than 500 characters");
+            }
+            Long divisionId = optionalId(row, DIVISION_ID);
+            Long districtId = optionalId(row, DISTRICT_ID);
+            Long upazilaId = optionalId(row, UPAZILA_ID);
+            checkAddressAreas(divisionId, districtId, upazilaId);
+            return CustomerRequest.builder()
+                    .phone(phone)
+                    .name(name)
+                    .divisionId(divisionId)
+                    .districtId(districtId)
+                    .upazilaId(upazilaId)
+                    .addressLine(addressLine)
+                    .build();
+        }
+
+        /**
+         * Check the address area IDs here, as creating a customer with an unknown one would fail
+         * inside the chunk transaction and roll back the whole chunk
+         */
+        private void checkAddressAreas(Long divisionId, Long districtId, Long upazilaId) {
+            if (divisionId != null && !lookups.divisions().contains(divisionId)) {
+                throw new InvalidCellException("Unknown " + DIVISION_ID + ": " + divisionId);
+            }
+            if (districtId != null) {
+                Long districtDivision = lookups.districtDivisions().get(districtId);
+                if (districtDivision == null) {
+                    throw new InvalidCellException("Unknown " + DISTRICT_ID + ": " + districtId);
+                }
+                if (divisionId != null && !districtDivision.equals(divisionId)) {
+                    throw new InvalidCellException("District " + districtId + " is not in division " + divisionId);
+                }
+            }
+            if (upazilaId != null) {
+                Long upazilaDistrict = lookups.upazilaDistricts().get(upazilaId);
+                if (upazilaDistrict == null) {
+                    throw new InvalidCellException("Unknown " + UPAZILA_ID + ": " + upazilaId);
+                }
+                if (districtId != null && !upazilaDistrict.equals(districtId)) {
+                    throw new InvalidCellException("Upazila " + upazilaId + " is not in district " + districtId);
+                }
+            }
+        }
+
+        private void saveChunk() {
+            List<OrderDraft> drafts = new ArrayList<>(chunk);
+            chunk.clear();
+            int rejectedBefore = rejectedOrders;
+            int errorsBefore = errors.size();
+            try {
+                Integer saved = transactionTemplate.execute(status -> save(drafts));
+                importedOrders += saved != null ? saved : 0;
+            } catch (RuntimeException e) {
+                log.warn("Failed to save a chunk of {} imported orders", drafts.size(), e);
+                // The whole chunk was rolled back, so report every order of it once
+                rejectedOrders = rejectedBefore;
+                errors.subList(errorsBefore, errors.size()).clear();
+                for (OrderDraft draft : drafts) {
+                    rejectedOrders++;
+                    reject(draft.rows().get(0), draft.orderRef(), "Order could not be saved: " + e.getMessage());
+                }
+            } finally {
+                // Detach the saved orders so the persistence context does not grow with the file
+                entityManager.clear();
+            }
+        }
+
+        /**
+         * Save a chunk of orders in the current transaction
+         * @return number of orders saved; orders whose customer cannot be resolved are rejected
+         */
+        private int save(List<OrderDraft> drafts) {
+            Map<String, Customer> customers = resolveCustomers(drafts);
+
+            List<Order> orders = new ArrayList<>(drafts.size());
+            List<OrderStatusHistory> histories = new ArrayList<>(drafts.size());
+            List<OrderProduct> products = new ArrayList<>();
+            for (OrderDraft draft : drafts) {
+                Customer customer = customers.get(draft.customerData().getPhone());
+                if (customer == null) {
+                    continue;
+                }
+                Order order = Order.builder()
+                        .marketplace(draft.marketplace())
+                        .customer(customer)
+                        .orderType(draft.orderType())
+                        .deliveryChannel(draft.deliveryChannel())
+                        .deliveryCharge(draft.deliveryCharge())
+                        .deliveryDate(draft.deliveryDate())
+                        .status(OrderStatus.ORDER_CREATED)
+                        .totalAmount(draft.totalAmount())
+                        .createdBy(user)
+                        .build();
+                ProductDraft firstProduct = draft.products().get(0);
+                orderNumberAllocator.assign(order, firstProduct.fabric().getFabricCode(), firstProduct.styleCode());
+                orders.add(order);
+
+                histories.add(OrderStatusHistory.builder()
+                        .order(order)
+                        .status(OrderStatus.ORDER_CREATED)
+                        .notes("Order imported")
+                        .updatedBy(user)
+                        .build());
+                for (ProductDraft product : draft.products()) {
+                    products.add(OrderProduct.builder()
+                            .order(order)
+                            .productType(product.productType())
+                            .fabric(product.fabric())
+                            .quantity(product.quantity())
+                            .price(product.price())
+                            .description(product.description())
+                            .styleCode(product.styleCode())
+                            .build());
+                }
+            }
+            if (orders.isEmpty()) {
+                return 0;
+            }
+
+            orderRepository.saveAll(orders);
+            orderStatusHistoryRepository.saveAll(histories);
+            orderProductRepository.saveAll(products);
+            orderRepository.refreshSearchVectors(orders.stream().map(Order::getId).toList());
+            rollupService.recordCreated(orders);
+            products.forEach(product -> productHandler.publishDemandChange(product, 1));
+            return orders.size();
+        }
+
+        /**
+         * Customers of a chunk by phone, found with one query; missing customers are created from the
+         * row's customer columns, and the orders of customers that cannot be created are rejected
+         */
+        private Map<String, Customer> resolveCustomers(List<OrderDraft> drafts) {
+            Set<String> phones = new LinkedHashSet<>();
+            drafts.forEach(draft -> phones.add(draft.customerData().getPhone()));
+            Map<String, Customer> customers = new HashMap<>();
+            customerRepository.findByPhoneIn(phones).forEach(customer -> customers.put(customer.getPhone(), customer));
+
+            for (OrderDraft draft : drafts) {
+                CustomerRequest customerData = draft.customerData();
+                if (customers.containsKey(customerData.getPhone())) {
+                    continue;
+                }
+                if (customerData.getName() == null || customerData.getDivisionId() == null
+                        || customerData.getDistrictId() == null || customerData.getUpazilaId() == null
+                        || customerData.getAddressLine() == null) {
+                    rejectedOrders++;
+                    reject(draft.rows().get(0), draft.orderRef(), "No customer with phone " + customerData.getPhone()
+                            + "; customer name, division, district, upazila and address line are required to create one");
+                    continue;
+                }
+                CustomerResponse created = customerService.findOrCreateCustomer(customerData, draft.orderType());
+                customers.put(customerData.getPhone(), customerRepository.getReferenceById(created.getId()));
+            }
+            return customers;
+        }
+
+        private void reject(ImportRow row, String orderRef, String message) {
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new OrderImportErrorResponse(row.rowNumber(), orderRef, message));
+            }
+        }
+    }
+
+    private static <T> T lookup(Map<String, T> values, ImportRow row, String column) {
+        T value = values.get(key(required(row, column)));
+        if (value == null) {
+            throw new InvalidCellException("Unknown " + column + ": " + row.get(column));
+        }
+        return value;
+    }
+
+    private static String required(ImportRow row, String column) {
+        String value = row.get(column);
+        if (value == null) {
+            throw new InvalidCellException("Missing " + column);
+        }
+        return value;
+    }
+
+    private static BigDecimal decimal(ImportRow row, String column) {
+        try {
+            BigDecimal value = new BigDecimal(required(row, column));
+            if (value.signum() < 0) {
+                throw new InvalidCellException(column + " must be greater than or equal to 0");
+            }
+            return value;
+        } catch (NumberFormatException e) {
+            throw new InvalidCellException("Invalid " + column + ": " + row.get(column));
+        }
+    }
+
+    private static LocalDate date(ImportRow row, String column) {
+        try {
+            return LocalDate.parse(required(row, column));
+        } catch (DateTimeParseException e) {
+            throw new InvalidCellException("Invalid " + column + ", expected yyyy-MM-dd: " + row.get(column));
+        }
+    }
+
+    private static Long optionalId(ImportRow row, String column) {
+        String value = row.get(column);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Long.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new InvalidCellException("Invalid " + column + ": " + value);
+        }
+    }
+
+    private static String key(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+}
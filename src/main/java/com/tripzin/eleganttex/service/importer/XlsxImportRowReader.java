@@ -0,0 +1,152 @@
+package com.tripzin.eleganttex.service.importer;
+
+import com.tripzin.eleganttex.exception.BadRequestException;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.apache.poi.xssf.usermodel.XSSFRelation;
+import org.springframework.web.multipart.MultipartFile;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * XLSX reader using POI's event API: the first sheet is parsed with SAX, so only the current
+ * row and the shared strings table are held in memory instead of the whole workbook
+ */
+class XlsxImportRowReader implements ImportRowReader {
+
+    @Override
+    public void read(MultipartFile file, Consumer<ImportRow> rows) throws IOException {
+        // OPCPackage reads a file lazily but buffers a whole stream, so go through a temporary file
+        Path workbook = Files.createTempFile("order-import-", ".xlsx");
+        try {
+            file.transferTo(workbook);
+            try (OPCPackage pkg = OPCPackage.open(workbook.toFile(), PackageAccess.READ)) {
+                readFirstSheet(pkg, new ImportRowAssembler(rows));
+            }
+        } catch (OpenXML4JException | SAXException | ParserConfigurationException e) {
+            throw new BadRequestException("Could not read XLSX file: " + e.getMessage());
+        } finally {
+            Files.deleteIfExists(workbook);
+        }
+    }
+
+    private void readFirstSheet(OPCPackage pkg, ImportRowAssembler assembler)
+            throws IOException, OpenXML4JException, SAXException, ParserConfigurationException {
+        XSSFReader reader = new XSSFReader(pkg);
+        ReadOnlySharedStringsTable strings = new ReadOnlySharedStringsTable(pkg);
+        Iterator<InputStream> sheets = reader.getSheetsData();
+        if (!sheets.hasNext()) {
+            throw new BadRequestException("XLSX file has no sheets");
+        }
+        XMLReader parser = XMLHelper.newXMLReader();
+        parser.setContentHandler(new SheetHandler(reader.getStylesTable(), strings, new RowHandler(assembler)));
+        try (InputStream sheet = sheets.next()) {
+            parser.parse(new InputSource(sheet));
+        }
+        assembler.finish();
+    }
+
+    /**
+     * Formatter writing date cells as ISO dates and other numbers as their plain value, whatever their
+     * display format: "#,##0.00" would turn 1200 into "1,200.00" and General 8801712345678 into "8.80171E+12".
+     * DataFormatter caches formats and is not thread-safe, so each read gets its own.
+     */
+    private static DataFormatter rawValueFormatter() {
+        return new DataFormatter() {
+            @Override
+            public String formatRawCellContents(double value, int formatIndex, String formatString, boolean use1904Windowing) {
+                if (DateUtil.isADateFormat(formatIndex, formatString) && DateUtil.isValidExcelDate(value)) {
+                    return DateUtil.getLocalDateTime(value, use1904Windowing).toLocalDate().toString();
+                }
+                return BigDecimal.valueOf(value).stripTrailingZeros().toPlainString();
+            }
+        };
+    }
+
+    /**
+     * Sheet parser that also tells the row handler whether each cell is stored as a number,
+     * which the formatted value alone does not show
+     */
+    private static final class SheetHandler extends XSSFSheetXMLHandler {
+
+        private final RowHandler rowHandler;
+
+        SheetHandler(StylesTable styles, ReadOnlySharedStringsTable strings, RowHandler rowHandler) {
+            super(styles, strings, rowHandler, rawValueFormatter(), false);
+            this.rowHandler = rowHandler;
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes) throws SAXException {
+            if ("c".equals(localName) && (uri == null || uri.equals(XSSFRelation.NS_SPREADSHEETML))) {
+                // Numbers, dates included, have no type attribute or "n"; text, booleans and errors have their own
+                String type = attributes.getValue("t");
+                rowHandler.numericCell = type == null || "n".equals(type);
+            }
+            super.startElement(uri, localName, qName, attributes);
+        }
+    }
+
+    /**
+     * Collects the cells of a row by column; the handler is not called for blank cells
+     */
+    private static final class RowHandler implements XSSFSheetXMLHandler.SheetContentsHandler {
+
+        private final ImportRowAssembler assembler;
+        private final List<String> cells = new ArrayList<>();
+        private final BitSet numericCells = new BitSet();
+        private int nextColumn;
+        private boolean numericCell;
+
+        RowHandler(ImportRowAssembler assembler) {
+            this.assembler = assembler;
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            cells.clear();
+            numericCells.clear();
+            nextColumn = 0;
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            assembler.accept(rowNum + 1, new ArrayList<>(cells), numericCells);
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            int column = cellReference != null ? new CellReference(cellReference).getCol() : nextColumn;
+            while (cells.size() < column) {
+                cells.add(null);
+            }
+            cells.add(formattedValue);
+            numericCells.set(column, numericCell);
+            nextColumn = column + 1;
+        }
+    }
+}
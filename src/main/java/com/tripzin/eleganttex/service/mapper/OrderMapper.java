@@ -13,10 +13,13 @@ import com.tripzin.eleganttex.mapper.AddressResponseMapper;
 import com.tripzin.eleganttex.repository.OrderProductImageRepository;
 import com.tripzin.eleganttex.repository.OrderStatusHistoryRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
@@ -33,6 +36,53 @@ public class OrderMapper {
      * Maps an Order entity to an OrderResponse DTO
      */
     public OrderResponse mapOrderToResponse(Order order) {
+        return mapOrdersToResponses(List.of(order)).get(0);
+    }
+    
+    /**
+     * Maps a page of Order entities to OrderResponse DTOs, see mapOrdersToResponses
+     */
+    public Page<OrderResponse> mapOrderPage(Page<Order> orders) {
+        return new PageImpl<>(mapOrdersToResponses(orders.getContent()), orders.getPageable(), orders.getTotalElements());
+    }
+    
+    /**
+     * Maps Order entities to OrderResponse DTOs, keeping their order.
+     * Status history and product images of all orders are loaded with one IN query each; products and
+     * the referenced customers, addresses, marketplaces, users, fabrics and product types are loaded
+     * in batches through hibernate.default_batch_fetch_size, so the query count does not grow with the list.
+     */
+    public List<OrderResponse> mapOrdersToResponses(List<Order> orders) {
+        if (orders.isEmpty()) {
+            return List.of();
+        }
+        List<Long> orderIds = orders.stream()
+                .map(Order::getId)
+                .collect(Collectors.toList());
+        Map<Long, List<OrderStatusHistory>> historyByOrderId = orderStatusHistoryRepository
+                .findByOrderIdInWithUserOrderByTimestampDesc(orderIds)
+                .stream()
+                .collect(Collectors.groupingBy(history -> history.getOrder().getId()));
+        
+        List<Long> productIds = orders.stream()
+                .flatMap(order -> order.getProducts().stream())
+                .map(OrderProduct::getId)
+                .collect(Collectors.toList());
+        Map<Long, List<OrderProductImage>> imagesByProductId = productIds.isEmpty()
+                ? Map.of()
+                : orderProductImageRepository.findByOrderProductIdIn(productIds)
+                        .stream()
+                        .collect(Collectors.groupingBy(image -> image.getOrderProduct().getId()));
+        
+        return orders.stream()
+                .map(order -> mapOrderToResponse(order,
+                        historyByOrderId.getOrDefault(order.getId(), List.of()),
+                        imagesByProductId))
+                .collect(Collectors.toList());
+    }
+    
+    private OrderResponse mapOrderToResponse(Order order, List<OrderStatusHistory> statusHistory,
+                                             Map<Long, List<OrderProductImage>> imagesByProductId) {
         // Map marketplace if it exists
         OrderResponse.MarketplaceResponse marketplaceResponse = null;
         if (order.getMarketplace() != null) {
@@ -65,13 +115,12 @@ public class OrderMapper {
         
         // Map products
         List<OrderProductResponse> productResponses = order.getProducts().stream()
-                .map(this::mapOrderProductToResponse)
+                .map(product -> mapOrderProductToResponse(product,
+                        imagesByProductId.getOrDefault(product.getId(), List.of())))
                 .collect(Collectors.toList());
         
         // Map status history
-        List<OrderStatusHistoryResponse> statusHistoryResponses = orderStatusHistoryRepository
-                .findByOrderIdWithUserOrderByTimestampDesc(order.getId())
-                .stream()
+        List<OrderStatusHistoryResponse> statusHistoryResponses = statusHistory.stream()
                 .map(this::mapOrderStatusHistoryToResponse)
                 .collect(Collectors.toList());
         
@@ -105,6 +154,10 @@ public class OrderMapper {
      * Maps an OrderProduct entity to an OrderProductResponse DTO
      */
     public OrderProductResponse mapOrderProductToResponse(OrderProduct product) {
+        return mapOrderProductToResponse(product, orderProductImageRepository.findByOrderProductId(product.getId()));
+    }
+    
+    private OrderProductResponse mapOrderProductToResponse(OrderProduct product, List<OrderProductImage> images) {
         // Map fabric
         OrderProductResponse.FabricResponse fabricResponse = OrderProductResponse.FabricResponse.builder()
                 .id(product.getFabric().getId())
@@ -114,9 +167,7 @@ public class OrderMapper {
                 .build();
         
         // Map images
-        List<OrderProductImageResponse> imageResponses = orderProductImageRepository
-                .findByOrderProductId(product.getId())
-                .stream()
+        List<OrderProductImageResponse> imageResponses = images.stream()
                 .map(this::mapOrderProductImageToResponse)
                 .collect(Collectors.toList());
         
@@ -0,0 +1,63 @@
+package com.tripzin.eleganttex.service.similarity;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * MinHash signatures of token hash sets, split into LSH bands.
+ * Two sets with Jaccard similarity s share at least one band with probability 1 - (1 - s^rows)^bands.
+ */
+final class MinHashSignature {
+
+    private final int bands;
+    private final int rows;
+    private final long[] seeds;
+
+    /**
+     * @param bands number of bands
+     * @param rows hash values per band
+     * @param seed seed of the hash family, fixed so signatures are stable across restarts
+     */
+    MinHashSignature(int bands, int rows, long seed) {
+        this.bands = bands;
+        this.rows = rows;
+        this.seeds = new SplittableRandom(seed).longs(bands * rows).toArray();
+    }
+
+    int getBands() {
+        return bands;
+    }
+
+    /**
+     * Hash of each band of the signature of distinct token hashes
+     */
+    long[] bandHashes(long[] tokens) {
+        long[] signature = new long[seeds.length];
+        Arrays.fill(signature, Long.MAX_VALUE);
+        for (long token : tokens) {
+            for (int i = 0; i < seeds.length; i++) {
+                signature[i] = Math.min(signature[i], mix(token ^ seeds[i]));
+            }
+        }
+
+        long[] bandHashes = new long[bands];
+        for (int band = 0; band < bands; band++) {
+            long hash = band;
+            for (int row = 0; row < rows; row++) {
+                hash = mix(hash * 31 + signature[band * rows + row]);
+            }
+            bandHashes[band] = hash;
+        }
+        return bandHashes;
+    }
+
+    /**
+     * 64-bit finalizer (SplitMix64) used as an independent hash per seed
+     */
+    private static long mix(long value) {
+        long z = value + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,204 @@
+package com.tripzin.eleganttex.service.similarity;
+
+import com.tripzin.eleganttex.entity.OrderStatus;
+import com.tripzin.eleganttex.repository.OrderProductRepository;
+import com.tripzin.eleganttex.service.OrderChangedEvent;
+import com.tripzin.eleganttex.util.DescriptionTokens;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory MinHash/LSH index over the product descriptions of returned and cancelled orders.
+ * Product lines are bucketed per (product type, fabric, band), so a lookup only compares against
+ * lines sharing a band with the query; candidates are then ranked by exact Jaccard similarity.
+ * Seeded from the database at startup and re-indexed per order after commit of every order change.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SimilarOrderIndex {
+
+    public static final Set<OrderStatus> INDEXED_STATUSES = EnumSet.of(OrderStatus.RETURNED, OrderStatus.CANCELLED);
+
+    /**
+     * Minimum Jaccard similarity of two descriptions for their orders to count as similar
+     */
+    public static final double MIN_SIMILARITY = 0.5;
+
+    /**
+     * 32 bands of 2 rows: descriptions at the 0.5 threshold share a band with probability above 0.9999
+     */
+    private static final MinHashSignature SIGNATURE = new MinHashSignature(32, 2, 0x51A11A7L);
+
+    /**
+     * A product line to find similar orders for, with the token signature of its description
+     */
+    public record ProductLine(Long productTypeId, Long fabricId, long[] descriptionTokens) {
+    }
+
+    /**
+     * A similar order and the best similarity of its product lines
+     */
+    public record SimilarOrder(Long orderId, double similarity) {
+    }
+
+    /**
+     * Compared by identity, one instance per indexed product line
+     */
+    private record IndexedLine(Long orderId, Long productTypeId, Long fabricId, long[] tokens) {
+    }
+
+    private record IndexedOrder(LocalDateTime createdAt, Long createdById, List<IndexedLine> lines) {
+    }
+
+    private record BucketKey(Long productTypeId, Long fabricId, int band, long bandHash) {
+    }
+
+    private final OrderProductRepository orderProductRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, IndexedOrder> orders = new HashMap<>();
+    private final Map<BucketKey, Set<IndexedLine>> buckets = new HashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seedOnStartup() {
+        List<Object[]> rows = orderProductRepository.findSimilarityRowsByOrderStatusIn(INDEXED_STATUSES);
+        lock.writeLock().lock();
+        try {
+            orders.clear();
+            buckets.clear();
+            rows.forEach(this::add);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Indexed {} product lines of {} returned or cancelled orders for similar order lookup",
+                rows.size(), orders.size());
+    }
+
+    /**
+     * Re-index a committed order: drop its lines and add them again if it is returned or cancelled
+     */
+    @TransactionalEventListener
+    public void onOrderChanged(OrderChangedEvent event) {
+        List<Object[]> rows = orderProductRepository.findSimilarityRowsByOrderIdAndOrderStatusIn(
+                event.orderId(), INDEXED_STATUSES);
+        lock.writeLock().lock();
+        try {
+            remove(event.orderId());
+            rows.forEach(this::add);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Find the indexed orders with a product line of the same product type and fabric whose description
+     * is at least MIN_SIMILARITY similar to one of the given lines
+     * @param excludedOrderId order to leave out, usually the one the lines belong to
+     * @param lines product lines to match
+     * @param createdById only return orders created by this user, null for all
+     * @param limit maximum number of orders
+     * @return orders by descending similarity, then newest first
+     */
+    public List<SimilarOrder> findSimilar(Long excludedOrderId, List<ProductLine> lines, Long createdById, int limit) {
+        lock.readLock().lock();
+        try {
+            Map<Long, Double> similarities = new HashMap<>();
+            for (ProductLine line : lines) {
+                long[] tokens = line.descriptionTokens();
+                if (DescriptionTokens.isEmpty(tokens)) {
+                    continue;
+                }
+                long[] bandHashes = SIGNATURE.bandHashes(tokens);
+                Set<IndexedLine> compared = new HashSet<>();
+                for (int band = 0; band < bandHashes.length; band++) {
+                    Set<IndexedLine> bucket = buckets.get(
+                            new BucketKey(line.productTypeId(), line.fabricId(), band, bandHashes[band]));
+                    if (bucket == null) {
+                        continue;
+                    }
+                    for (IndexedLine candidate : bucket) {
+                        if (candidate.orderId().equals(excludedOrderId) || !compared.add(candidate)) {
+                            continue;
+                        }
+                        if (createdById != null && !createdById.equals(orders.get(candidate.orderId()).createdById())) {
+                            continue;
+                        }
+                        double similarity = DescriptionTokens.jaccard(tokens, candidate.tokens());
+                        if (similarity >= MIN_SIMILARITY) {
+                            similarities.merge(candidate.orderId(), similarity, Math::max);
+                        }
+                    }
+                }
+            }
+
+            Comparator<SimilarOrder> ranking = Comparator.comparingDouble(SimilarOrder::similarity).reversed()
+                    .thenComparing(similar -> orders.get(similar.orderId()).createdAt(),
+                            Comparator.nullsLast(Comparator.reverseOrder()))
+                    .thenComparing(SimilarOrder::orderId, Comparator.reverseOrder());
+            return similarities.entrySet().stream()
+                    .map(entry -> new SimilarOrder(entry.getKey(), entry.getValue()))
+                    .sorted(ranking)
+                    .limit(limit)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Add one [orderId, orderCreatedAt, createdById, productTypeId, fabricId, descriptionTokens] row
+     */
+    private void add(Object[] row) {
+        Long orderId = (Long) row[0];
+        IndexedOrder order = orders.computeIfAbsent(orderId,
+                id -> new IndexedOrder((LocalDateTime) row[1], (Long) row[2], new ArrayList<>()));
+        long[] tokens = (long[]) row[5];
+        if (DescriptionTokens.isEmpty(tokens)) {
+            return;
+        }
+        IndexedLine line = new IndexedLine(orderId, (Long) row[3], (Long) row[4], tokens);
+        order.lines().add(line);
+        long[] bandHashes = SIGNATURE.bandHashes(tokens);
+        for (int band = 0; band < bandHashes.length; band++) {
+            buckets.computeIfAbsent(new BucketKey(line.productTypeId(), line.fabricId(), band, bandHashes[band]),
+                    key -> new HashSet<>()).add(line);
+        }
+    }
+
+    private void remove(Long orderId) {
+        IndexedOrder order = orders.remove(orderId);
+        if (order == null) {
+            return;
+        }
+        for (IndexedLine line : order.lines()) {
+            long[] bandHashes = SIGNATURE.bandHashes(line.tokens());
+            for (int band = 0; band < bandHashes.length; band++) {
+                BucketKey key = new BucketKey(line.productTypeId(), line.fabricId(), band, bandHashes[band]);
+                Set<IndexedLine> bucket = buckets.get(key);
+                if (bucket != null) {
+                    bucket.remove(line);
+                    if (bucket.isEmpty()) {
+                        buckets.remove(key);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.tripzin.eleganttex.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Token signatures of product descriptions: the sorted, distinct 64-bit hashes of the lowercase words.
+ * A word hashes to the first 8 bytes of its MD5 digest, the same value as
+ * ('x' || substr(md5(word), 1, 16))::bit(64)::bigint in PostgreSQL, so signatures can also be built in SQL.
+ */
+public final class DescriptionTokens {
+
+    private static final long[] EMPTY = new long[0];
+    private static final Pattern NON_WORD = Pattern.compile("[^a-z0-9\\s]");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private DescriptionTokens() {
+    }
+
+    /**
+     * Token signature of a description
+     * @param description product description
+     * @return sorted distinct token hashes, null for a null description
+     */
+    public static long[] of(String description) {
+        if (description == null) {
+            return null;
+        }
+        String normalized = NON_WORD.matcher(description.toLowerCase(Locale.ROOT)).replaceAll(" ");
+        MessageDigest md5 = md5();
+        long[] hashes = WHITESPACE.splitAsStream(normalized)
+                .filter(word -> !word.isEmpty())
+                .mapToLong(word -> hash(md5, word))
+                .sorted()
+                .distinct()
+                .toArray();
+        return hashes.length == 0 ? EMPTY : hashes;
+    }
+
+    /**
+     * Jaccard similarity of two token signatures, by merging the sorted arrays without allocating
+     */
+    public static double jaccard(long[] tokens1, long[] tokens2) {
+        int i = 0;
+        int j = 0;
+        int intersection = 0;
+        while (i < tokens1.length && j < tokens2.length) {
+            if (tokens1[i] == tokens2[j]) {
+                intersection++;
+                i++;
+                j++;
+            } else if (tokens1[i] < tokens2[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        int union = tokens1.length + tokens2.length - intersection;
+        return union == 0 ? 0.0 : (double) intersection / union;
+    }
+
+    public static boolean isEmpty(long[] tokens) {
+        return tokens == null || tokens.length == 0;
+    }
+
+    private static long hash(MessageDigest md5, String word) {
+        byte[] digest = md5.digest(word.getBytes(StandardCharsets.UTF_8));
+        long hash = 0;
+        for (int i = 0; i < Long.BYTES; i++) {
+            hash = (hash << 8) | (digest[i] & 0xFF);
+        }
+        return hash;
+    }
+
+    private static MessageDigest md5() {
+        try {
+            return MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("MD5 is not available", e);
+        }
+    }
+}
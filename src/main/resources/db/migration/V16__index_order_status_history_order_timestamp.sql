@@ -0,0 +1,6 @@
+-- Migration: Index status history by order and time
+-- Serves per-order history lookups and the ordered (order_id, timestamp) scan used by the
+-- status funnel analytics without a sort step.
+
+CREATE INDEX IF NOT EXISTS idx_order_status_history_order_timestamp
+    ON order_status_history (order_id, timestamp);
@@ -0,0 +1,6 @@
+-- Migration: Index orders by delivery date and status
+-- Serves delivery-date range searches and the delivery workload calendar, which aggregates
+-- open orders per delivery day and status.
+
+CREATE INDEX IF NOT EXISTS idx_orders_delivery_date_status
+    ON orders (delivery_date, status);
@@ -0,0 +1,37 @@
+-- Migration: Indexes for the order list filters
+-- Composite B-tree indexes follow the equality-first filter combinations of the order list
+-- (status, order type, marketplace and creator narrowed by delivery date). (status, delivery_date)
+-- deliberately mirrors V17's (delivery_date, status): a status filter, with or without a delivery
+-- date range, needs status leading, while V17 serves delivery-date ranges without a status
+-- equality (the date filter alone and the workload calendar's NOT IN). customer_id serves the join
+-- for customer name searches, and trigram GIN indexes the case-insensitive substring searches on
+-- customer name, order number and delivery channel. The created_at sort is indexed in V19.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_orders_status_delivery_date
+    ON orders (status, delivery_date);
+
+CREATE INDEX IF NOT EXISTS idx_orders_order_type_status_delivery_date
+    ON orders (order_type, status, delivery_date);
+
+CREATE INDEX IF NOT EXISTS idx_orders_marketplace_status_delivery_date
+    ON orders (marketplace_id, status, delivery_date);
+
+CREATE INDEX IF NOT EXISTS idx_orders_created_by_status_delivery_date
+    ON orders (created_by, status, delivery_date);
+
+CREATE INDEX IF NOT EXISTS idx_orders_customer_id
+    ON orders (customer_id);
+
+CREATE INDEX IF NOT EXISTS idx_orders_total_amount
+    ON orders (total_amount);
+
+CREATE INDEX IF NOT EXISTS idx_orders_order_number_trgm
+    ON orders USING gin (lower(order_number) gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_orders_delivery_channel_trgm
+    ON orders USING gin (lower(delivery_channel) gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_customers_name_trgm
+    ON customers USING gin (lower(name) gin_trgm_ops);
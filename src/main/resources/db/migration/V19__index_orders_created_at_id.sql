@@ -0,0 +1,6 @@
+-- Migration: Keyset index for newest-first order scrolling
+-- Scrolling seeks on (created_at, id) with id as tie-breaker, so both columns are indexed
+-- together; the same index serves the newest-first sort and created-date filters of the order list.
+
+CREATE INDEX IF NOT EXISTS idx_orders_created_at_id
+    ON orders (created_at, id);
@@ -0,0 +1,17 @@
+-- Migration: Token signatures of order product descriptions
+-- Sorted distinct 64-bit hashes of the lowercase description words, maintained by the application
+-- (see DescriptionTokens) and backfilled here with the same hash so similarity lookups never
+-- tokenize text.
+
+ALTER TABLE order_products ADD COLUMN IF NOT EXISTS description_tokens BIGINT[];
+
+UPDATE order_products op
+SET description_tokens = COALESCE((
+        SELECT array_agg(hashes.hash ORDER BY hashes.hash)
+        FROM (SELECT DISTINCT ('x' || substr(md5(word), 1, 16))::bit(64)::bigint AS hash
+              FROM regexp_split_to_table(
+                       regexp_replace(lower(op.description), '[^a-z0-9\s]', ' ', 'g'), '\s+') AS word
+              WHERE word <> '') AS hashes),
+    '{}')
+WHERE op.description IS NOT NULL
+  AND op.description_tokens IS NULL;
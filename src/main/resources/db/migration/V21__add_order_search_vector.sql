@@ -0,0 +1,22 @@
+-- Migration: Full-text search vector for orders
+-- Weighted tsvector over order number and customer name (A), customer phones and style codes (B),
+-- delivery channel and fabric names (C) and product descriptions (D). Maintained by the application
+-- (see OrderRepository.SEARCH_VECTOR) whenever an order, its customer or a fabric changes.
+
+ALTER TABLE orders ADD COLUMN IF NOT EXISTS search_vector TSVECTOR;
+
+UPDATE orders o
+SET search_vector =
+        setweight(to_tsvector('simple', COALESCE(o.order_number, '')), 'A') ||
+        COALESCE((SELECT setweight(to_tsvector('simple', COALESCE(c.name, '')), 'A') ||
+                         setweight(to_tsvector('simple', COALESCE(c.phone, '') || ' ' || COALESCE(c.alternative_phone, '')), 'B')
+                  FROM customers c WHERE c.id = o.customer_id), '') ||
+        setweight(to_tsvector('simple', COALESCE(o.delivery_channel, '')), 'C') ||
+        (SELECT setweight(to_tsvector('simple', COALESCE(string_agg(DISTINCT op.style_code, ' '), '')), 'B') ||
+                setweight(to_tsvector('simple', COALESCE(string_agg(DISTINCT f.name, ' '), '')), 'C') ||
+                setweight(to_tsvector('simple', COALESCE(string_agg(op.description, ' '), '')), 'D')
+         FROM order_products op LEFT JOIN fabrics f ON f.id = op.fabric_id
+         WHERE op.order_id = o.id)
+WHERE o.search_vector IS NULL;
+
+CREATE INDEX IF NOT EXISTS idx_orders_search_vector ON orders USING GIN (search_vector);
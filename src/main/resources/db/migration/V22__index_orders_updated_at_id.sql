@@ -0,0 +1,6 @@
+-- Migration: Index for incremental order export
+-- The export streams orders changed since a point in time in (updated_at, id) order,
+-- so both columns are indexed together and the scan starts at the requested time.
+
+CREATE INDEX IF NOT EXISTS idx_orders_updated_at_id
+    ON orders (updated_at, id);
@@ -0,0 +1,20 @@
+-- Migration: Pooled ID sequences for order writes
+-- Orders, their products, product images, status history and stored files take their IDs from
+-- sequences in blocks of 50 instead of IDENTITY, so Hibernate can batch their inserts.
+-- The existing BIGSERIAL sequences are reused, keeping the column defaults valid, and restarted
+-- so the first block Hibernate allocates starts right after the current maximum ID.
+
+ALTER SEQUENCE orders_id_seq INCREMENT BY 50;
+SELECT setval('orders_id_seq', COALESCE((SELECT MAX(id) FROM orders), 0) + 50, false);
+
+ALTER SEQUENCE order_products_id_seq INCREMENT BY 50;
+SELECT setval('order_products_id_seq', COALESCE((SELECT MAX(id) FROM order_products), 0) + 50, false);
+
+ALTER SEQUENCE order_product_images_id_seq INCREMENT BY 50;
+SELECT setval('order_product_images_id_seq', COALESCE((SELECT MAX(id) FROM order_product_images), 0) + 50, false);
+
+ALTER SEQUENCE order_status_history_id_seq INCREMENT BY 50;
+SELECT setval('order_status_history_id_seq', COALESCE((SELECT MAX(id) FROM order_status_history), 0) + 50, false);
+
+ALTER SEQUENCE file_storage_id_seq INCREMENT BY 50;
+SELECT setval('file_storage_id_seq', COALESCE((SELECT MAX(id) FROM file_storage), 0) + 50, false);
@@ -0,0 +1,81 @@
+package com.tripzin.eleganttex.repository;
+
+import com.tripzin.eleganttex.dto.response.OrderFacetCountResponse;
+import com.tripzin.eleganttex.entity.Order;
+import org.assertj.core.api.SoftAssertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * The native facet query builds its own WHERE clause; check that it matches the same orders as
+ * OrderSpecifications.matching for every filter field. Runs against the database configured
+ * through DATABASE_URL, with filter values taken from its newest order.
+ */
+@SpringBootTest
+@EnabledIfEnvironmentVariable(named = "DATABASE_URL", matches = ".+")
+@Transactional
+class OrderFacetTotalsTest {
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Test
+    void facetTotalsEqualPageTotalForEveryFilterField() {
+        List<Order> newest = orderRepository.findAll(PageRequest.of(0, 1, Sort.by(Sort.Direction.DESC, "id"))).getContent();
+        assumeTrue(!newest.isEmpty(), "needs at least one order");
+        Order order = newest.get(0);
+
+        SoftAssertions softly = new SoftAssertions();
+        filters(order).forEach((field, filter) -> {
+            long pageTotal = orderRepository.count(OrderSpecifications.matching(filter));
+            long facetTotal = orderRepository.countFacets(filter, EnumSet.of(OrderFacet.STATUS)).status().stream()
+                    .mapToLong(OrderFacetCountResponse::count)
+                    .sum();
+            softly.assertThat(facetTotal).as(field).isEqualTo(pageTotal);
+        });
+        softly.assertAll();
+    }
+
+    /**
+     * One filter per field, set to a value of the order, plus LIKE wildcards that must match literally
+     */
+    private static Map<String, OrderFilter> filters(Order order) {
+        Map<String, OrderFilter> filters = new LinkedHashMap<>();
+        filters.put("none", OrderFilter.builder().build());
+        filters.put("orderType", OrderFilter.builder().orderType(order.getOrderType()).build());
+        filters.put("status", OrderFilter.builder().status(order.getStatus()).build());
+        filters.put("deliveryStartDate", OrderFilter.builder().deliveryStartDate(order.getDeliveryDate()).build());
+        filters.put("deliveryEndDate", OrderFilter.builder().deliveryEndDate(order.getDeliveryDate()).build());
+        filters.put("createdStartDate", OrderFilter.builder().createdStartDate(order.getCreatedAt().toLocalDate()).build());
+        filters.put("createdEndDate", OrderFilter.builder().createdEndDate(order.getCreatedAt().toLocalDate()).build());
+        filters.put("marketplaceId", OrderFilter.builder()
+                .marketplaceId(order.getMarketplace() != null ? order.getMarketplace().getId() : -1L).build());
+        filters.put("directMerchant", OrderFilter.builder().directMerchant(true).build());
+        filters.put("createdById", OrderFilter.builder().createdById(order.getCreatedBy().getId()).build());
+        filters.put("updatedSince", OrderFilter.builder().updatedSince(order.getUpdatedAt()).build());
+        filters.put("minAmount", OrderFilter.builder().minAmount(order.getTotalAmount()).build());
+        filters.put("maxAmount", OrderFilter.builder().maxAmount(order.getTotalAmount()).build());
+        filters.put("orderNumber", OrderFilter.builder()
+                .orderNumber(order.getOrderNumber().substring(0, 3).toLowerCase(Locale.ROOT)).build());
+        filters.put("deliveryChannel", OrderFilter.builder()
+                .deliveryChannel(" " + order.getDeliveryChannel().toUpperCase(Locale.ROOT) + " ").build());
+        filters.put("customerName", OrderFilter.builder().customerName(order.getCustomer().getName()).build());
+        filters.put("orderNumber wildcard", OrderFilter.builder().orderNumber("%").build());
+        filters.put("customerName wildcard", OrderFilter.builder().customerName("_").build());
+        filters.put("deliveryChannel escape", OrderFilter.builder().deliveryChannel("\\").build());
+        return filters;
+    }
+}
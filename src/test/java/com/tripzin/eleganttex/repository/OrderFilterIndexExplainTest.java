@@ -0,0 +1,276 @@
+package com.tripzin.eleganttex.repository;
+
+import com.tripzin.eleganttex.entity.OrderStatus;
+import com.tripzin.eleganttex.entity.OrderType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that the order list, scroll and facet queries are planned with the indexes of V17, V18 and V19.
+ * Each case runs the repository methods, records the statements Hibernate prepared together with
+ * their bound values, and explains them against a generated dataset of 50,000 orders. Runs against the
+ * database configured through DATABASE_URL; the dataset is rolled back with the test transaction.
+ */
+@SpringBootTest
+@EnabledIfEnvironmentVariable(named = "DATABASE_URL", matches = ".+")
+@Transactional
+@Import(OrderFilterIndexExplainTest.PreparedStatementLog.class)
+class OrderFilterIndexExplainTest {
+
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "createdAt", "id");
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PreparedStatementLog preparedStatements;
+
+    /**
+     * Orders spread over 17 marketplaces, 23 creators, 10,000 customers and 997 delivery days, with
+     * coprime moduli so the columns are not correlated. One order in 199 is ON_HOLD, which stands in for
+     * the small share of open orders the list is usually filtered on. Generated IDs are negative so
+     * they neither collide with existing rows nor consume the sequences.
+     */
+    @BeforeEach
+    void generateOrders() {
+        jdbcTemplate.update("""
+                INSERT INTO users (id, first_name, last_name, email, phone, password)
+                SELECT -g, 'Explain', 'User ' || g, 'explain-' || g || '@example.com', 'explain-' || g, 'x'
+                FROM generate_series(1, 23) g
+                """);
+        jdbcTemplate.update("""
+                INSERT INTO marketplaces (id, name, page_url)
+                SELECT -g, 'Explain Marketplace ' || g, 'https://example.com/' || g
+                FROM generate_series(1, 17) g
+                """);
+        jdbcTemplate.update("""
+                INSERT INTO customers (id, name, phone, customer_type)
+                SELECT -g, 'Customer ' || md5(g::text), 'explain-' || g, 'MARKETPLACE'
+                FROM generate_series(1, 10000) g
+                """);
+        jdbcTemplate.update("""
+                INSERT INTO orders (id, order_number, order_type, marketplace_id, customer_id, delivery_channel,
+                                    delivery_charge, delivery_date, status, total_amount, created_by, created_at, updated_at)
+                SELECT -g,
+                       'EXPLAIN-' || g,
+                       CASE WHEN g % 5 = 0 THEN 'MERCHANT' ELSE 'MARKETPLACE' END,
+                       CASE WHEN g % 5 = 0 THEN NULL ELSE -(g % 17 + 1) END,
+                       -(g % 10000 + 1),
+                       (ARRAY['Pathao', 'Steadfast', 'RedX', 'Sundarban'])[g % 4 + 1],
+                       60,
+                       DATE '2024-01-01' + g % 997,
+                       CASE WHEN g % 199 = 0 THEN 'ON_HOLD' ELSE 'DELIVERED' END,
+                       100 + (g * 37) % 10000,
+                       -(g % 23 + 1),
+                       TIMESTAMP '2024-01-01' + g * INTERVAL '30 minutes',
+                       TIMESTAMP '2024-01-01' + g * INTERVAL '30 minutes'
+                FROM generate_series(1, 50000) g
+                """);
+        jdbcTemplate.execute("ANALYZE users, marketplaces, customers, orders");
+    }
+
+    static Stream<Arguments> filterShapes() {
+        OrderFilter onHold = OrderFilter.builder().status(OrderStatus.ON_HOLD).build();
+        return Stream.of(
+                Arguments.of("status", onHold,
+                        "idx_orders_status_delivery_date"),
+                Arguments.of("status and delivery dates", onHold.toBuilder()
+                                .deliveryStartDate(LocalDate.of(2024, 3, 1))
+                                .deliveryEndDate(LocalDate.of(2024, 5, 31))
+                                .build(),
+                        "idx_orders_status_delivery_date"),
+                Arguments.of("delivery dates", OrderFilter.builder()
+                                .deliveryStartDate(LocalDate.of(2024, 3, 1))
+                                .deliveryEndDate(LocalDate.of(2024, 3, 7))
+                                .build(),
+                        "idx_orders_delivery_date_status"),
+                Arguments.of("order type, status and delivery dates", onHold.toBuilder()
+                                .orderType(OrderType.MERCHANT)
+                                .deliveryStartDate(LocalDate.of(2024, 3, 1))
+                                .build(),
+                        "idx_orders_order_type_status_delivery_date"),
+                Arguments.of("marketplace and status", onHold.toBuilder().marketplaceId(-3L).build(),
+                        "idx_orders_marketplace_status_delivery_date"),
+                Arguments.of("creator and status", onHold.toBuilder().createdById(-5L).build(),
+                        "idx_orders_created_by_status_delivery_date"),
+                Arguments.of("created dates", OrderFilter.builder()
+                                .createdStartDate(LocalDate.of(2024, 6, 1))
+                                .createdEndDate(LocalDate.of(2024, 6, 7))
+                                .build(),
+                        "idx_orders_created_at_id"),
+                Arguments.of("minimum amount", OrderFilter.builder().minAmount(new BigDecimal("10090")).build(),
+                        "idx_orders_total_amount"),
+                // Part of md5('42'), the name of customer -42
+                Arguments.of("customer name", OrderFilter.builder().customerName("0C6E83F0").build(),
+                        "idx_customers_name_trgm"),
+                Arguments.of("order number", OrderFilter.builder().orderNumber("explain-4242").build(),
+                        "idx_orders_order_number_trgm"));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("filterShapes")
+    void filteredListAndFacetsUseIndex(String shape, OrderFilter filter, String index) {
+        List<PreparedSql> page = preparedStatements.record(() ->
+                orderRepository.findSummaries(OrderSpecifications.matching(filter), PageRequest.of(0, 10, NEWEST_FIRST)));
+        List<PreparedSql> facets = preparedStatements.record(() ->
+                orderRepository.countFacets(filter, EnumSet.allOf(OrderFacet.class)));
+
+        // The newest-first page may also walk the keyset index backwards, filtering as it goes;
+        // the facet query has no sort, so only the filter's index serves it
+        assertThat(page).isNotEmpty().allSatisfy(statement -> assertThat(explain(statement)).as(statement.sql())
+                .containsAnyOf(index, "idx_orders_created_at_id")
+                .doesNotContain("Seq Scan on orders"));
+        assertThat(facets).singleElement().satisfies(statement -> assertThat(explain(statement)).as(statement.sql())
+                .contains(index));
+    }
+
+    @Test
+    void newestFirstScrollUsesKeysetIndex() {
+        List<PreparedSql> statements = preparedStatements.record(() ->
+                orderRepository.findSummaries(OrderSpecifications.matching(OrderFilter.builder().build()), NEWEST_FIRST, 20));
+
+        assertThat(statements).singleElement().satisfies(statement ->
+                assertThat(explain(statement)).contains("Index Scan Backward using idx_orders_created_at_id"));
+    }
+
+    private String explain(PreparedSql statement) {
+        return String.join("\n", jdbcTemplate.query(connection -> {
+            PreparedStatement explain = connection.prepareStatement("EXPLAIN " + statement.sql());
+            for (Bind bind : statement.binds()) {
+                bind.applyTo(explain);
+            }
+            return explain;
+        }, (rs, rowNum) -> rs.getString(1)));
+    }
+
+    /**
+     * A prepared statement and the values bound to it, in binding order
+     */
+    record PreparedSql(String sql, List<Bind> binds) {
+    }
+
+    /**
+     * A PreparedStatement setter call such as setString(1, "ON_HOLD")
+     */
+    record Bind(Method setter, Object[] args) {
+
+        void applyTo(PreparedStatement statement) throws SQLException {
+            invoke(statement, setter, args);
+        }
+    }
+
+    /**
+     * Wraps the DataSource to record the statements prepared while recording is on, with their bound
+     * values; a Hibernate StatementInspector only sees the SQL, which cannot be explained without them
+     */
+    static class PreparedStatementLog implements BeanPostProcessor {
+
+        private final List<PreparedSql> statements = new ArrayList<>();
+        private boolean recording;
+
+        /**
+         * Statements prepared while running the work
+         */
+        List<PreparedSql> record(Runnable work) {
+            statements.clear();
+            recording = true;
+            try {
+                work.run();
+            } finally {
+                recording = false;
+            }
+            return List.copyOf(statements);
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof DataSource dataSource)) {
+                return bean;
+            }
+            return new DelegatingDataSource(dataSource) {
+                @Override
+                public Connection getConnection() throws SQLException {
+                    return recorded(super.getConnection());
+                }
+
+                @Override
+                public Connection getConnection(String username, String password) throws SQLException {
+                    return recorded(super.getConnection(username, password));
+                }
+            };
+        }
+
+        private Connection recorded(Connection connection) {
+            return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        Object result = invoke(connection, method, args);
+                        if (recording && method.getName().equals("prepareStatement")) {
+                            PreparedSql prepared = new PreparedSql((String) args[0], new ArrayList<>());
+                            statements.add(prepared);
+                            return recorded((PreparedStatement) result, prepared.binds());
+                        }
+                        return result;
+                    });
+        }
+
+        private PreparedStatement recorded(PreparedStatement statement, List<Bind> binds) {
+            return (PreparedStatement) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{PreparedStatement.class},
+                    (proxy, method, args) -> {
+                        if (method.getName().startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                            binds.add(new Bind(method, args.clone()));
+                        } else if (method.getName().equals("clearParameters")) {
+                            binds.clear();
+                        }
+                        return invoke(statement, method, args);
+                    });
+        }
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws SQLException {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof SQLException sqlException) {
+                throw sqlException;
+            }
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
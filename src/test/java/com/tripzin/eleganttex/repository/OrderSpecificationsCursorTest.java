@@ -0,0 +1,62 @@
+package com.tripzin.eleganttex.repository;
+
+import com.tripzin.eleganttex.entity.Order;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Runs against the database configured through DATABASE_URL, which needs at least three orders
+ */
+@SpringBootTest
+@EnabledIfEnvironmentVariable(named = "DATABASE_URL", matches = ".+")
+@Transactional
+class OrderSpecificationsCursorTest {
+
+    private static final LocalDateTime TIE = LocalDateTime.of(2001, 1, 1, 12, 0);
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void breaksCreatedAtTiesById() {
+        List<Long> ids = jdbcTemplate.queryForList("SELECT id FROM orders ORDER BY id LIMIT 3", Long.class);
+        assumeTrue(ids.size() == 3, "needs at least three orders");
+        jdbcTemplate.update("UPDATE orders SET created_at = ? WHERE id IN (?, ?, ?)", TIE, ids.get(0), ids.get(1), ids.get(2));
+        entityManager.clear();
+
+        // Same createdAt: only the orders with a smaller id come after the position
+        assertThat(idsCreatedBefore(TIE, ids.get(2), ids)).containsExactlyInAnyOrder(ids.get(0), ids.get(1));
+        assertThat(idsCreatedBefore(TIE, ids.get(1), ids)).containsExactly(ids.get(0));
+        assertThat(idsCreatedBefore(TIE, ids.get(0), ids)).isEmpty();
+        // Earlier createdAt: every order comes after the position, whatever its id
+        assertThat(idsCreatedBefore(TIE.plusSeconds(1), ids.get(0), ids)).containsExactlyInAnyOrderElementsOf(ids);
+    }
+
+    /**
+     * IDs among the given ones that follow a keyset position
+     */
+    private List<Long> idsCreatedBefore(LocalDateTime createdAt, Long id, List<Long> ids) {
+        Specification<Order> amongIds = (root, query, cb) -> root.get("id").in(ids);
+        return orderRepository.findAll(OrderSpecifications.createdBefore(createdAt, id).and(amongIds)).stream()
+                .map(Order::getId)
+                .toList();
+    }
+}
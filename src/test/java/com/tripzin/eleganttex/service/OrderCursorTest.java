@@ -0,0 +1,62 @@
+package com.tripzin.eleganttex.service;
+
+import com.tripzin.eleganttex.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OrderCursorTest {
+
+    @Test
+    void decodesWhatItEncodes() {
+        OrderCursor cursor = new OrderCursor(LocalDateTime.of(2026, 3, 14, 15, 9, 26, 535_897_000), 42L);
+
+        assertThat(OrderCursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+
+    @Test
+    void decodesCursorOnAWholeMinute() {
+        OrderCursor cursor = new OrderCursor(LocalDateTime.of(2026, 3, 14, 15, 0), 7L);
+
+        assertThat(OrderCursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+
+    @Test
+    void encodesAsUrlSafeToken() {
+        String token = new OrderCursor(LocalDateTime.of(2026, 3, 14, 15, 9, 26), Long.MAX_VALUE).encode();
+
+        assertThat(token).matches("[A-Za-z0-9_-]+");
+    }
+
+    @ParameterizedTest
+    @MethodSource("invalidTokens")
+    void rejectsInvalidToken(String token) {
+        assertThatThrownBy(() -> OrderCursor.decode(token))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage("Invalid cursor");
+    }
+
+    static Stream<String> invalidTokens() {
+        return Stream.of(
+                null,
+                "",
+                "   ",
+                "not a cursor!",
+                token("2026-03-14T15:09:26"),
+                token("2026-03-14T15:09:26|"),
+                token("2026-03-14T15:09:26|abc"),
+                token("yesterday|42"));
+    }
+
+    private static String token(String value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
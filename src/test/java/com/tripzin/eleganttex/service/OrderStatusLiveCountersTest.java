@@ -0,0 +1,63 @@
+package com.tripzin.eleganttex.service;
+
+import com.tripzin.eleganttex.entity.OrderStatus;
+import com.tripzin.eleganttex.entity.OrderType;
+import com.tripzin.eleganttex.repository.OrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OrderStatusLiveCountersTest {
+
+    private final OrderRepository orderRepository = mock(OrderRepository.class);
+    private final OrderStatusLiveCounters counters = new OrderStatusLiveCounters(orderRepository);
+
+    @BeforeEach
+    void seed() {
+        when(orderRepository.aggregateByStatus(any(), any(), eq(Boolean.FALSE))).thenReturn(List.<Object[]>of(
+                new Object[]{OrderStatus.ORDER_CREATED, 3L, new BigDecimal("300.00")}));
+        when(orderRepository.aggregateByStatus(any(), any(), eq(Boolean.TRUE))).thenReturn(List.of());
+        counters.rollOver();
+    }
+
+    @Test
+    void appliesEveryDeltaOfAStatusChange() {
+        counters.onRollupChanged(OrderRollupChangedEvent.delta(snapshot(LocalDate.now(), OrderStatus.ORDER_CREATED), -1));
+        counters.onRollupChanged(OrderRollupChangedEvent.delta(snapshot(LocalDate.now(), OrderStatus.APPROVED), 1));
+
+        Map<OrderStatus, Long> expected = Map.of(OrderStatus.ORDER_CREATED, 2L, OrderStatus.APPROVED, 1L);
+        assertThat(counters.getStatusCounts(true, null)).isEqualTo(expected);
+        assertThat(counters.getStatusCounts(false, Boolean.FALSE)).isEqualTo(expected);
+        assertThat(counters.getStatusCounts(true, Boolean.TRUE)).isEmpty();
+    }
+
+    @Test
+    void dropsDeltasForDaysOutsideTheCurrentPeriods() {
+        LocalDate lastYear = LocalDate.now().withDayOfYear(1).minusDays(1);
+        LocalDate nextMonth = LocalDate.now().withDayOfMonth(1).plusMonths(1);
+
+        counters.onRollupChanged(OrderRollupChangedEvent.delta(snapshot(lastYear, OrderStatus.ORDER_CREATED), -1));
+        counters.onRollupChanged(OrderRollupChangedEvent.delta(snapshot(lastYear, OrderStatus.DELIVERED), 1));
+        counters.onRollupChanged(OrderRollupChangedEvent.delta(snapshot(nextMonth, OrderStatus.ORDER_CREATED), 1));
+
+        assertThat(counters.getStatusCounts(true, null)).isEqualTo(Map.of(OrderStatus.ORDER_CREATED, 3L));
+        // Seeded once for the month and once for the year, merchant and marketplace each
+        verify(orderRepository, times(4)).aggregateByStatus(any(), any(), any());
+    }
+
+    private static OrderRollupService.OrderSnapshot snapshot(LocalDate day, OrderStatus status) {
+        return new OrderRollupService.OrderSnapshot(day, OrderType.MERCHANT, null, 1L, status, new BigDecimal("100.00"));
+    }
+}
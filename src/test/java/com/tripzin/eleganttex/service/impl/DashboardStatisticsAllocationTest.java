@@ -0,0 +1,50 @@
+package com.tripzin.eleganttex.service.impl;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Allocation guard for the dashboard fold; DashboardStatisticsBenchmark gives the precise numbers
+ */
+class DashboardStatisticsAllocationTest {
+
+    private static final int WARMUP = 2_000;
+    private static final int MEASURED = 200;
+
+    @Test
+    void typedFoldAllocatesLessThanHalfOfMapFoldPerRow() {
+        ((Logger) LoggerFactory.getLogger(OrderStatisticsServiceImpl.class)).setLevel(Level.WARN);
+        List<Object[]> rows = DashboardStatisticsBenchmark.rollupRows();
+        OrderStatisticsServiceImpl service = DashboardStatisticsBenchmark.serviceReturning(rows);
+
+        double typed = bytesPerRow(() -> service.getDashboardStatistics(
+                DashboardStatisticsBenchmark.START_DATE, DashboardStatisticsBenchmark.END_DATE, "all"));
+        double mapBased = bytesPerRow(() -> MapDashboardStatistics.fold(
+                rows, DashboardStatisticsBenchmark.START_DATE, DashboardStatisticsBenchmark.END_DATE, "all"));
+
+        assertThat(typed).isLessThan(mapBased / 2);
+    }
+
+    /**
+     * Bytes the current thread allocates per rollup row folded, once the fold is compiled
+     */
+    private static double bytesPerRow(Runnable fold) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        for (int i = 0; i < WARMUP; i++) {
+            fold.run();
+        }
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < MEASURED; i++) {
+            fold.run();
+        }
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+        return (double) allocated / MEASURED / DashboardStatisticsBenchmark.ROWS;
+    }
+}
@@ -0,0 +1,119 @@
+package com.tripzin.eleganttex.service.impl;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.tripzin.eleganttex.dto.response.DashboardStatisticsResponse;
+import com.tripzin.eleganttex.entity.OrderStatus;
+import com.tripzin.eleganttex.repository.OrderDailyRollupRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time and allocation of folding a month of rollup rows into the dashboard, typed records against
+ * the Map-based fold they replaced. With the GC profiler, gc.alloc.rate.norm is bytes per rollup row.
+ * Run main from the test classpath, or: java -cp &lt;test classpath&gt; org.openjdk.jmh.Main DashboardStatisticsBenchmark -prof gc
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DashboardStatisticsBenchmark {
+
+    static final LocalDate START_DATE = LocalDate.of(2026, 3, 1);
+    static final LocalDate END_DATE = LocalDate.of(2026, 3, 31);
+
+    private static final int USERS = 5;
+    private static final int MARKETPLACES = 4;
+    private static final OrderStatus[] STATUSES = {
+            OrderStatus.ORDER_CREATED, OrderStatus.PRODUCTION, OrderStatus.DELIVERED, OrderStatus.CANCELLED};
+    static final int ROWS = 31 * USERS * MARKETPLACES * 4;
+
+    private List<Object[]> rows;
+    private OrderStatisticsServiceImpl service;
+
+    @Setup
+    public void setUp() {
+        ((Logger) LoggerFactory.getLogger(OrderStatisticsServiceImpl.class)).setLevel(Level.WARN);
+        rows = rollupRows();
+        service = serviceReturning(rows);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public DashboardStatisticsResponse typedRecords() {
+        return service.getDashboardStatistics(START_DATE, END_DATE, "all");
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public Map<String, Object> mapBased() {
+        return MapDashboardStatistics.fold(rows, START_DATE, END_DATE, "all");
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(DashboardStatisticsBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+
+    /**
+     * findRowsWithNames rows for every day of March, user, marketplace (one of them direct merchant) and status
+     */
+    static List<Object[]> rollupRows() {
+        List<Object[]> rows = new ArrayList<>(ROWS);
+        for (LocalDate day = START_DATE; !day.isAfter(END_DATE); day = day.plusDays(1)) {
+            for (long user = 1; user <= USERS; user++) {
+                for (long marketplace = 0; marketplace < MARKETPLACES; marketplace++) {
+                    for (OrderStatus status : STATUSES) {
+                        long count = 1 + (day.getDayOfMonth() + user + marketplace) % 5;
+                        rows.add(new Object[]{day, status, user, "First " + user, "Last " + user, "user" + user + "@example.com",
+                                marketplace == 0 ? null : marketplace, marketplace == 0 ? null : "Marketplace " + marketplace,
+                                count, BigDecimal.valueOf(count * 125_050, 2)});
+                    }
+                }
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * The service over a repository answering findRowsWithNames with the given rows. A plain proxy
+     * rather than a Mockito mock, whose invocation recording would be measured along with the fold.
+     */
+    static OrderStatisticsServiceImpl serviceReturning(List<Object[]> rows) {
+        OrderDailyRollupRepository repository = (OrderDailyRollupRepository) Proxy.newProxyInstance(
+                OrderDailyRollupRepository.class.getClassLoader(), new Class<?>[]{OrderDailyRollupRepository.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("findRowsWithNames")) {
+                        return rows;
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+        return new OrderStatisticsServiceImpl(repository, null);
+    }
+}
@@ -0,0 +1,201 @@
+package com.tripzin.eleganttex.service.impl;
+
+import com.tripzin.eleganttex.entity.OrderStatus;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The dashboard fold as OrderStatisticsServiceImpl implemented it before the typed result records:
+ * Object[] accumulators re-boxed per row and Map&lt;String, Object&gt; results. Kept as the baseline
+ * the typed fold is measured against.
+ */
+final class MapDashboardStatistics {
+
+    private MapDashboardStatistics() {
+    }
+
+    /**
+     * Fold findRowsWithNames rows into the dashboard, as getDashboardStatistics did
+     */
+    static Map<String, Object> fold(List<Object[]> rows, LocalDate startDate, LocalDate endDate, String orderType) {
+        Map<OrderStatus, Object[]> byStatus = new EnumMap<>(OrderStatus.class);
+        Map<Long, Object[]> byUser = new HashMap<>();
+        Map<Long, Object[]> byMarketplace = new HashMap<>();
+        Map<LocalDate, Object[]> byDay = new HashMap<>();
+        for (Object[] row : rows) {
+            long count = ((Number) row[8]).longValue();
+            BigDecimal amount = toBigDecimal(row[9]);
+
+            Object[] status = byStatus.computeIfAbsent((OrderStatus) row[1],
+                    key -> new Object[]{key, 0L, BigDecimal.ZERO});
+            accumulate(status, 1, count, amount);
+
+            Object[] user = byUser.computeIfAbsent((Long) row[2],
+                    key -> new Object[]{key, row[3], row[4], row[5], 0L, BigDecimal.ZERO});
+            accumulate(user, 4, count, amount);
+
+            Object[] marketplace = byMarketplace.computeIfAbsent((Long) row[6],
+                    key -> new Object[]{key, row[7], BigDecimal.ZERO});
+            marketplace[2] = ((BigDecimal) marketplace[2]).add(amount);
+
+            Object[] day = byDay.computeIfAbsent((LocalDate) row[0],
+                    key -> new Object[]{key, 0L, BigDecimal.ZERO});
+            accumulate(day, 1, count, amount);
+        }
+
+        List<Object[]> statusRows = new ArrayList<>(byStatus.values());
+        List<Object[]> userRows = new ArrayList<>(byUser.values());
+        userRows.sort(Comparator.comparing((Object[] row) -> (Long) row[4]).reversed());
+        List<Object[]> marketplaceRows = new ArrayList<>(byMarketplace.values());
+        marketplaceRows.sort(Comparator.comparing((Object[] row) -> (BigDecimal) row[2]).reversed());
+
+        Map<String, Object> dashboard = new HashMap<>();
+        dashboard.put("statusCounts", toStatusCounts(statusRows));
+        dashboard.put("userStatistics", toUserStatistics(userRows));
+        dashboard.put("marketplaceStatistics", toMarketplaceStatistics(marketplaceRows));
+        dashboard.put("monthlyCountAmount", toDailyCountAndAmount(new ArrayList<>(byDay.values()), startDate, endDate));
+        dashboard.put("sales", toSalesData(statusRows, startDate, endDate, orderType));
+        dashboard.put("summary", toSummary(statusRows));
+        return dashboard;
+    }
+
+    private static void accumulate(Object[] target, int countIndex, long count, BigDecimal amount) {
+        target[countIndex] = (Long) target[countIndex] + count;
+        target[countIndex + 1] = ((BigDecimal) target[countIndex + 1]).add(amount);
+    }
+
+    private static List<Map<String, Object>> toStatusCounts(List<Object[]> rows) {
+        List<Map<String, Object>> result = new ArrayList<>();
+        for (Object[] row : rows) {
+            Map<String, Object> statusCount = new HashMap<>();
+            statusCount.put("status", ((OrderStatus) row[0]).name());
+            statusCount.put("count", ((Number) row[1]).intValue());
+            result.add(statusCount);
+        }
+        return result;
+    }
+
+    private static List<Map<String, Object>> toUserStatistics(List<Object[]> rows) {
+        List<Map<String, Object>> result = new ArrayList<>();
+        for (Object[] row : rows) {
+            Map<String, Object> userStats = new HashMap<>();
+            userStats.put("userId", row[0]);
+            userStats.put("firstName", row[1]);
+            userStats.put("lastName", row[2]);
+            userStats.put("email", row[3]);
+            userStats.put("orderCount", ((Number) row[4]).intValue());
+            userStats.put("totalAmount", toBigDecimal(row[5]));
+            result.add(userStats);
+        }
+        return result;
+    }
+
+    private static List<Map<String, Object>> toMarketplaceStatistics(List<Object[]> rows) {
+        List<Map<String, Object>> result = new ArrayList<>();
+        for (Object[] row : rows) {
+            Map<String, Object> marketplaceStats = new HashMap<>();
+            marketplaceStats.put("marketplaceId", row[0]);
+            marketplaceStats.put("name", row[0] != null ? row[1] : "Direct Merchant");
+            marketplaceStats.put("totalAmount", toBigDecimal(row[2]));
+            result.add(marketplaceStats);
+        }
+        return result;
+    }
+
+    private static List<Map<String, Object>> toDailyCountAndAmount(List<Object[]> rows, LocalDate startDate, LocalDate endDate) {
+        Map<LocalDate, Object[]> rowsByDate = new HashMap<>();
+        for (Object[] row : rows) {
+            rowsByDate.put((LocalDate) row[0], row);
+        }
+
+        List<Map<String, Object>> result = new ArrayList<>();
+        LocalDate current = startDate;
+        while (!current.isAfter(endDate)) {
+            Object[] row = rowsByDate.get(current);
+            Map<String, Object> dayData = new HashMap<>();
+            dayData.put("date", current.toString());
+            dayData.put("count", row != null ? ((Number) row[1]).intValue() : 0);
+            dayData.put("amount", row != null ? toBigDecimal(row[2]) : BigDecimal.ZERO);
+            result.add(dayData);
+            current = current.plusDays(1);
+        }
+        return result;
+    }
+
+    private static Map<String, Object> toSalesData(List<Object[]> rows, LocalDate startDate, LocalDate endDate, String orderType) {
+        BigDecimal totalRevenue = BigDecimal.ZERO;
+        int totalOrders = 0;
+        int completedOrders = 0;
+        int pendingOrders = 0;
+
+        for (Object[] row : rows) {
+            int count = ((Number) row[1]).intValue();
+            totalRevenue = totalRevenue.add(toBigDecimal(row[2]));
+            totalOrders += count;
+
+            switch ((OrderStatus) row[0]) {
+                case DELIVERED:
+                    completedOrders += count;
+                    break;
+                case ORDER_CREATED:
+                case APPROVED:
+                case BOOKING:
+                case PRODUCTION:
+                case QA:
+                case READY:
+                    pendingOrders += count;
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        BigDecimal averageOrderValue = totalOrders > 0
+                ? totalRevenue.divide(BigDecimal.valueOf(totalOrders), 2, RoundingMode.HALF_UP)
+                : BigDecimal.ZERO;
+
+        Map<String, Object> salesData = new HashMap<>();
+        salesData.put("totalRevenue", totalRevenue);
+        salesData.put("totalOrders", totalOrders);
+        salesData.put("completedOrders", completedOrders);
+        salesData.put("pendingOrders", pendingOrders);
+        salesData.put("averageOrderValue", averageOrderValue);
+        salesData.put("startDate", startDate.toString());
+        salesData.put("endDate", endDate.toString());
+        salesData.put("orderType", orderType);
+        return salesData;
+    }
+
+    private static Map<String, Object> toSummary(List<Object[]> rows) {
+        int totalOrders = 0;
+        BigDecimal totalSales = BigDecimal.ZERO;
+        int deliveredOrders = 0;
+
+        for (Object[] row : rows) {
+            int count = ((Number) row[1]).intValue();
+            totalOrders += count;
+            totalSales = totalSales.add(toBigDecimal(row[2]));
+            if (row[0] == OrderStatus.DELIVERED) {
+                deliveredOrders += count;
+            }
+        }
+
+        Map<String, Object> summary = new HashMap<>();
+        summary.put("totalOrders", totalOrders);
+        summary.put("totalSales", totalSales);
+        summary.put("deliveredOrders", deliveredOrders);
+        return summary;
+    }
+
+    private static BigDecimal toBigDecimal(Object value) {
+        return value instanceof BigDecimal ? (BigDecimal) value : new BigDecimal(value.toString());
+    }
+}
@@ -0,0 +1,90 @@
+package com.tripzin.eleganttex.service.importer;
+
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class XlsxImportRowReaderTest {
+
+    @Test
+    void readsNumbersAsPlainValuesWhateverTheirFormat() throws IOException {
+        ImportRow row = readSingleRow(sheet -> {
+            Row cells = sheet.createRow(1);
+            cells.createCell(0).setCellValue(1200);
+            cells.getCell(0).setCellStyle(style(sheet, "#,##0.00"));
+            cells.createCell(1).setCellValue(8801712345678d);
+            cells.createCell(2).setCellValue(3);
+            cells.createCell(3).setCellValue(99.5);
+            cells.getCell(3).setCellStyle(style(sheet, "0"));
+        }, "price", "customerPhone", "quantity", "deliveryCharge");
+
+        assertThat(row.get("price")).isEqualTo("1200");
+        assertThat(row.get("customerPhone")).isEqualTo("8801712345678");
+        assertThat(row.get("quantity")).isEqualTo("3");
+        assertThat(row.get("deliveryCharge")).isEqualTo("99.5");
+    }
+
+    @Test
+    void readsDatesAsIsoDates() throws IOException {
+        ImportRow row = readSingleRow(sheet -> {
+            Row cells = sheet.createRow(1);
+            cells.createCell(0).setCellValue(LocalDate.of(2026, 3, 14));
+            cells.getCell(0).setCellStyle(style(sheet, "dd/mm/yyyy"));
+        }, "deliveryDate");
+
+        assertThat(row.get("deliveryDate")).isEqualTo("2026-03-14");
+    }
+
+    @Test
+    void marksCellsStoredAsNumbers() throws IOException {
+        ImportRow row = readSingleRow(sheet -> {
+            Row cells = sheet.createRow(1);
+            cells.createCell(0).setCellValue("01712345678");
+            cells.createCell(1).setCellValue(1712345678);
+        }, "customerPhone", "orderRef");
+
+        assertThat(row.get("customerPhone")).isEqualTo("01712345678");
+        assertThat(row.isNumeric("customerPhone")).isFalse();
+        assertThat(row.get("orderRef")).isEqualTo("1712345678");
+        assertThat(row.isNumeric("order_ref")).isTrue();
+    }
+
+    private static CellStyle style(Sheet sheet, String format) {
+        CellStyle style = sheet.getWorkbook().createCellStyle();
+        style.setDataFormat(sheet.getWorkbook().createDataFormat().getFormat(format));
+        return style;
+    }
+
+    private static ImportRow readSingleRow(SheetWriter writer, String... headers) throws IOException {
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        try (XSSFWorkbook workbook = new XSSFWorkbook()) {
+            Sheet sheet = workbook.createSheet();
+            Row header = sheet.createRow(0);
+            for (int i = 0; i < headers.length; i++) {
+                header.createCell(i).setCellValue(headers[i]);
+            }
+            writer.write(sheet);
+            workbook.write(content);
+        }
+
+        List<ImportRow> rows = new ArrayList<>();
+        new XlsxImportRowReader().read(new MockMultipartFile("file", "orders.xlsx", null, content.toByteArray()), rows::add);
+        assertThat(rows).hasSize(1);
+        return rows.get(0);
+    }
+
+    private interface SheetWriter {
+        void write(Sheet sheet);
+    }
+}
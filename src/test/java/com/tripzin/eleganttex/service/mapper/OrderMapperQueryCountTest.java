@@ -0,0 +1,73 @@
+package com.tripzin.eleganttex.service.mapper;
+
+import com.tripzin.eleganttex.entity.Order;
+import com.tripzin.eleganttex.repository.OrderRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Runs against the database configured through DATABASE_URL, which needs at least 50 orders
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@EnabledIfEnvironmentVariable(named = "DATABASE_URL", matches = ".+")
+@Transactional
+class OrderMapperQueryCountTest {
+
+    /**
+     * One statement per association the mapper reads: status history, product images, products,
+     * marketplaces, customers, addresses, divisions, districts, upazilas, creators, fabrics and
+     * product types. Up to hibernate.default_batch_fetch_size orders this holds for any page size.
+     */
+    private static final long MAX_STATEMENTS_PER_PAGE = 12;
+
+    @Autowired
+    private OrderMapper orderMapper;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void queryCountDoesNotGrowWithPageSize() {
+        assumeTrue(orderRepository.count() >= 50, "needs at least 50 orders");
+
+        long smallPage = statementsToMap(5);
+        long largePage = statementsToMap(50);
+
+        assertThat(smallPage).isLessThanOrEqualTo(MAX_STATEMENTS_PER_PAGE);
+        assertThat(largePage).isLessThanOrEqualTo(MAX_STATEMENTS_PER_PAGE);
+    }
+
+    /**
+     * Statements prepared while mapping the first page of orders, starting from an empty persistence context
+     */
+    private long statementsToMap(int pageSize) {
+        entityManager.clear();
+        List<Order> orders = orderRepository.findAll(PageRequest.of(0, pageSize, Sort.by("id"))).getContent();
+        assertThat(orders).hasSize(pageSize);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        orderMapper.mapOrdersToResponses(orders);
+        return statistics.getPrepareStatementCount();
+    }
+}
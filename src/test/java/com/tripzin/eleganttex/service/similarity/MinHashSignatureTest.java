@@ -0,0 +1,48 @@
+package com.tripzin.eleganttex.service.similarity;
+
+import com.tripzin.eleganttex.util.DescriptionTokens;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MinHashSignatureTest {
+
+    private final MinHashSignature signature = new MinHashSignature(32, 2, 0x51A11A7L);
+
+    @Test
+    void signatureIsStableForTheSameSeed() {
+        long[] tokens = DescriptionTokens.of("red cotton shirt with long sleeves");
+
+        assertThat(new MinHashSignature(32, 2, 0x51A11A7L).bandHashes(tokens))
+                .containsExactly(signature.bandHashes(tokens));
+        assertThat(signature.bandHashes(tokens)).hasSize(signature.getBands());
+    }
+
+    @Test
+    void identicalSetsShareEveryBand() {
+        long[] bands1 = signature.bandHashes(DescriptionTokens.of("red cotton shirt"));
+        long[] bands2 = signature.bandHashes(DescriptionTokens.of("Shirt, cotton, RED"));
+
+        assertThat(bands1).containsExactly(bands2);
+    }
+
+    @Test
+    void similarSetsShareABandAndDisjointSetsDoNot() {
+        long[] query = signature.bandHashes(DescriptionTokens.of("red cotton shirt long sleeves"));
+        long[] similar = signature.bandHashes(DescriptionTokens.of("red cotton shirt short sleeves"));
+        long[] disjoint = signature.bandHashes(DescriptionTokens.of("blue silk saree with border"));
+
+        assertThat(sharedBands(query, similar)).isPositive();
+        assertThat(sharedBands(query, disjoint)).isZero();
+    }
+
+    private static int sharedBands(long[] bands1, long[] bands2) {
+        int shared = 0;
+        for (int band = 0; band < bands1.length; band++) {
+            if (bands1[band] == bands2[band]) {
+                shared++;
+            }
+        }
+        return shared;
+    }
+}
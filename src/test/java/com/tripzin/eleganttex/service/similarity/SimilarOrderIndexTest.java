@@ -0,0 +1,89 @@
+package com.tripzin.eleganttex.service.similarity;
+
+import com.tripzin.eleganttex.repository.OrderProductRepository;
+import com.tripzin.eleganttex.service.OrderChangedEvent;
+import com.tripzin.eleganttex.util.DescriptionTokens;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SimilarOrderIndexTest {
+
+    private static final long SHIRT = 1L;
+    private static final long COTTON = 1L;
+    private static final long SILK = 2L;
+    private static final long ALICE = 1L;
+    private static final long BOB = 2L;
+    private static final String DESCRIPTION = "red cotton shirt long sleeves";
+
+    private final OrderProductRepository orderProductRepository = mock(OrderProductRepository.class);
+    private final SimilarOrderIndex index = new SimilarOrderIndex(orderProductRepository);
+
+    @BeforeEach
+    void seed() {
+        when(orderProductRepository.findSimilarityRowsByOrderStatusIn(any())).thenReturn(List.of(
+                row(10L, "2026-01-01T10:00", ALICE, SHIRT, COTTON, DESCRIPTION),
+                row(11L, "2026-02-01T10:00", BOB, SHIRT, COTTON, "red cotton shirt short sleeves"),
+                row(12L, "2026-03-01T10:00", ALICE, SHIRT, COTTON, "Red cotton shirt, long sleeves"),
+                row(13L, "2026-03-01T10:00", ALICE, SHIRT, SILK, DESCRIPTION),
+                row(14L, "2026-03-01T10:00", ALICE, SHIRT, COTTON, "blue silk saree with border"),
+                row(15L, "2026-03-01T10:00", ALICE, SHIRT, COTTON, DESCRIPTION)));
+        index.seedOnStartup();
+    }
+
+    @Test
+    void ranksBySimilarityThenNewestFirst() {
+        List<SimilarOrderIndex.SimilarOrder> similar = index.findSimilar(15L, List.of(query()), null, 10);
+
+        assertThat(similar).extracting(SimilarOrderIndex.SimilarOrder::orderId).containsExactly(12L, 10L, 11L);
+        assertThat(similar.get(0).similarity()).isEqualTo(1.0);
+        assertThat(similar.get(2).similarity()).isEqualTo(4.0 / 6);
+    }
+
+    @Test
+    void onlyReturnsOrdersOfTheGivenCreator() {
+        assertThat(index.findSimilar(15L, List.of(query()), BOB, 10))
+                .extracting(SimilarOrderIndex.SimilarOrder::orderId).containsExactly(11L);
+    }
+
+    @Test
+    void returnsAtMostLimitOrders() {
+        assertThat(index.findSimilar(15L, List.of(query()), null, 2))
+                .extracting(SimilarOrderIndex.SimilarOrder::orderId).containsExactly(12L, 10L);
+    }
+
+    @Test
+    void ignoresLinesWithoutDescription() {
+        SimilarOrderIndex.ProductLine blank = new SimilarOrderIndex.ProductLine(SHIRT, COTTON, DescriptionTokens.of(""));
+
+        assertThat(index.findSimilar(15L, List.of(blank), null, 10)).isEmpty();
+    }
+
+    @Test
+    void dropsAnOrderThatIsNoLongerReturnedOrCancelled() {
+        when(orderProductRepository.findSimilarityRowsByOrderIdAndOrderStatusIn(eq(12L), any())).thenReturn(List.of());
+
+        index.onOrderChanged(new OrderChangedEvent(12L));
+
+        assertThat(index.findSimilar(15L, List.of(query()), null, 10))
+                .extracting(SimilarOrderIndex.SimilarOrder::orderId).containsExactly(10L, 11L);
+    }
+
+    private static SimilarOrderIndex.ProductLine query() {
+        return new SimilarOrderIndex.ProductLine(SHIRT, COTTON, DescriptionTokens.of(DESCRIPTION));
+    }
+
+    private static Object[] row(Long orderId, String createdAt, Long createdById, Long productTypeId, Long fabricId,
+                                String description) {
+        return new Object[]{orderId, LocalDateTime.parse(createdAt), createdById, productTypeId, fabricId,
+                DescriptionTokens.of(description)};
+    }
+}
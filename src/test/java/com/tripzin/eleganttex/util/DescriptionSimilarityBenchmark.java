@@ -0,0 +1,142 @@
+package com.tripzin.eleganttex.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Comparing one product description against candidate descriptions: the stored token signatures
+ * merged by DescriptionTokens.jaccard, against the regex and HashSet Jaccard similarity it replaced.
+ * With the GC profiler, gc.alloc.rate.norm is bytes per comparison.
+ * Run main from the test classpath, or: java -cp &lt;test classpath&gt; org.openjdk.jmh.Main DescriptionSimilarityBenchmark -prof gc
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DescriptionSimilarityBenchmark {
+
+    private static final int CANDIDATES = 64;
+    private static final String[] WORDS = {
+            "red", "blue", "black", "white", "maroon", "olive", "cotton", "silk", "linen", "georgette",
+            "three-piece", "two-piece", "kurti", "saree", "panjabi", "kameez", "with", "and", "golden", "silver",
+            "embroidery", "print", "block", "hand-stitched", "border", "sleeves", "long", "short", "size", "m",
+            "l", "xl", "dupatta", "matching", "pajama", "plain", "(custom)", "neck", "design", "extra"};
+
+    private String description;
+    private String[] candidates;
+    private long[] descriptionTokens;
+    private long[][] candidateTokens;
+
+    @Setup
+    public void setUp() {
+        description = description(0);
+        descriptionTokens = DescriptionTokens.of(description);
+        candidates = new String[CANDIDATES];
+        candidateTokens = new long[CANDIDATES][];
+        for (int i = 0; i < CANDIDATES; i++) {
+            candidates[i] = description(i + 1);
+            candidateTokens[i] = DescriptionTokens.of(candidates[i]);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CANDIDATES)
+    public double tokenSignatures() {
+        double total = 0;
+        for (long[] tokens : candidateTokens) {
+            total += DescriptionTokens.jaccard(descriptionTokens, tokens);
+        }
+        return total;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CANDIDATES)
+    public double regexHashSets() {
+        double total = 0;
+        for (String candidate : candidates) {
+            total += calculateTextSimilarity(description, candidate);
+        }
+        return total;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(DescriptionSimilarityBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+
+    /**
+     * A description of 6 to 13 words, with punctuation and mixed case like the ones users type
+     */
+    private static String description(int seed) {
+        StringBuilder text = new StringBuilder();
+        int words = 6 + seed % 8;
+        for (int i = 0; i < words; i++) {
+            String word = WORDS[(seed * 7 + i * 13) % WORDS.length];
+            text.append(i == 0 ? Character.toUpperCase(word.charAt(0)) + word.substring(1) : word);
+            text.append(i % 4 == 3 ? ", " : " ");
+        }
+        return text.toString().trim();
+    }
+
+    /**
+     * OrderSearchServiceImpl.calculateTextSimilarity before token signatures were stored
+     */
+    private static double calculateTextSimilarity(String text1, String text2) {
+        if (text1 == null || text2 == null) {
+            return 0.0;
+        }
+
+        Set<String> words1 = tokenizeText(text1);
+        Set<String> words2 = tokenizeText(text2);
+
+        Set<String> intersection = new HashSet<>(words1);
+        intersection.retainAll(words2);
+
+        Set<String> union = new HashSet<>(words1);
+        union.addAll(words2);
+
+        if (union.isEmpty()) {
+            return 0.0;
+        }
+
+        return (double) intersection.size() / union.size();
+    }
+
+    /**
+     * OrderSearchServiceImpl.tokenizeText before token signatures were stored
+     */
+    private static Set<String> tokenizeText(String text) {
+        if (text == null || text.isEmpty()) {
+            return new HashSet<>();
+        }
+
+        String normalized = text.toLowerCase()
+                .replaceAll("[^a-z0-9\\s]", " ")
+                .replaceAll("\\s+", " ")
+                .trim();
+
+        return new HashSet<>(List.of(normalized.split("\\s+")));
+    }
+}
@@ -0,0 +1,54 @@
+package com.tripzin.eleganttex.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class DescriptionTokensTest {
+
+    // ('x' || substr(md5(word), 1, 16))::bit(64)::bigint as computed by PostgreSQL in V20
+    private static final long RED = -4780179325878003934L;
+    private static final long SHIRT = -3940509677167674935L;
+    private static final long BLUE = 5248419081947706722L;
+
+    @Test
+    void hashesWordsLikeTheMigrationBackfill() {
+        assertThat(DescriptionTokens.of("red")).containsExactly(RED);
+        assertThat(DescriptionTokens.of("blue")).containsExactly(BLUE);
+    }
+
+    @Test
+    void ignoresCasePunctuationAndRepeatedWords() {
+        assertThat(DescriptionTokens.of("Red, red SHIRT!\tblue"))
+                .containsExactly(RED, SHIRT, BLUE);
+        assertThat(DescriptionTokens.of("red-shirt")).containsExactly(DescriptionTokens.of("RED shirt"));
+    }
+
+    @Test
+    void returnsSortedDistinctHashes() {
+        long[] tokens = DescriptionTokens.of("shirt blue red shirt");
+
+        assertThat(tokens).isSorted().doesNotHaveDuplicates().hasSize(3);
+    }
+
+    @Test
+    void emptyTextHasNoTokens() {
+        assertThat(DescriptionTokens.of("")).isEmpty();
+        assertThat(DescriptionTokens.of("  ...  !")).isEmpty();
+        assertThat(DescriptionTokens.of(null)).isNull();
+        assertThat(DescriptionTokens.isEmpty(DescriptionTokens.of("?"))).isTrue();
+        assertThat(DescriptionTokens.isEmpty(null)).isTrue();
+    }
+
+    @Test
+    void jaccardIsIntersectionOverUnion() {
+        long[] redShirt = DescriptionTokens.of("red shirt");
+        long[] blueShirt = DescriptionTokens.of("blue shirt");
+
+        assertThat(DescriptionTokens.jaccard(redShirt, redShirt)).isEqualTo(1.0);
+        assertThat(DescriptionTokens.jaccard(redShirt, blueShirt)).isCloseTo(1.0 / 3, within(1e-9));
+        assertThat(DescriptionTokens.jaccard(redShirt, DescriptionTokens.of("blue"))).isZero();
+        assertThat(DescriptionTokens.jaccard(new long[0], new long[0])).isZero();
+    }
+}